@@ -0,0 +1,10 @@
+package com.catalog.midiacatalog.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String MIDIA_DETAILS_CACHE = "midiaDetails";
+}
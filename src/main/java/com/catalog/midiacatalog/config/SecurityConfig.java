@@ -0,0 +1,25 @@
+package com.catalog.midiacatalog.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.catalog.midiacatalog.security.TokenAuthenticationFilter;
+import com.catalog.midiacatalog.security.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Configuration
+public class SecurityConfig {
+
+    @Bean
+    public FilterRegistrationBean<TokenAuthenticationFilter> tokenAuthenticationFilter(TokenService tokenService,
+            ObjectMapper objectMapper, @Value("${catalog.token.protected-paths:}") List<String> protectedPaths) {
+        FilterRegistrationBean<TokenAuthenticationFilter> registration =
+            new FilterRegistrationBean<>(new TokenAuthenticationFilter(tokenService, objectMapper, protectedPaths));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -1,17 +1,23 @@
 package com.catalog.midiacatalog.controller;
 
+import java.util.List;
+
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorDTO;
+import com.catalog.midiacatalog.dto.Actor.ActorPathDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorRegistrationDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorResponseDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorUpdateDTO;
+import com.catalog.midiacatalog.dto.Actor.CoStarDTO;
 import com.catalog.midiacatalog.dto.Midia.MidiaDTO;
 import com.catalog.midiacatalog.service.ActorService;
+import com.catalog.midiacatalog.service.CastGraphService;
 
 import jakarta.validation.Valid;
 
@@ -25,6 +31,7 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @RestController
 @RequestMapping("/actor")
@@ -33,6 +40,9 @@ public class ActorController {
     @Autowired
     ActorService actorService;
 
+    @Autowired
+    CastGraphService castGraphService;
+
     @PostMapping("/register")
     public ResponseEntity<ActorResponseDTO> register(@RequestBody @Valid ActorRegistrationDTO actorDTO){
         ActorResponseDTO response = actorService.register(actorDTO);
@@ -64,6 +74,14 @@ public class ActorController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/list", params = "cursor")
+    public ResponseEntity<CursorPageResponseDTO<ActorDTO>> getAllActorsAfter(
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "10") int size) {
+        CursorPageResponseDTO<ActorDTO> response = actorService.getAllActorsAfter(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}/add-midia/{midiaId}")
     public ResponseEntity<String> addMidia(@PathVariable Long id, @PathVariable Long midiaId) {
         String response = actorService.addMidia(id, midiaId);
@@ -76,10 +94,24 @@ public class ActorController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{id}/co-stars")
+    public ResponseEntity<List<CoStarDTO>> getCoStars(
+        @PathVariable Long id,
+        @RequestParam(defaultValue = "10") int size) {
+        List<CoStarDTO> response = castGraphService.getCoStars(id, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/path/{targetId}")
+    public ResponseEntity<ActorPathDTO> getPath(@PathVariable Long id, @PathVariable Long targetId) {
+        ActorPathDTO response = castGraphService.getPath(id, targetId);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("{id}/list-midias") 
     public ResponseEntity<Page<MidiaDTO>> getAllActorMidias(
         @PathVariable Long id,
-        @PageableDefault(size = 10, sort = "name") Pageable pageable){
+        @PageableDefault(size = 10, sort = "title") Pageable pageable){
         Page<MidiaDTO> response = actorService.getAllActorMidias(id, pageable);
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,72 @@
+package com.catalog.midiacatalog.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationRegistrationDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationResponseDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationUpdateDTO;
+import com.catalog.midiacatalog.security.AuthenticatedUser;
+import com.catalog.midiacatalog.security.TokenAuthenticationFilter;
+import com.catalog.midiacatalog.service.EvaluationService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/evaluation")
+public class EvaluationController {
+
+    @Autowired
+    EvaluationService evaluationService;
+
+    @PostMapping("/register")
+    public ResponseEntity<EvaluationResponseDTO> register(@RequestBody @Valid EvaluationRegistrationDTO evaluationInfo,
+            @RequestAttribute(name = TokenAuthenticationFilter.AUTHENTICATED_USER, required = false) AuthenticatedUser user) {
+        EvaluationResponseDTO response = evaluationService.register(evaluationInfo, user);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<EvaluationResponseDTO> update(@PathVariable Long id, @RequestBody @Valid EvaluationUpdateDTO evaluationInfo,
+            @RequestAttribute(name = TokenAuthenticationFilter.AUTHENTICATED_USER, required = false) AuthenticatedUser user) {
+        EvaluationResponseDTO response = evaluationService.update(id, evaluationInfo, user);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/midia/{midiaId}")
+    public ResponseEntity<CursorPageResponseDTO<EvaluationDTO>> getMidiaEvaluations(
+        @PathVariable Long midiaId,
+        @RequestParam(defaultValue = "") String cursor,
+        @RequestParam(defaultValue = "10") int size) {
+        CursorPageResponseDTO<EvaluationDTO> response = evaluationService.getMidiaEvaluations(midiaId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<CursorPageResponseDTO<EvaluationDTO>> getUserEvaluations(
+        @PathVariable Long userId,
+        @RequestParam(defaultValue = "") String cursor,
+        @RequestParam(defaultValue = "10") int size) {
+        CursorPageResponseDTO<EvaluationDTO> response = evaluationService.getUserEvaluations(userId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @PatchMapping("/disable/{id}")
+    public ResponseEntity<EvaluationResponseDTO> disable(@PathVariable Long id,
+            @RequestAttribute(name = TokenAuthenticationFilter.AUTHENTICATED_USER, required = false) AuthenticatedUser user) {
+        EvaluationResponseDTO response = evaluationService.disable(id, user);
+        return ResponseEntity.ok(response);
+    }
+}
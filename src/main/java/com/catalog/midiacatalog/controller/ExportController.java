@@ -0,0 +1,44 @@
+package com.catalog.midiacatalog.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.catalog.midiacatalog.export.ExportFormat;
+import com.catalog.midiacatalog.service.ExportService;
+
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+
+    @Autowired
+    ExportService exportService;
+
+    @GetMapping("/midias")
+    public ResponseEntity<StreamingResponseBody> exportMidias(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .body(out -> exportService.exportMidias(exportFormat, out));
+    }
+
+    @GetMapping("/actors")
+    public ResponseEntity<StreamingResponseBody> exportActors(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .body(out -> exportService.exportActors(exportFormat, out));
+    }
+
+    @GetMapping("/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .body(out -> exportService.exportUsers(exportFormat, out));
+    }
+}
@@ -0,0 +1,29 @@
+package com.catalog.midiacatalog.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.catalog.midiacatalog.dto.Leaderboard.LeaderboardDTO;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+import com.catalog.midiacatalog.service.LeaderboardService;
+
+@RestController
+@RequestMapping("/leaderboard")
+public class LeaderboardController {
+
+    @Autowired
+    LeaderboardService leaderboardService;
+
+    @GetMapping("/{type}")
+    public ResponseEntity<LeaderboardDTO> getLeaderboard(
+        @PathVariable Midiatype type,
+        @RequestParam(defaultValue = "all") String window) {
+        LeaderboardDTO response = leaderboardService.getLeaderboard(type, window);
+        return ResponseEntity.ok(response);
+    }
+}
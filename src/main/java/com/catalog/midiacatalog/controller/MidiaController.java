@@ -0,0 +1,111 @@
+package com.catalog.midiacatalog.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
+import com.catalog.midiacatalog.dto.Midia.DetailedMidiaResponseDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaFilterDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaImportResultDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaRegistrationDTO;
+import com.catalog.midiacatalog.dto.Midia.SimilarMidiaDTO;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.service.MidiaImportService;
+import com.catalog.midiacatalog.service.MidiaService;
+import com.catalog.midiacatalog.service.RecommendationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@RestController
+@RequestMapping("/midia")
+public class MidiaController {
+
+    @Autowired
+    MidiaService midiaService;
+
+    @Autowired
+    MidiaImportService midiaImportService;
+
+    @Autowired
+    RecommendationService recommendationService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DetailedMidiaResponseDTO> getMidia(@PathVariable Long id) {
+        DetailedMidiaResponseDTO response = midiaService.getMidia(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarMidiaDTO>> getSimilar(
+        @PathVariable Long id,
+        @RequestParam(defaultValue = "10") int size) {
+        List<SimilarMidiaDTO> response = recommendationService.getSimilar(id, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/list")
+    public ResponseEntity<Page<DetailedMidiaResponseDTO>> getAllMidias(
+        @PageableDefault(size = 10, sort = "title") Pageable pageable) {
+        Page<DetailedMidiaResponseDTO> response = midiaService.getAllMidias(pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/list", params = "cursor")
+    public ResponseEntity<CursorPageResponseDTO<DetailedMidiaResponseDTO>> getAllMidiasAfter(
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "10") int size) {
+        CursorPageResponseDTO<DetailedMidiaResponseDTO> response = midiaService.getAllMidiasAfter(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<DetailedMidiaResponseDTO>> search(
+        @RequestParam("q") String query,
+        @PageableDefault(size = 10) Pageable pageable) {
+        Page<DetailedMidiaResponseDTO> response = midiaService.search(query, pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<Page<DetailedMidiaResponseDTO>> filter(
+        MidiaFilterDTO filter,
+        @PageableDefault(size = 10, sort = "title") Pageable pageable) {
+        Page<DetailedMidiaResponseDTO> response = midiaService.filter(filter, pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    // Accepts either a JSON array or newline-delimited JSON; rows are read one at a time.
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<MidiaImportResultDTO> importMidias(InputStream body) throws IOException {
+        try (MappingIterator<MidiaRegistrationDTO> midias =
+                 objectMapper.readerFor(MidiaRegistrationDTO.class).readValues(body)) {
+            MidiaImportResultDTO response = midiaImportService.importMidias(midias);
+            return ResponseEntity.ok(response);
+        } catch (JsonProcessingException exception) {
+            throw new DataValidationException("Invalid import payload: " + exception.getOriginalMessage());
+        } catch (RuntimeException exception) {
+            // MappingIterator rethrows parse failures unchecked, wrapping the Jackson exception
+            if (exception.getCause() instanceof JsonProcessingException cause)
+                throw new DataValidationException("Invalid import payload: " + cause.getOriginalMessage());
+            throw exception;
+        }
+    }
+}
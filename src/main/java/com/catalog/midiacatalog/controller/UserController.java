@@ -10,10 +10,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
 import com.catalog.midiacatalog.dto.MessageResponseDTO;
 import com.catalog.midiacatalog.dto.User.LoginResponseDTO;
 import com.catalog.midiacatalog.dto.User.UserLoginDTO;
@@ -21,8 +24,12 @@ import com.catalog.midiacatalog.dto.User.UserPwSetDTO;
 import com.catalog.midiacatalog.dto.User.UserRegistrationDTO;
 import com.catalog.midiacatalog.dto.User.UserResponseDTO;
 import com.catalog.midiacatalog.dto.User.UserUpdateDTO;
+import com.catalog.midiacatalog.security.AuthenticatedUser;
+import com.catalog.midiacatalog.security.TokenAuthenticationFilter;
 import com.catalog.midiacatalog.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/user")
 public class UserController {
@@ -38,26 +45,36 @@ public class UserController {
 
     
     @DeleteMapping("/remove/{id}")
-    public ResponseEntity<UserResponseDTO> remove(@PathVariable Long id){
-        UserResponseDTO response = userService.remove(id);
+    public ResponseEntity<UserResponseDTO> remove(@PathVariable Long id,
+            @RequestAttribute(name = TokenAuthenticationFilter.AUTHENTICATED_USER, required = false) AuthenticatedUser user){
+        UserResponseDTO response = userService.remove(id, user);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
     @PatchMapping("/set-password")
-    public ResponseEntity<MessageResponseDTO> setPassword(@RequestBody UserPwSetDTO pwSetDTO){
-        String response = userService.setPassword(pwSetDTO);
+    public ResponseEntity<MessageResponseDTO> setPassword(@RequestBody UserPwSetDTO pwSetDTO,
+            @RequestAttribute(name = TokenAuthenticationFilter.AUTHENTICATED_USER, required = false) AuthenticatedUser user){
+        String response = userService.setPassword(pwSetDTO, user);
         return ResponseEntity.status(HttpStatus.OK).body(new MessageResponseDTO(response));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> login(@RequestBody UserLoginDTO userLogin){
-        boolean response = userService.login(userLogin);
-        return ResponseEntity.status(HttpStatus.OK).body(new LoginResponseDTO(response));
+    public ResponseEntity<LoginResponseDTO> login(@RequestBody UserLoginDTO userLogin, HttpServletRequest request){
+        LoginResponseDTO response = userService.login(userLogin, request.getRemoteAddr());
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponseDTO> logout(
+            @RequestAttribute(name = TokenAuthenticationFilter.AUTHENTICATED_USER, required = false) AuthenticatedUser user){
+        String response = userService.logout(user);
+        return ResponseEntity.status(HttpStatus.OK).body(new MessageResponseDTO(response));
     }
 
     @PatchMapping("/update/{id}")
-    public ResponseEntity<UserResponseDTO> update(@PathVariable Long id, @RequestBody UserUpdateDTO userUpdateDTO){
-        UserResponseDTO response = userService.update(id, userUpdateDTO);
+    public ResponseEntity<UserResponseDTO> update(@PathVariable Long id, @RequestBody UserUpdateDTO userUpdateDTO,
+            @RequestAttribute(name = TokenAuthenticationFilter.AUTHENTICATED_USER, required = false) AuthenticatedUser user){
+        UserResponseDTO response = userService.update(id, userUpdateDTO, user);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
@@ -72,5 +89,13 @@ public class UserController {
         Page<UserResponseDTO> response = userService.getAllUsers(pageable);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
+
+    @GetMapping(value = "/list", params = "cursor")
+    public ResponseEntity<CursorPageResponseDTO<UserResponseDTO>> getAllUsersAfter(
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "10") int size){
+        CursorPageResponseDTO<UserResponseDTO> response = userService.getAllUsersAfter(cursor, size);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
     
 }
@@ -4,7 +4,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.dto.Midia.MidiaResponseDTO;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import jakarta.validation.constraints.NotBlank;
@@ -23,7 +23,7 @@ public class ActorDTO {
     @Past
     @JsonFormat(pattern = "dd/MM/yyyy")
     private LocalDate birthDate;
-    private List<Midia> midias = new ArrayList<>();
+    private List<MidiaResponseDTO> midias = new ArrayList<>();
 
     public ActorDTO(String name, LocalDate birth){
         this.name = name;
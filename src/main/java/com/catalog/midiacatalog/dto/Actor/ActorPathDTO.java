@@ -0,0 +1,19 @@
+package com.catalog.midiacatalog.dto.Actor;
+
+import java.util.List;
+
+import com.catalog.midiacatalog.dto.Midia.MidiaResponseDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ActorPathDTO {
+    private int degrees;
+    private List<ActorSimpleDTO> actors;
+    // midias.get(i) is the midia shared by actors.get(i) and actors.get(i + 1)
+    private List<MidiaResponseDTO> midias;
+}
@@ -0,0 +1,14 @@
+package com.catalog.midiacatalog.dto.Actor;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CoStarDTO {
+    private Long id;
+    private String name;
+    private int sharedMidias;
+}
@@ -0,0 +1,21 @@
+package com.catalog.midiacatalog.dto.Evaluation;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EvaluationDTO {
+    private Long id;
+    private Long midiaId;
+    private String midiaTitle;
+    private Long userId;
+    private String userName;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime evaluationDate;
+}
@@ -0,0 +1,21 @@
+package com.catalog.midiacatalog.dto.Evaluation;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EvaluationRegistrationDTO {
+    @NotNull
+    private Long midiaId;
+    @NotNull
+    @Min(1)
+    @Max(5)
+    private Integer rating;
+    private String comment;
+}
@@ -0,0 +1,20 @@
+package com.catalog.midiacatalog.dto.Evaluation;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EvaluationResponseDTO {
+    private Long id;
+    private Long midiaId;
+    private Long userId;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime evaluationDate;
+    private boolean enabled;
+}
@@ -0,0 +1,17 @@
+package com.catalog.midiacatalog.dto.Evaluation;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EvaluationUpdateDTO {
+    @Min(1)
+    @Max(5)
+    private Integer rating;
+    private String comment;
+}
@@ -0,0 +1,20 @@
+package com.catalog.midiacatalog.dto.Leaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.catalog.midiacatalog.model.enums.Midiatype;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardDTO {
+    private Midiatype type;
+    private String window;
+    private List<LeaderboardEntryDTO> topRated = new ArrayList<>();
+    private List<LeaderboardEntryDTO> mostEvaluated = new ArrayList<>();
+}
@@ -0,0 +1,15 @@
+package com.catalog.midiacatalog.dto.Leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardEntryDTO {
+    private Long midiaId;
+    private String title;
+    private long evaluations;
+    private Double average;
+}
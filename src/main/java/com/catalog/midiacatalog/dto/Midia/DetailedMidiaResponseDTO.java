@@ -32,6 +32,9 @@ public class DetailedMidiaResponseDTO {
     private String poseterImageUrl;
     private List<ActorSimpleDTO> actors = new ArrayList<>();
 
+    // Only filled on the detail view, where it is read from the precomputed aggregate.
+    private RatingSummaryDTO rating;
+
     public DetailedMidiaResponseDTO(Long id, String title, Midiatype type, Integer releaseYear,
                                     String director, String synopsis, String genre,
                                     String poseterImageUrl, List<Actor> actors) {
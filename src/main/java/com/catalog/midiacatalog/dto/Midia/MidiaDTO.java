@@ -3,7 +3,7 @@ package com.catalog.midiacatalog.dto.Midia;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.catalog.midiacatalog.model.Actor;
+import com.catalog.midiacatalog.dto.Actor.ActorSimpleDTO;
 import com.catalog.midiacatalog.model.enums.Midiatype;
 
 import jakarta.validation.constraints.NotBlank;
@@ -25,5 +25,5 @@ public class MidiaDTO {
     private String synopsis;
     private String genre;
     private String poseterImageUrl;
-    private List<Actor> actors = new ArrayList<>();
+    private List<ActorSimpleDTO> actors = new ArrayList<>();
 }
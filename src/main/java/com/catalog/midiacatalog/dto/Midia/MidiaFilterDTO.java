@@ -0,0 +1,19 @@
+package com.catalog.midiacatalog.dto.Midia;
+
+import com.catalog.midiacatalog.model.enums.Midiatype;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MidiaFilterDTO {
+    private Midiatype type;
+    private Integer releaseYearFrom;
+    private Integer releaseYearTo;
+    private String genre;
+    private String director;
+    private Long actorId;
+}
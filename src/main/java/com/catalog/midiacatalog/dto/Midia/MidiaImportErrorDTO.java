@@ -0,0 +1,16 @@
+package com.catalog.midiacatalog.dto.Midia;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MidiaImportErrorDTO {
+    private int row;
+    private List<String> errors = new ArrayList<>();
+}
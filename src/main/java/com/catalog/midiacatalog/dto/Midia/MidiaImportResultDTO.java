@@ -0,0 +1,17 @@
+package com.catalog.midiacatalog.dto.Midia;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MidiaImportResultDTO {
+    private int received;
+    private int imported;
+    private List<MidiaImportErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.catalog.midiacatalog.dto.Midia;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RatingSummaryDTO {
+    private long count;
+    private Double average;
+    private Map<Integer, Long> histogram;
+}
@@ -0,0 +1,14 @@
+package com.catalog.midiacatalog.dto.Midia;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SimilarMidiaDTO {
+    private Long id;
+    private String title;
+    private float score;
+}
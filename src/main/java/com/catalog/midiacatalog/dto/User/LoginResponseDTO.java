@@ -1,5 +1,7 @@
 package com.catalog.midiacatalog.dto.User;
 
+import java.time.Instant;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,4 +11,7 @@ import lombok.NoArgsConstructor;
 @Data
 public class LoginResponseDTO {
     boolean logged;
+    String token;
+    String tokenType;
+    Instant expiresAt;
 }
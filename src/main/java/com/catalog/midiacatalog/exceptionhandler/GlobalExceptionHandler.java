@@ -1,5 +1,6 @@
 package com.catalog.midiacatalog.exceptionhandler;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -7,6 +8,9 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import com.catalog.midiacatalog.exception.DataNotFoundException;
 import com.catalog.midiacatalog.exception.DataValidationException;
 import com.catalog.midiacatalog.exception.ErrorResponse;
+import com.catalog.midiacatalog.exception.ForbiddenException;
+import com.catalog.midiacatalog.exception.ServiceBusyException;
+import com.catalog.midiacatalog.exception.TooManyRequestsException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -22,4 +26,23 @@ public class GlobalExceptionHandler {
         ErrorResponse errorResponse = new ErrorResponse("Data Not Found", exception.getMessage());
         return ResponseEntity.status(404).body(errorResponse);
     }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleForbiddenException(ForbiddenException exception){
+        ErrorResponse errorResponse = new ErrorResponse("Forbidden", exception.getMessage());
+        return ResponseEntity.status(403).body(errorResponse);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleServiceBusyException(ServiceBusyException exception){
+        ErrorResponse errorResponse = new ErrorResponse("Service Busy", exception.getMessage());
+        return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1").body(errorResponse);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(TooManyRequestsException exception){
+        ErrorResponse errorResponse = new ErrorResponse("Too Many Requests", exception.getMessage());
+        return ResponseEntity.status(429)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds())).body(errorResponse);
+    }
 }
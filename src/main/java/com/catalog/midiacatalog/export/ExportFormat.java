@@ -0,0 +1,41 @@
+package com.catalog.midiacatalog.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public enum ExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv"));
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public ExportWriter open(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+        return this == CSV
+            ? new CsvExportWriter(out, columns)
+            : new NdjsonExportWriter(out, columns, objectMapper);
+    }
+
+    public static ExportFormat from(String format) {
+        if(format == null || format.isBlank())
+            return NDJSON;
+        for (ExportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format.trim()))
+                return value;
+        }
+        throw new DataValidationException("Export format must be ndjson or csv.");
+    }
+}
@@ -0,0 +1,13 @@
+package com.catalog.midiacatalog.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes one exported row at a time; values are given in the column order the writer was opened with.
+ * Closing flushes buffered output but leaves the underlying stream open.
+ */
+public interface ExportWriter extends Closeable {
+    void writeRow(List<?> values) throws IOException;
+}
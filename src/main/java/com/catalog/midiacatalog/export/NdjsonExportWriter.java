@@ -0,0 +1,34 @@
+package com.catalog.midiacatalog.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class NdjsonExportWriter implements ExportWriter {
+
+    private final JsonGenerator generator;
+    private final List<String> columns;
+
+    NdjsonExportWriter(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.columns = columns;
+    }
+
+    @Override
+    public void writeRow(List<?> values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.size(); i++)
+            generator.writeObjectField(columns.get(i), values.get(i));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
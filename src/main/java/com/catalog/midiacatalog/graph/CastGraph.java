@@ -0,0 +1,301 @@
+package com.catalog.midiacatalog.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable actor/midia cast graph built from midia_actors rows. Edges are stored in compressed
+ * sparse row form in both directions over dense int indexes, so two actors are co-stars when
+ * they share a midia row and every traversal touches only primitive arrays.
+ */
+public final class CastGraph {
+
+    private final long[] actorIds;
+    private final long[] midiaIds;
+    private final int[] actorOffsets;
+    private final int[] actorMidias;
+    private final int[] midiaOffsets;
+    private final int[] midiaActors;
+
+    private CastGraph(long[] actorIds, long[] midiaIds, long[] sortedKeys, int size) {
+        this.actorIds = actorIds;
+        this.midiaIds = midiaIds;
+        this.actorOffsets = new int[actorIds.length + 1];
+        this.actorMidias = new int[size];
+        this.midiaOffsets = new int[midiaIds.length + 1];
+        this.midiaActors = new int[size];
+
+        // Keys are sorted by midia then actor, so the by-midia rows fill in order.
+        for (int k = 0; k < size; k++) {
+            midiaOffsets[midiaOf(sortedKeys[k]) + 1]++;
+            actorOffsets[actorOf(sortedKeys[k]) + 1]++;
+            midiaActors[k] = actorOf(sortedKeys[k]);
+        }
+        for (int m = 0; m < midiaIds.length; m++)
+            midiaOffsets[m + 1] += midiaOffsets[m];
+        for (int a = 0; a < actorIds.length; a++)
+            actorOffsets[a + 1] += actorOffsets[a];
+
+        int[] next = Arrays.copyOf(actorOffsets, actorIds.length);
+        for (int k = 0; k < size; k++)
+            actorMidias[next[actorOf(sortedKeys[k])]++] = midiaOf(sortedKeys[k]);
+    }
+
+    public static CastGraph empty() {
+        return of(new long[0], new long[0], 0);
+    }
+
+    /** Builds the graph from parallel (midia id, actor id) arrays; duplicate rows are ignored. */
+    public static CastGraph of(long[] midias, long[] actors, int size) {
+        long[] midiaIds = sortedUnique(midias, size);
+        long[] actorIds = sortedUnique(actors, size);
+
+        long[] keys = new long[size];
+        for (int k = 0; k < size; k++)
+            keys[k] = key(Arrays.binarySearch(midiaIds, midias[k]), Arrays.binarySearch(actorIds, actors[k]));
+        Arrays.parallelSort(keys);
+
+        return new CastGraph(actorIds, midiaIds, keys, dedupe(keys, size));
+    }
+
+    /**
+     * Returns a new graph where the casts of {@code replacedMidias} are exactly the given
+     * (midia id, actor id) rows; a replaced midia with no rows drops out of the graph.
+     */
+    public CastGraph replaceCasts(Set<Long> replacedMidias, long[] midias, long[] actors, int size) {
+        long[] allMidias = new long[edgeCount() + size];
+        long[] allActors = new long[allMidias.length];
+        int count = 0;
+
+        for (int m = 0; m < midiaIds.length; m++) {
+            if (replacedMidias.contains(midiaIds[m]))
+                continue;
+            for (int p = midiaOffsets[m]; p < midiaOffsets[m + 1]; p++) {
+                allMidias[count] = midiaIds[m];
+                allActors[count] = actorIds[midiaActors[p]];
+                count++;
+            }
+        }
+        System.arraycopy(midias, 0, allMidias, count, size);
+        System.arraycopy(actors, 0, allActors, count, size);
+
+        return of(allMidias, allActors, count + size);
+    }
+
+    /** Actors sharing at least one midia with the given actor, most shared midias first, ties by id. */
+    public List<CoStar> coStars(long actorId, int limit) {
+        int actor = actorIndex(actorId);
+        if (actor < 0)
+            return List.of();
+
+        int[] shared = new int[actorIds.length];
+        int[] touched = new int[actorIds.length];
+        int touchedCount = 0;
+        for (int p = actorOffsets[actor]; p < actorOffsets[actor + 1]; p++) {
+            int midia = actorMidias[p];
+            for (int q = midiaOffsets[midia]; q < midiaOffsets[midia + 1]; q++) {
+                int other = midiaActors[q];
+                if (other != actor && shared[other]++ == 0)
+                    touched[touchedCount++] = other;
+            }
+        }
+
+        // Pack (shared desc, index asc) into one long so a primitive sort ranks them.
+        long[] ranked = new long[touchedCount];
+        for (int i = 0; i < touchedCount; i++)
+            ranked[i] = ((long) (Integer.MAX_VALUE - shared[touched[i]]) << 32) | touched[i];
+        Arrays.sort(ranked);
+
+        List<CoStar> coStars = new ArrayList<>(Math.min(limit, touchedCount));
+        for (int i = 0; i < Math.min(limit, touchedCount); i++) {
+            int other = (int) ranked[i];
+            coStars.add(new CoStar(actorIds[other], shared[other]));
+        }
+        return coStars;
+    }
+
+    /**
+     * Shortest actor-midia-actor chain between two actors found with a bidirectional BFS that
+     * always expands the smaller frontier. Returns ids alternating actor, midia, actor, ... or
+     * null when either actor is unknown or they are not connected.
+     */
+    public long[] shortestPath(long fromActorId, long toActorId) {
+        int from = actorIndex(fromActorId);
+        int to = actorIndex(toActorId);
+        if (from < 0 || to < 0)
+            return null;
+        if (from == to)
+            return new long[] {fromActorId};
+
+        Search forward = new Search(from);
+        Search backward = new Search(to);
+
+        while (!forward.frontierEmpty() && !backward.frontierEmpty()) {
+            boolean expandForward = forward.frontierSize() <= backward.frontierSize();
+            Search near = expandForward ? forward : backward;
+            Search far = expandForward ? backward : forward;
+
+            long meeting = near.expand(far);
+            if (meeting >= 0) {
+                int nearActor = (int) (meeting >>> 32);
+                int midia = (int) meeting;
+                int farActor = far.parentOfMeeting;
+                return expandForward
+                    ? join(forward, nearActor, midia, backward, farActor)
+                    : join(forward, farActor, midia, backward, nearActor);
+            }
+        }
+        return null;
+    }
+
+    public int actorCount() {
+        return actorIds.length;
+    }
+
+    public int midiaCount() {
+        return midiaIds.length;
+    }
+
+    public int edgeCount() {
+        return actorMidias.length;
+    }
+
+    public boolean containsActor(long actorId) {
+        return actorIndex(actorId) >= 0;
+    }
+
+    public long estimatedBytes() {
+        return 8L * (actorIds.length + midiaIds.length)
+             + 4L * (actorOffsets.length + actorMidias.length + midiaOffsets.length + midiaActors.length);
+    }
+
+    // Helper methods
+    private int actorIndex(long actorId) {
+        int index = Arrays.binarySearch(actorIds, actorId);
+        return index < 0 ? -1 : index;
+    }
+
+    // Ids from the source to forwardActor, across the meeting midia, then backwardActor to the target.
+    private long[] join(Search forward, int forwardActor, int midia, Search backward, int backwardActor) {
+        List<Long> head = new ArrayList<>();
+        for (int actor = forwardActor; actor >= 0; actor = forward.parentActor[actor]) {
+            head.add(actorIds[actor]);
+            if (forward.parentMidia[actor] >= 0)
+                head.add(midiaIds[forward.parentMidia[actor]]);
+        }
+
+        List<Long> path = new ArrayList<>(head.size() * 2);
+        for (int i = head.size() - 1; i >= 0; i--)
+            path.add(head.get(i));
+        path.add(midiaIds[midia]);
+        for (int actor = backwardActor; actor >= 0; actor = backward.parentActor[actor]) {
+            path.add(actorIds[actor]);
+            if (backward.parentMidia[actor] >= 0)
+                path.add(midiaIds[backward.parentMidia[actor]]);
+        }
+
+        return path.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long key(int midia, int actor) {
+        return ((long) midia << 32) | actor;
+    }
+
+    private static int midiaOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int actorOf(long key) {
+        return (int) key;
+    }
+
+    private static long[] sortedUnique(long[] values, int size) {
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.parallelSort(sorted);
+        return Arrays.copyOf(sorted, dedupe(sorted, size));
+    }
+
+    // Compacts a sorted array in place and returns the number of distinct values.
+    private static int dedupe(long[] sorted, int size) {
+        if (size == 0)
+            return 0;
+        int distinct = 1;
+        for (int i = 1; i < size; i++) {
+            if (sorted[i] != sorted[distinct - 1])
+                sorted[distinct++] = sorted[i];
+        }
+        return distinct;
+    }
+
+    /** One side of the bidirectional search: parents of every reached actor and the current frontier. */
+    private final class Search {
+        private final int[] parentActor = new int[actorIds.length];
+        private final int[] parentMidia = new int[actorIds.length];
+        private final BitSet reached = new BitSet(actorIds.length);
+        private final BitSet expandedMidias = new BitSet(midiaIds.length);
+        private int[] frontier;
+        private int frontierSize;
+        private int parentOfMeeting = -1;
+
+        Search(int start) {
+            parentActor[start] = -1;
+            parentMidia[start] = -1;
+            reached.set(start);
+            frontier = new int[] {start};
+            frontierSize = 1;
+        }
+
+        boolean frontierEmpty() {
+            return frontierSize == 0;
+        }
+
+        int frontierSize() {
+            return frontierSize;
+        }
+
+        /**
+         * Expands one whole level. On meeting the other side, records the other side's actor in
+         * {@code other.parentOfMeeting} and returns this side's actor and the midia packed into a long.
+         */
+        long expand(Search other) {
+            int[] next = new int[Math.max(16, frontierSize)];
+            int nextSize = 0;
+
+            for (int i = 0; i < frontierSize; i++) {
+                int actor = frontier[i];
+                for (int p = actorOffsets[actor]; p < actorOffsets[actor + 1]; p++) {
+                    int midia = actorMidias[p];
+                    if (expandedMidias.get(midia))
+                        continue;
+                    expandedMidias.set(midia);
+
+                    for (int q = midiaOffsets[midia]; q < midiaOffsets[midia + 1]; q++) {
+                        int neighbour = midiaActors[q];
+                        if (other.reached.get(neighbour)) {
+                            other.parentOfMeeting = neighbour;
+                            return ((long) actor << 32) | midia;
+                        }
+                        if (reached.get(neighbour))
+                            continue;
+                        reached.set(neighbour);
+                        parentActor[neighbour] = actor;
+                        parentMidia[neighbour] = midia;
+                        if (nextSize == next.length)
+                            next = Arrays.copyOf(next, nextSize * 2);
+                        next[nextSize++] = neighbour;
+                    }
+                }
+            }
+
+            frontier = next;
+            frontierSize = nextSize;
+            return -1;
+        }
+    }
+
+    /** An actor and how many midias they share with the queried actor. */
+    public record CoStar(long actorId, int sharedMidias) {}
+}
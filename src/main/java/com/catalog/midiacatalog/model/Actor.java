@@ -6,6 +6,10 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -19,6 +23,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "actors")
 @Table(name = "actors")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,6 +43,7 @@ public class Actor {
     @Column(name = "birth_date")
     private LocalDate birthDate;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "actor-midias")
     @ManyToMany(mappedBy = "actors")
     private List<Midia> midias = new ArrayList<>();
 
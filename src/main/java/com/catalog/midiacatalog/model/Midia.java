@@ -5,6 +5,10 @@ import java.util.List;
 
 import com.catalog.midiacatalog.model.enums.Midiatype;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -22,6 +26,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "midias")
 @Table(name = "midias")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -53,6 +59,7 @@ public class Midia {
     @Column(length = 1000, name = "poster_image_url")
     private String poseterImageUrl;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "midia-actors")
     @ManyToMany
     @JoinTable(
         name = "midia_actors",
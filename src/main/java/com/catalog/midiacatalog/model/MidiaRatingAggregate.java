@@ -0,0 +1,46 @@
+package com.catalog.midiacatalog.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "midia_rating_aggregates")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class MidiaRatingAggregate {
+
+    @Id
+    @Column(name = "midia_id")
+    private Long midiaId;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "one_star", nullable = false)
+    private long oneStar;
+
+    @Column(name = "two_stars", nullable = false)
+    private long twoStars;
+
+    @Column(name = "three_stars", nullable = false)
+    private long threeStars;
+
+    @Column(name = "four_stars", nullable = false)
+    private long fourStars;
+
+    @Column(name = "five_stars", nullable = false)
+    private long fiveStars;
+
+    public MidiaRatingAggregate(Long midiaId) {
+        this.midiaId = midiaId;
+    }
+}
@@ -0,0 +1,232 @@
+package com.catalog.midiacatalog.recommendation;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable user x midia "liked" matrix stored twice in compressed sparse row form, once by
+ * user and once by midia, using dense int indexes over sorted id arrays. A million likes take
+ * roughly 8 MB of ints plus the id arrays, with no per-entry objects.
+ */
+public final class LikeMatrix {
+
+    private final long[] userIds;
+    private final long[] midiaIds;
+    private final int[] userOffsets;
+    private final int[] userMidias;
+    private final int[] midiaOffsets;
+    private final int[] midiaUsers;
+
+    private LikeMatrix(long[] userIds, long[] midiaIds, long[] sortedKeys, int size) {
+        this.userIds = userIds;
+        this.midiaIds = midiaIds;
+        this.userOffsets = new int[userIds.length + 1];
+        this.userMidias = new int[size];
+        this.midiaOffsets = new int[midiaIds.length + 1];
+        this.midiaUsers = new int[size];
+
+        // Keys are sorted by user then midia, so the by-user rows fill in order.
+        for (int k = 0; k < size; k++) {
+            int user = userOf(sortedKeys[k]);
+            int midia = midiaOf(sortedKeys[k]);
+            userOffsets[user + 1]++;
+            midiaOffsets[midia + 1]++;
+            userMidias[k] = midia;
+        }
+        for (int u = 0; u < userIds.length; u++)
+            userOffsets[u + 1] += userOffsets[u];
+        for (int m = 0; m < midiaIds.length; m++)
+            midiaOffsets[m + 1] += midiaOffsets[m];
+
+        int[] next = Arrays.copyOf(midiaOffsets, midiaIds.length);
+        for (int k = 0; k < size; k++)
+            midiaUsers[next[midiaOf(sortedKeys[k])]++] = userOf(sortedKeys[k]);
+    }
+
+    public static LikeMatrix empty() {
+        return of(new long[0], new long[0], 0);
+    }
+
+    /** Builds the matrix from parallel (user id, midia id) arrays; duplicates are ignored. */
+    public static LikeMatrix of(long[] users, long[] midias, int size) {
+        long[] userIds = sortedUnique(users, size);
+        long[] midiaIds = sortedUnique(midias, size);
+
+        long[] keys = new long[size];
+        for (int k = 0; k < size; k++)
+            keys[k] = key(Arrays.binarySearch(userIds, users[k]), Arrays.binarySearch(midiaIds, midias[k]));
+        Arrays.parallelSort(keys);
+
+        return new LikeMatrix(userIds, midiaIds, keys, dedupe(keys, keys.length));
+    }
+
+    /** Returns a new matrix with the given (user id, midia id) -> liked changes applied. */
+    public LikeMatrix apply(Map<LikeChange, Boolean> changes) {
+        int capacity = size() + changes.size();
+        long[] users = new long[capacity];
+        long[] midias = new long[capacity];
+        int size = 0;
+
+        Set<Long> usersWithRemovals = new HashSet<>();
+        changes.forEach((change, liked) -> {
+            if (!liked)
+                usersWithRemovals.add(change.userId());
+        });
+
+        for (int u = 0; u < userIds.length; u++) {
+            boolean checkRemovals = usersWithRemovals.contains(userIds[u]);
+            for (int k = userOffsets[u]; k < userOffsets[u + 1]; k++) {
+                long midiaId = midiaIds[userMidias[k]];
+                if (checkRemovals && !changes.getOrDefault(new LikeChange(userIds[u], midiaId), Boolean.TRUE))
+                    continue;
+                users[size] = userIds[u];
+                midias[size] = midiaId;
+                size++;
+            }
+        }
+        for (Map.Entry<LikeChange, Boolean> change : changes.entrySet()) {
+            if (change.getValue()) {
+                users[size] = change.getKey().userId();
+                midias[size] = change.getKey().midiaId();
+                size++;
+            }
+        }
+
+        return of(users, midias, size);
+    }
+
+    /**
+     * Rows of this matrix whose neighbours may differ from {@code previous} after the given
+     * changes: each changed midia plus every midia that shares a user with it before or after.
+     */
+    public BitSet rowsAffectedBy(LikeMatrix previous, Set<LikeChange> changes) {
+        BitSet affected = new BitSet(midiaIds.length);
+
+        for (LikeChange change : changes) {
+            int midia = midiaIndex(change.midiaId());
+            if (midia >= 0) {
+                affected.set(midia);
+                for (int p = midiaOffsets[midia]; p < midiaOffsets[midia + 1]; p++) {
+                    int user = midiaUsers[p];
+                    for (int q = userOffsets[user]; q < userOffsets[user + 1]; q++)
+                        affected.set(userMidias[q]);
+                }
+            }
+
+            int previousUser = previous.userIndex(change.userId());
+            if (previousUser >= 0) {
+                for (int q = previous.userOffsets[previousUser]; q < previous.userOffsets[previousUser + 1]; q++) {
+                    int current = midiaIndex(previous.midiaIds[previous.userMidias[q]]);
+                    if (current >= 0)
+                        affected.set(current);
+                }
+            }
+        }
+        return affected;
+    }
+
+    public int size() {
+        return userMidias.length;
+    }
+
+    public int midiaCount() {
+        return midiaIds.length;
+    }
+
+    public long midiaId(int midia) {
+        return midiaIds[midia];
+    }
+
+    /** Dense index of the midia, or a negative value when nobody liked it. */
+    public int midiaIndex(long midiaId) {
+        return Arrays.binarySearch(midiaIds, midiaId);
+    }
+
+    public int userIndex(long userId) {
+        return Arrays.binarySearch(userIds, userId);
+    }
+
+    /** Ids of the users who like the midia; empty when nobody does. */
+    public long[] usersWhoLike(long midiaId) {
+        int midia = midiaIndex(midiaId);
+        if (midia < 0)
+            return new long[0];
+        long[] users = new long[likesOfMidia(midia)];
+        for (int p = midiaOffsets[midia]; p < midiaOffsets[midia + 1]; p++)
+            users[p - midiaOffsets[midia]] = userIds[midiaUsers[p]];
+        return users;
+    }
+
+    public int likesOfMidia(int midia) {
+        return midiaOffsets[midia + 1] - midiaOffsets[midia];
+    }
+
+    public int likesOfUser(int user) {
+        return userOffsets[user + 1] - userOffsets[user];
+    }
+
+    int midiaUsersStart(int midia) {
+        return midiaOffsets[midia];
+    }
+
+    int midiaUsersEnd(int midia) {
+        return midiaOffsets[midia + 1];
+    }
+
+    int midiaUser(int position) {
+        return midiaUsers[position];
+    }
+
+    int userMidiasStart(int user) {
+        return userOffsets[user];
+    }
+
+    int userMidiasEnd(int user) {
+        return userOffsets[user + 1];
+    }
+
+    int userMidia(int position) {
+        return userMidias[position];
+    }
+
+    public long estimatedBytes() {
+        return 8L * (userIds.length + midiaIds.length)
+             + 4L * (userOffsets.length + userMidias.length + midiaOffsets.length + midiaUsers.length);
+    }
+
+    private static long key(int user, int midia) {
+        return ((long) user << 32) | midia;
+    }
+
+    private static int userOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int midiaOf(long key) {
+        return (int) key;
+    }
+
+    private static long[] sortedUnique(long[] values, int size) {
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.parallelSort(sorted);
+        return Arrays.copyOf(sorted, dedupe(sorted, size));
+    }
+
+    // Compacts a sorted array in place and returns the number of distinct values.
+    private static int dedupe(long[] sorted, int size) {
+        if (size == 0)
+            return 0;
+        int distinct = 1;
+        for (int i = 1; i < size; i++) {
+            if (sorted[i] != sorted[distinct - 1])
+                sorted[distinct++] = sorted[i];
+        }
+        return distinct;
+    }
+
+    /** A single user/midia like, used as the key of pending changes. */
+    public record LikeChange(long userId, long midiaId) {}
+}
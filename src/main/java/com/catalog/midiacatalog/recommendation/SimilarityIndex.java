@@ -0,0 +1,71 @@
+package com.catalog.midiacatalog.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Immutable top-K neighbour lists per midia. Row i holds the neighbours of midiaIds[i] in
+ * slots [i * k, i * k + k) of the parallel neighbour/score arrays, best first, padded with -1.
+ */
+public final class SimilarityIndex {
+
+    private final long[] midiaIds;
+    private final int k;
+    private final long[] neighbours;
+    private final float[] scores;
+
+    SimilarityIndex(long[] midiaIds, int k, long[] neighbours, float[] scores) {
+        this.midiaIds = midiaIds;
+        this.k = k;
+        this.neighbours = neighbours;
+        this.scores = scores;
+    }
+
+    public static SimilarityIndex empty(int k) {
+        return new SimilarityIndex(new long[0], k, new long[0], new float[0]);
+    }
+
+    public int k() {
+        return k;
+    }
+
+    public int midiaCount() {
+        return midiaIds.length;
+    }
+
+    /** Number of neighbours stored for the midia, 0 when it is unknown. */
+    public int neighbourCount(long midiaId) {
+        int row = row(midiaId);
+        if (row < 0)
+            return 0;
+        int count = 0;
+        while (count < k && neighbours[row * k + count] >= 0)
+            count++;
+        return count;
+    }
+
+    public long neighbour(long midiaId, int rank) {
+        return neighbours[row(midiaId) * k + rank];
+    }
+
+    public float score(long midiaId, int rank) {
+        return scores[row(midiaId) * k + rank];
+    }
+
+    int row(long midiaId) {
+        return Arrays.binarySearch(midiaIds, midiaId);
+    }
+
+    void copyRow(long midiaId, long[] targetNeighbours, float[] targetScores, int targetOffset) {
+        int row = row(midiaId);
+        if (row < 0) {
+            Arrays.fill(targetNeighbours, targetOffset, targetOffset + k, -1);
+            return;
+        }
+        System.arraycopy(neighbours, row * k, targetNeighbours, targetOffset, k);
+        System.arraycopy(scores, row * k, targetScores, targetOffset, k);
+    }
+
+    public long estimatedBytes() {
+        return 8L * midiaIds.length + 8L * neighbours.length + 4L * scores.length;
+    }
+}
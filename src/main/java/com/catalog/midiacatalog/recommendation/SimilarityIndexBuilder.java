@@ -0,0 +1,156 @@
+package com.catalog.midiacatalog.recommendation;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes item-item cosine similarity over a {@link LikeMatrix}: two midias are similar when
+ * the same users liked both, normalised by how many likes each has. Rows are split across a
+ * fork/join pool; every leaf counts co-likes in a dense int array it reuses for all its rows and
+ * keeps only the best k neighbours, so nothing proportional to midias squared is ever held.
+ */
+public final class SimilarityIndexBuilder {
+
+    private static final int MIN_LEAF_ROWS = 64;
+
+    private final int k;
+    private final int minCoLikes;
+    private final int maxLikesPerUser;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param k               neighbours kept per midia
+     * @param minCoLikes      users two midias must share before they are considered similar
+     * @param maxLikesPerUser users with more likes are ignored; their pairs are mostly noise and cost quadratic time
+     */
+    public SimilarityIndexBuilder(int k, int minCoLikes, int maxLikesPerUser, ForkJoinPool pool) {
+        this.k = k;
+        this.minCoLikes = minCoLikes;
+        this.maxLikesPerUser = maxLikesPerUser;
+        this.pool = pool;
+    }
+
+    public SimilarityIndex build(LikeMatrix likes) {
+        return rebuild(likes, null, null);
+    }
+
+    /**
+     * Recomputes only the rows flagged in {@code dirty} (indexes into {@code likes}) and copies
+     * every other row from {@code previous}. A null previous or dirty set recomputes everything.
+     */
+    public SimilarityIndex rebuild(LikeMatrix likes, SimilarityIndex previous, BitSet dirty) {
+        int midias = likes.midiaCount();
+        long[] midiaIds = new long[midias];
+        for (int row = 0; row < midias; row++)
+            midiaIds[row] = likes.midiaId(row);
+
+        long[] neighbours = new long[midias * k];
+        float[] scores = new float[midias * k];
+        boolean partial = previous != null && dirty != null && previous.k() == k;
+
+        int leafRows = Math.max(MIN_LEAF_ROWS, midias / (pool.getParallelism() * 8));
+        pool.invoke(new RowTask(likes, partial ? previous : null, partial ? dirty : null,
+                                neighbours, scores, 0, midias, leafRows));
+
+        return new SimilarityIndex(midiaIds, k, neighbours, scores);
+    }
+
+    private final class RowTask extends RecursiveAction {
+        private final LikeMatrix likes;
+        private final SimilarityIndex previous;
+        private final BitSet dirty;
+        private final long[] neighbours;
+        private final float[] scores;
+        private final int from;
+        private final int to;
+        private final int leafRows;
+
+        RowTask(LikeMatrix likes, SimilarityIndex previous, BitSet dirty, long[] neighbours, float[] scores,
+                int from, int to, int leafRows) {
+            this.likes = likes;
+            this.previous = previous;
+            this.dirty = dirty;
+            this.neighbours = neighbours;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+            this.leafRows = leafRows;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > leafRows) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RowTask(likes, previous, dirty, neighbours, scores, from, middle, leafRows),
+                          new RowTask(likes, previous, dirty, neighbours, scores, middle, to, leafRows));
+                return;
+            }
+
+            int[] coLikes = null;
+            int[] touched = null;
+            for (int row = from; row < to; row++) {
+                if (previous != null && !dirty.get(row)) {
+                    previous.copyRow(likes.midiaId(row), neighbours, scores, row * k);
+                    continue;
+                }
+                if (coLikes == null) {
+                    coLikes = new int[likes.midiaCount()];
+                    touched = new int[likes.midiaCount()];
+                }
+                computeRow(row, coLikes, touched);
+            }
+        }
+
+        private void computeRow(int row, int[] coLikes, int[] touched) {
+            int offset = row * k;
+            Arrays.fill(neighbours, offset, offset + k, -1);
+
+            int touchedCount = 0;
+            for (int p = likes.midiaUsersStart(row); p < likes.midiaUsersEnd(row); p++) {
+                int user = likes.midiaUser(p);
+                if (likes.likesOfUser(user) > maxLikesPerUser)
+                    continue;
+                for (int q = likes.userMidiasStart(user); q < likes.userMidiasEnd(user); q++) {
+                    int other = likes.userMidia(q);
+                    if (other != row && coLikes[other]++ == 0)
+                        touched[touchedCount++] = other;
+                }
+            }
+
+            double rowLikes = likes.likesOfMidia(row);
+            int kept = 0;
+            for (int t = 0; t < touchedCount; t++) {
+                int other = touched[t];
+                int shared = coLikes[other];
+                coLikes[other] = 0;
+                if (shared < minCoLikes)
+                    continue;
+
+                float score = (float) (shared / Math.sqrt(rowLikes * likes.likesOfMidia(other)));
+                kept = insert(offset, kept, likes.midiaId(other), score);
+            }
+        }
+
+        // Insertion into a row kept sorted by score descending, then id ascending.
+        private int insert(int offset, int kept, long midiaId, float score) {
+            int position = kept;
+            while (position > 0 && isBetter(score, midiaId, scores[offset + position - 1], neighbours[offset + position - 1]))
+                position--;
+            if (position >= k)
+                return kept;
+
+            int last = Math.min(kept, k - 1);
+            System.arraycopy(neighbours, offset + position, neighbours, offset + position + 1, last - position);
+            System.arraycopy(scores, offset + position, scores, offset + position + 1, last - position);
+            neighbours[offset + position] = midiaId;
+            scores[offset + position] = score;
+            return Math.min(kept + 1, k);
+        }
+
+        private boolean isBetter(float score, long midiaId, float otherScore, long otherMidiaId) {
+            return score > otherScore || (score == otherScore && midiaId < otherMidiaId);
+        }
+    }
+}
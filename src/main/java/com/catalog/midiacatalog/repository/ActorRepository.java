@@ -1,11 +1,42 @@
 package com.catalog.midiacatalog.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.catalog.midiacatalog.model.Actor;
+import com.catalog.midiacatalog.repository.projection.ActorSummary;
 
 @Repository
 public interface ActorRepository extends JpaRepository<Actor, Long>{
 
+    @EntityGraph(attributePaths = "midias")
+    Optional<Actor> findWithMidiasById(Long id);
+
+    @Query(value = "SELECT new com.catalog.midiacatalog.repository.projection.ActorSummary(a.id, a.name, a.birthDate) FROM Actor a",
+           countQuery = "SELECT COUNT(a) FROM Actor a")
+    Page<ActorSummary> findAllSummaries(Pageable pageable);
+
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.ActorSummary(a.id, a.name, a.birthDate) FROM Actor a "
+         + "ORDER BY a.name, a.id")
+    List<ActorSummary> findFirstSummaries(Pageable limit);
+
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.ActorSummary(a.id, a.name, a.birthDate) FROM Actor a "
+         + "WHERE (a.name, a.id) > (:name, :id) ORDER BY a.name, a.id")
+    List<ActorSummary> findSummariesAfter(@Param("name") String name, @Param("id") Long id, Pageable limit);
+
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.ActorSummary(a.id, a.name, a.birthDate) FROM Actor a "
+         + "WHERE a.id IN :ids")
+    List<ActorSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a.id FROM Actor a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -1,11 +1,55 @@
 package com.catalog.midiacatalog.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.catalog.midiacatalog.model.Evaluation;
+import com.catalog.midiacatalog.repository.projection.EvaluationSummary;
 
 @Repository
 public interface EvaluationRepository extends JpaRepository<Evaluation,Long>{
 
+    boolean existsByMidiaIdAndUserIdAndEnabledTrue(Long midiaId, Long userId);
+
+    // Updates and disables push rating deltas computed from this row, so they read it under a row lock.
+    // Plain FOR UPDATE rather than @Lock, whose PostgreSQL rendering (FOR NO KEY UPDATE) H2 rejects.
+    @Query(value = "SELECT * FROM evaluations WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Evaluation> findLockedById(@Param("id") Long id);
+
+    // Feeds select scalar columns through explicit joins, so the eager User and Midia are never loaded.
+    // Rows without a date cannot carry a cursor and would never match the (date, id) comparison, so feeds skip them.
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.EvaluationSummary("
+         + "e.id, m.id, m.title, u.id, u.name, e.rating, e.comment, e.evaluationDate) "
+         + "FROM Evaluation e JOIN e.midia m JOIN e.user u "
+         + "WHERE m.id = :midiaId AND e.enabled = true AND e.evaluationDate IS NOT NULL ORDER BY e.evaluationDate DESC, e.id DESC")
+    List<EvaluationSummary> findFirstSummariesByMidia(@Param("midiaId") Long midiaId, Pageable limit);
+
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.EvaluationSummary("
+         + "e.id, m.id, m.title, u.id, u.name, e.rating, e.comment, e.evaluationDate) "
+         + "FROM Evaluation e JOIN e.midia m JOIN e.user u "
+         + "WHERE m.id = :midiaId AND e.enabled = true AND e.evaluationDate IS NOT NULL AND (e.evaluationDate, e.id) < (:date, :id) "
+         + "ORDER BY e.evaluationDate DESC, e.id DESC")
+    List<EvaluationSummary> findSummariesByMidiaBefore(@Param("midiaId") Long midiaId, @Param("date") LocalDateTime date,
+                                                       @Param("id") Long id, Pageable limit);
+
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.EvaluationSummary("
+         + "e.id, m.id, m.title, u.id, u.name, e.rating, e.comment, e.evaluationDate) "
+         + "FROM Evaluation e JOIN e.midia m JOIN e.user u "
+         + "WHERE u.id = :userId AND e.enabled = true AND e.evaluationDate IS NOT NULL ORDER BY e.evaluationDate DESC, e.id DESC")
+    List<EvaluationSummary> findFirstSummariesByUser(@Param("userId") Long userId, Pageable limit);
+
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.EvaluationSummary("
+         + "e.id, m.id, m.title, u.id, u.name, e.rating, e.comment, e.evaluationDate) "
+         + "FROM Evaluation e JOIN e.midia m JOIN e.user u "
+         + "WHERE u.id = :userId AND e.enabled = true AND e.evaluationDate IS NOT NULL AND (e.evaluationDate, e.id) < (:date, :id) "
+         + "ORDER BY e.evaluationDate DESC, e.id DESC")
+    List<EvaluationSummary> findSummariesByUserBefore(@Param("userId") Long userId, @Param("date") LocalDateTime date,
+                                                      @Param("id") Long id, Pageable limit);
 }
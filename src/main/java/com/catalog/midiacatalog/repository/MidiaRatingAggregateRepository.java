@@ -0,0 +1,31 @@
+package com.catalog.midiacatalog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.catalog.midiacatalog.model.MidiaRatingAggregate;
+
+@Repository
+public interface MidiaRatingAggregateRepository extends JpaRepository<MidiaRatingAggregate, Long> {
+
+    // Applied as a relative update so concurrent evaluations never overwrite each other's counts.
+    @Modifying
+    @Query("""
+        UPDATE MidiaRatingAggregate a SET
+            a.ratingCount = a.ratingCount + :count,
+            a.ratingSum = a.ratingSum + :sum,
+            a.oneStar = a.oneStar + :oneStar,
+            a.twoStars = a.twoStars + :twoStars,
+            a.threeStars = a.threeStars + :threeStars,
+            a.fourStars = a.fourStars + :fourStars,
+            a.fiveStars = a.fiveStars + :fiveStars
+        WHERE a.midiaId = :midiaId
+        """)
+    int applyDelta(@Param("midiaId") Long midiaId, @Param("count") long count, @Param("sum") long sum,
+                   @Param("oneStar") long oneStar, @Param("twoStars") long twoStars,
+                   @Param("threeStars") long threeStars, @Param("fourStars") long fourStars,
+                   @Param("fiveStars") long fiveStars);
+}
@@ -1,11 +1,60 @@
 package com.catalog.midiacatalog.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.repository.projection.MidiaActorSummary;
+import com.catalog.midiacatalog.repository.projection.MidiaSummary;
 
 @Repository
-public interface MidiaRepository extends JpaRepository<Midia, Long>{
+public interface MidiaRepository extends JpaRepository<Midia, Long>, JpaSpecificationExecutor<Midia>{
+
+    @EntityGraph(attributePaths = "actors")
+    Optional<Midia> findWithActorsById(Long id);
+
+    @Query(value = "SELECT m FROM Midia m JOIN m.actors a WHERE a.id = :actorId",
+           countQuery = "SELECT COUNT(m) FROM Midia m JOIN m.actors a WHERE a.id = :actorId")
+    Page<Midia> findAllByActorId(@Param("actorId") Long actorId, Pageable pageable);
+
+    @Query(value = "SELECT new com.catalog.midiacatalog.repository.projection.MidiaSummary("
+                 + "m.id, m.title, m.type, m.releaseYear, m.director, m.genre, m.poseterImageUrl) FROM Midia m",
+           countQuery = "SELECT COUNT(m) FROM Midia m")
+    Page<MidiaSummary> findAllSummaries(Pageable pageable);
+
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.MidiaSummary("
+         + "m.id, m.title, m.type, m.releaseYear, m.director, m.genre, m.poseterImageUrl) FROM Midia m "
+         + "ORDER BY m.title, m.id")
+    List<MidiaSummary> findFirstSummaries(Pageable limit);
+
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.MidiaSummary("
+         + "m.id, m.title, m.type, m.releaseYear, m.director, m.genre, m.poseterImageUrl) FROM Midia m "
+         + "WHERE (m.title, m.id) > (:title, :id) ORDER BY m.title, m.id")
+    List<MidiaSummary> findSummariesAfter(@Param("title") String title, @Param("id") Long id, Pageable limit);
+
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.MidiaSummary("
+         + "m.id, m.title, m.type, m.releaseYear, m.director, m.genre, m.poseterImageUrl) FROM Midia m "
+         + "WHERE m.id IN :ids")
+    List<MidiaSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Relies on the search_vector column and GIN index from V3__create_midia_search_index.sql
+    @Query(value = "SELECT m.id FROM midias m, websearch_to_tsquery('english', :query) q "
+                 + "WHERE m.search_vector @@ q ORDER BY ts_rank(m.search_vector, q) DESC, m.id",
+           countQuery = "SELECT COUNT(*) FROM midias m WHERE m.search_vector @@ websearch_to_tsquery('english', :query)",
+           nativeQuery = true)
+    Page<Long> searchIds(@Param("query") String query, Pageable pageable);
 
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.MidiaActorSummary(m.id, a.id, a.name) "
+         + "FROM Midia m JOIN m.actors a WHERE m.id IN :midiaIds")
+    List<MidiaActorSummary> findActorSummariesByMidiaIdIn(@Param("midiaIds") Collection<Long> midiaIds);
 }
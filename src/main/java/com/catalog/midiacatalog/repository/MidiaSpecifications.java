@@ -0,0 +1,60 @@
+package com.catalog.midiacatalog.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.catalog.midiacatalog.dto.Midia.MidiaFilterDTO;
+import com.catalog.midiacatalog.model.Actor;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+
+import jakarta.persistence.criteria.Join;
+
+public final class MidiaSpecifications {
+
+    private MidiaSpecifications() {
+    }
+
+    public static Specification<Midia> matching(MidiaFilterDTO filter) {
+        return Specification.allOf(
+            hasType(filter.getType()),
+            releasedFrom(filter.getReleaseYearFrom()),
+            releasedUntil(filter.getReleaseYearTo()),
+            hasGenre(filter.getGenre()),
+            hasDirector(filter.getDirector()),
+            hasActor(filter.getActorId()));
+    }
+
+    public static Specification<Midia> hasType(Midiatype type) {
+        return (root, query, builder) -> type == null ? null : builder.equal(root.get("type"), type);
+    }
+
+    public static Specification<Midia> releasedFrom(Integer year) {
+        return (root, query, builder) -> year == null ? null : builder.greaterThanOrEqualTo(root.get("releaseYear"), year);
+    }
+
+    public static Specification<Midia> releasedUntil(Integer year) {
+        return (root, query, builder) -> year == null ? null : builder.lessThanOrEqualTo(root.get("releaseYear"), year);
+    }
+
+    public static Specification<Midia> hasGenre(String genre) {
+        return (root, query, builder) -> isBlank(genre) ? null : builder.equal(root.get("genre"), genre);
+    }
+
+    public static Specification<Midia> hasDirector(String director) {
+        return (root, query, builder) -> isBlank(director) ? null : builder.equal(root.get("director"), director);
+    }
+
+    // midia_actors has one row per (midia, actor), so joining for a single actor cannot duplicate midias.
+    public static Specification<Midia> hasActor(Long actorId) {
+        return (root, query, builder) -> {
+            if(actorId == null)
+                return null;
+            Join<Midia, Actor> actors = root.join("actors");
+            return builder.equal(actors.get("id"), actorId);
+        };
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
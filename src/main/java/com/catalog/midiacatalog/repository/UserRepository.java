@@ -1,13 +1,34 @@
 package com.catalog.midiacatalog.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.catalog.midiacatalog.model.User;
+import com.catalog.midiacatalog.repository.projection.UserSummary;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+    // Matches idx_users_email_lower, so this stays an index seek; a derived IgnoreCase query would
+    // compare upper() on both sides and fall back to a sequential scan.
+    @Query("SELECT u FROM User u WHERE lower(u.email) = lower(:email)")
+    Optional<User> findByEmailIgnoringCase(@Param("email") String email);
+
+    @Query(value = "SELECT new com.catalog.midiacatalog.repository.projection.UserSummary(u.id, u.name, u.email) FROM User u",
+           countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserSummary> findAllSummaries(Pageable pageable);
+
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.UserSummary(u.id, u.name, u.email) FROM User u "
+         + "ORDER BY u.name, u.id")
+    List<UserSummary> findFirstSummaries(Pageable limit);
+
+    @Query("SELECT new com.catalog.midiacatalog.repository.projection.UserSummary(u.id, u.name, u.email) FROM User u "
+         + "WHERE (u.name, u.id) > (:name, :id) ORDER BY u.name, u.id")
+    List<UserSummary> findSummariesAfter(@Param("name") String name, @Param("id") Long id, Pageable limit);
 }
@@ -0,0 +1,5 @@
+package com.catalog.midiacatalog.repository.projection;
+
+import java.time.LocalDate;
+
+public record ActorSummary(Long id, String name, LocalDate birthDate) {}
@@ -0,0 +1,6 @@
+package com.catalog.midiacatalog.repository.projection;
+
+import java.time.LocalDateTime;
+
+public record EvaluationSummary(Long id, Long midiaId, String midiaTitle, Long userId, String userName,
+                                Integer rating, String comment, LocalDateTime evaluationDate) {}
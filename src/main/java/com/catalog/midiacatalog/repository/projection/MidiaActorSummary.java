@@ -0,0 +1,3 @@
+package com.catalog.midiacatalog.repository.projection;
+
+public record MidiaActorSummary(Long midiaId, Long actorId, String actorName) {}
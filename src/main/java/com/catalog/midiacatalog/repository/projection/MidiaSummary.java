@@ -0,0 +1,6 @@
+package com.catalog.midiacatalog.repository.projection;
+
+import com.catalog.midiacatalog.model.enums.Midiatype;
+
+public record MidiaSummary(Long id, String title, Midiatype type, Integer releaseYear,
+                           String director, String genre, String poseterImageUrl) {}
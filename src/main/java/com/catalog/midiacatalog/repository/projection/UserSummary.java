@@ -0,0 +1,3 @@
+package com.catalog.midiacatalog.repository.projection;
+
+public record UserSummary(Long id, String name, String email) {}
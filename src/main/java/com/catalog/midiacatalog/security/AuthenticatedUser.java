@@ -0,0 +1,6 @@
+package com.catalog.midiacatalog.security;
+
+import java.time.Instant;
+
+/** Identity carried by a verified token; requests see it without touching the database. */
+public record AuthenticatedUser(Long userId, String email, String tokenId, Instant expiresAt) {}
@@ -0,0 +1,7 @@
+package com.catalog.midiacatalog.security;
+
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
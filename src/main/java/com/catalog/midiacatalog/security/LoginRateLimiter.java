@@ -0,0 +1,138 @@
+package com.catalog.midiacatalog.security;
+
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.catalog.midiacatalog.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Throttles login attempts per client address and per email before any validation or database
+ * work happens, so a credential-stuffing wave is turned away with a couple of in-memory reads.
+ * The address limit is the loose one; the email limit caps guesses against one account no matter
+ * how many addresses they come from. The email permit is only reserved here: the caller gives it
+ * back with {@link #refund} unless the password was actually wrong, so logging in successfully or
+ * mistyping the email never uses up the account's budget.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginRateLimiter.class);
+    private static final String REJECTION_MESSAGE = "Too many login attempts, please retry later.";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.login-throttle.address-per-minute:30}")
+    private int addressPerMinute;
+
+    @Value("${catalog.login-throttle.address-burst:30}")
+    private int addressBurst;
+
+    @Value("${catalog.login-throttle.email-per-minute:5}")
+    private int emailPerMinute;
+
+    @Value("${catalog.login-throttle.email-burst:5}")
+    private int emailBurst;
+
+    @Value("${catalog.login-throttle.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${catalog.login-throttle.overflow-stripes:1024}")
+    private int overflowStripes;
+
+    @Value("${catalog.login-throttle.sweep-interval-ms:60000}")
+    private long sweepIntervalMillis;
+
+    private LongSupplier nanoClock = System::nanoTime;
+
+    private RateLimiter byAddress;
+    private RateLimiter byEmail;
+    private Counter addressRejections;
+    private Counter emailRejections;
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    void start() {
+        byAddress = new RateLimiter(addressPerMinute, addressBurst, maxKeys, overflowStripes, nanoClock);
+        byEmail = new RateLimiter(emailPerMinute, emailBurst, maxKeys, overflowStripes, nanoClock);
+
+        addressRejections = Counter.builder("catalog.login.throttled").tag("scope", "address").register(meterRegistry);
+        emailRejections = Counter.builder("catalog.login.throttled").tag("scope", "email").register(meterRegistry);
+        Gauge.builder("catalog.login.throttle.keys", byAddress, RateLimiter::size).tag("scope", "address").register(meterRegistry);
+        Gauge.builder("catalog.login.throttle.keys", byEmail, RateLimiter::size).tag("scope", "email").register(meterRegistry);
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "login-throttle-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly, sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    public void check(String email, String clientAddress) {
+        if(clientAddress != null) {
+            long wait = byAddress.tryAcquire(clientAddress);
+            if(wait > 0) {
+                addressRejections.increment();
+                throw new TooManyRequestsException(REJECTION_MESSAGE, retryAfterSeconds(wait));
+            }
+        }
+
+        if(email != null && !email.isBlank()) {
+            long wait = byEmail.tryAcquire(emailKey(email));
+            if(wait > 0) {
+                emailRejections.increment();
+                throw new TooManyRequestsException(REJECTION_MESSAGE, retryAfterSeconds(wait));
+            }
+        }
+    }
+
+    // Called for every checked attempt that did not fail password verification.
+    public void refund(String email) {
+        if(email != null && !email.isBlank())
+            byEmail.refund(emailKey(email));
+    }
+
+    void sweep() {
+        int removed = byAddress.sweepIdle() + byEmail.sweepIdle();
+        logger.debug("Login throttle sweep dropped {} idle keys", removed);
+    }
+
+
+    // Helper methods
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (RuntimeException exception) {
+            logger.warn("Login throttle sweep failed", exception);
+        }
+    }
+
+    private String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
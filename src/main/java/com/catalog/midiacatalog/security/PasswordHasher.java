@@ -0,0 +1,171 @@
+package com.catalog.midiacatalog.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.catalog.midiacatalog.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * BCrypt hashing and verification on a dedicated, bounded pool. Hashing is deliberately
+ * expensive, so it never runs on servlet threads: callers wait for the result, and when the
+ * queue is full they get a 503 instead of piling up. Stored values written before hashing was
+ * introduced are plaintext; they still verify and report that they need rehashing.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final int BCRYPT_MAX_BYTES = 72;
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./A-Za-z0-9]{53}$");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.password.bcrypt-strength:10}")
+    private int strength;
+
+    @Value("${catalog.password.hashing-threads:0}")
+    private int threads;
+
+    @Value("${catalog.password.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${catalog.password.timeout-ms:10000}")
+    private long timeoutMillis;
+
+    private BCryptPasswordEncoder encoder;
+    private ThreadPoolExecutor executor;
+
+    private Timer hashTimer;
+    private Timer verifyTimer;
+    private Timer queueWaitTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void start() {
+        encoder = new BCryptPasswordEncoder(strength);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "password-hasher-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+
+        hashTimer = Timer.builder("catalog.password.hashing")
+            .tag("operation", "hash")
+            .description("Time spent computing password hashes")
+            .register(meterRegistry);
+        verifyTimer = Timer.builder("catalog.password.hashing")
+            .tag("operation", "verify")
+            .description("Time spent computing password hashes")
+            .register(meterRegistry);
+        queueWaitTimer = Timer.builder("catalog.password.hashing.queue.wait")
+            .description("Time hashing requests wait for a free hashing thread")
+            .register(meterRegistry);
+        rejectedCounter = Counter.builder("catalog.password.hashing.rejected")
+            .description("Hashing requests refused because the queue was full")
+            .register(meterRegistry);
+        Gauge.builder("catalog.password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+            .description("Hashing requests waiting for a thread")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public String hash(String rawPassword) {
+        return run(hashTimer, () -> encoder.encode(fitToBcrypt(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String storedPassword) {
+        if(rawPassword == null || storedPassword == null)
+            return false;
+        if(!isHash(storedPassword))
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                                         storedPassword.getBytes(StandardCharsets.UTF_8));
+        return run(verifyTimer, () -> encoder.matches(fitToBcrypt(rawPassword), storedPassword));
+    }
+
+    /** True for plaintext values and for hashes made with a different cost than the configured one. */
+    public boolean needsRehash(String storedPassword) {
+        if(storedPassword == null)
+            return false;
+        Matcher hash = BCRYPT_HASH.matcher(storedPassword);
+        return !hash.matches() || Integer.parseInt(hash.group(1)) != strength;
+    }
+
+
+    // Helper methods
+    private boolean isHash(String storedPassword) {
+        return BCRYPT_HASH.matcher(storedPassword).matches();
+    }
+
+    // BCrypt only reads 72 bytes. New passwords are capped below that, but legacy plaintext ones
+    // may be longer, so those are digested to a 44-character SHA-256 Base64 string before hashing.
+    private String fitToBcrypt(String rawPassword) {
+        byte[] bytes = rawPassword.getBytes(StandardCharsets.UTF_8);
+        if(bytes.length <= BCRYPT_MAX_BYTES)
+            return rawPassword;
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available.", exception);
+        }
+    }
+
+    private <T> T run(Timer timer, Callable<T> work) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(work);
+            });
+        } catch (RejectedExecutionException exception) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException("Password hashing is busy, please retry shortly.");
+        }
+
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            result.cancel(true);
+            throw new ServiceBusyException("Password hashing is busy, please retry shortly.");
+        } catch (InterruptedException exception) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Password hashing was interrupted.");
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Password hashing failed.", exception.getCause());
+        }
+    }
+}
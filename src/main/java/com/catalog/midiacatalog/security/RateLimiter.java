@@ -0,0 +1,109 @@
+package com.catalog.midiacatalog.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token bucket kept as one {@link AtomicLong} per key holding its theoretical arrival time
+ * (GCRA): an admitted call is a single CAS and a rejected one is a plain read, so no lock is ever
+ * taken. Buckets that have refilled completely carry no state and are dropped by {@link #sweepIdle()}.
+ * Once {@code maxKeys} buckets exist, unknown keys share a fixed set of striped buckets instead of
+ * growing the map, which keeps memory bounded. Each stripe gets the budget of the
+ * {@code maxKeys / overflowStripes} keys it stands for, so a key that lands in a busy stripe is not
+ * locked out by a single neighbour.
+ */
+public class RateLimiter {
+
+    private final long emissionInterval;
+    private final long tolerance;
+    private final long stripeInterval;
+    private final long stripeTolerance;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong[] overflow;
+
+    public RateLimiter(int permitsPerMinute, int burst, int maxKeys, int overflowStripes, LongSupplier nanoClock) {
+        if(permitsPerMinute <= 0 || burst <= 0)
+            throw new IllegalArgumentException("Rate limit permits and burst must be positive.");
+        this.emissionInterval = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+        this.tolerance = emissionInterval * (burst - 1);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+        this.overflow = new AtomicLong[Integer.highestOneBit(Math.max(1, overflowStripes))];
+        long keysPerStripe = Math.max(1, maxKeys / overflow.length);
+        this.stripeInterval = Math.max(1, emissionInterval / keysPerStripe);
+        this.stripeTolerance = stripeInterval * (burst * keysPerStripe - 1);
+        long now = nanoClock.getAsLong();
+        for (int i = 0; i < overflow.length; i++)
+            overflow[i] = new AtomicLong(now);
+    }
+
+    /** Takes a permit for {@code key}; returns 0 when granted, otherwise the nanoseconds until one is available. */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if(bucket == null && buckets.size() < maxKeys)
+            bucket = buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+
+        return bucket != null
+            ? acquire(bucket, now, emissionInterval, tolerance)
+            : acquire(stripeFor(key), now, stripeInterval, stripeTolerance);
+    }
+
+    /** Gives back a permit taken by {@link #tryAcquire}; a bucket that has refilled in the meantime is left alone. */
+    public void refund(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if(bucket != null)
+            release(bucket, now, emissionInterval);
+        else if(buckets.size() >= maxKeys)
+            release(stripeFor(key), now, stripeInterval);
+    }
+
+    /**
+     * Drops buckets that are full again. A caller that fetched a bucket just before it was removed
+     * charges the detached copy, so a racing key can gain at most one extra permit.
+     */
+    public int sweepIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+
+    // Helper methods
+    private long acquire(AtomicLong bucket, long now, long interval, long burstTolerance) {
+        while (true) {
+            long arrival = bucket.get();
+            long start = arrival - now > 0 ? arrival : now;
+            if(start - now > burstTolerance)
+                return start - now - burstTolerance;
+            if(bucket.compareAndSet(arrival, start + interval))
+                return 0;
+        }
+    }
+
+    private void release(AtomicLong bucket, long now, long interval) {
+        while (true) {
+            long arrival = bucket.get();
+            if(arrival - now <= 0)
+                return;
+            long refunded = arrival - interval - now > 0 ? arrival - interval : now;
+            if(bucket.compareAndSet(arrival, refunded))
+                return;
+        }
+    }
+
+    private AtomicLong stripeFor(String key) {
+        int hash = key.hashCode();
+        return overflow[(hash ^ (hash >>> 16)) & (overflow.length - 1)];
+    }
+}
@@ -0,0 +1,81 @@
+package com.catalog.midiacatalog.security;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.catalog.midiacatalog.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates requests from their bearer token alone. A valid token exposes an
+ * {@link AuthenticatedUser} request attribute; a bad one is rejected with 401, and so is a missing
+ * one on the protected paths. Anonymous requests elsewhere pass through untouched.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String AUTHENTICATED_USER = "authenticatedUser";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final ObjectMapper objectMapper;
+    private final List<String> protectedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public TokenAuthenticationFilter(TokenService tokenService, ObjectMapper objectMapper, List<String> protectedPaths) {
+        this.tokenService = tokenService;
+        this.objectMapper = objectMapper;
+        this.protectedPaths = protectedPaths;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if(authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            if(isProtected(request)) {
+                reject(response, "Authentication token must be informed.");
+                return;
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            AuthenticatedUser user = tokenService.authenticate(authorization.substring(BEARER_PREFIX.length()).trim());
+            request.setAttribute(AUTHENTICATED_USER, user);
+        } catch (InvalidTokenException exception) {
+            reject(response, exception.getMessage());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+
+    // Helper methods
+    private boolean isProtected(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : protectedPaths)
+            if(!pattern.isBlank() && pathMatcher.match(pattern.trim(), path))
+                return true;
+        return false;
+    }
+
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Unauthorized", message));
+    }
+}
@@ -0,0 +1,209 @@
+package com.catalog.midiacatalog.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.catalog.midiacatalog.exception.ServiceBusyException;
+import com.catalog.midiacatalog.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Issues and verifies compact HS256 tokens (JWT layout) so requests authenticate from the token
+ * alone. Keys are configured as {@code id:base64secret} pairs; the active one signs, all of them
+ * verify, which lets a key be rotated out while its tokens expire. Each key keeps its encoded
+ * header and one initialised {@link Mac} per thread, so verifying costs a single HMAC.
+ */
+@Component
+public class TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String ALGORITHM = "HmacSHA256";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${catalog.token.signing-keys:}")
+    private List<String> signingKeys;
+
+    @Value("${catalog.token.active-key:}")
+    private String activeKeyId;
+
+    @Value("${catalog.token.ttl:PT1H}")
+    private Duration ttl;
+
+    @Value("${catalog.token.max-revoked:100000}")
+    private int maxRevoked;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final Map<String, SigningKey> keys = new LinkedHashMap<>();
+    private SigningKey activeKey;
+
+    // Token id -> expiry in epoch seconds; entries are useless once the token expires anyway.
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        for (String entry : signingKeys) {
+            if(entry.isBlank())
+                continue;
+            int separator = entry.indexOf(':');
+            if(separator <= 0)
+                throw new IllegalStateException("Signing keys must be configured as id:base64secret.");
+            String id = entry.substring(0, separator).trim();
+            keys.put(id, new SigningKey(id, Base64.getDecoder().decode(entry.substring(separator + 1).trim())));
+        }
+
+        if(keys.isEmpty()) {
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            keys.put("ephemeral", new SigningKey("ephemeral", secret));
+            logger.warn("No catalog.token.signing-keys configured; tokens are signed with a random key and die on restart");
+        }
+
+        activeKey = activeKeyId.isBlank() ? keys.values().iterator().next() : keys.get(activeKeyId);
+        if(activeKey == null)
+            throw new IllegalStateException("Active signing key " + activeKeyId + " is not configured.");
+    }
+
+    public IssuedToken issue(User user) {
+        Instant issuedAt = clock.instant();
+        Instant expiresAt = issuedAt.plus(ttl);
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", String.valueOf(user.getId()));
+        claims.put("email", user.getEmail());
+        claims.put("jti", UUID.randomUUID().toString());
+        claims.put("iat", issuedAt.getEpochSecond());
+        claims.put("exp", expiresAt.getEpochSecond());
+
+        String signingInput = activeKey.encodedHeader + "." + ENCODER.encodeToString(toJson(claims));
+        return new IssuedToken(signingInput + "." + ENCODER.encodeToString(activeKey.sign(signingInput)), expiresAt);
+    }
+
+    public AuthenticatedUser authenticate(String token) {
+        if(token == null || token.isBlank())
+            throw new InvalidTokenException("Token must be informed.");
+
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if(firstDot <= 0 || lastDot == firstDot || lastDot == token.length() - 1)
+            throw new InvalidTokenException("Malformed token.");
+
+        try {
+            JsonNode header = objectMapper.readTree(DECODER.decode(token.substring(0, firstDot)));
+            SigningKey key = keys.get(header.path("kid").asText());
+            if(key == null || !"HS256".equals(header.path("alg").asText()))
+                throw new InvalidTokenException("Unknown signing key.");
+
+            byte[] signature = DECODER.decode(token.substring(lastDot + 1));
+            if(!MessageDigest.isEqual(signature, key.sign(token.substring(0, lastDot))))
+                throw new InvalidTokenException("Invalid token signature.");
+
+            JsonNode claims = objectMapper.readTree(DECODER.decode(token.substring(firstDot + 1, lastDot)));
+            Instant expiresAt = Instant.ofEpochSecond(claims.path("exp").asLong());
+            if(!clock.instant().isBefore(expiresAt))
+                throw new InvalidTokenException("Token expired.");
+
+            String tokenId = claims.path("jti").asText();
+            if(revoked.containsKey(tokenId))
+                throw new InvalidTokenException("Token revoked.");
+
+            return new AuthenticatedUser(Long.valueOf(claims.path("sub").asText()),
+                claims.path("email").asText(), tokenId, expiresAt);
+        } catch (IllegalArgumentException | java.io.IOException exception) {
+            throw new InvalidTokenException("Malformed token.");
+        }
+    }
+
+    // Synchronized so the bound holds under concurrent logouts; authenticate only reads the map.
+    // Dropping a live entry would quietly revive its token, so a full set refuses the logout instead.
+    public synchronized void revoke(AuthenticatedUser user) {
+        if(revoked.containsKey(user.tokenId()))
+            return;
+        if(revoked.size() >= maxRevoked)
+            purgeExpiredRevocations();
+        if(revoked.size() >= maxRevoked) {
+            logger.warn("Token revocation set holds {} live entries, the configured maximum", revoked.size());
+            throw new ServiceBusyException("Too many logouts being processed. Try again shortly.");
+        }
+        revoked.put(user.tokenId(), user.expiresAt().getEpochSecond());
+    }
+
+    int revokedCount() {
+        return revoked.size();
+    }
+
+
+    // Helper methods
+    private void purgeExpiredRevocations() {
+        long now = clock.instant().getEpochSecond();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Token could not be encoded.", exception);
+        }
+    }
+
+    private final class SigningKey {
+        private final String encodedHeader;
+        private final ThreadLocal<Mac> mac;
+
+        SigningKey(String id, byte[] secret) {
+            Map<String, String> header = new LinkedHashMap<>();
+            header.put("alg", "HS256");
+            header.put("typ", "JWT");
+            header.put("kid", id);
+            this.encodedHeader = ENCODER.encodeToString(toJson(header));
+
+            SecretKeySpec keySpec = new SecretKeySpec(secret, ALGORITHM);
+            this.mac = ThreadLocal.withInitial(() -> {
+                try {
+                    Mac instance = Mac.getInstance(ALGORITHM);
+                    instance.init(keySpec);
+                    return instance;
+                } catch (GeneralSecurityException exception) {
+                    throw new IllegalStateException("HMAC-SHA256 is not available.", exception);
+                }
+            });
+        }
+
+        byte[] sign(String signingInput) {
+            // doFinal resets the Mac, so the per-thread instance is ready for the next call.
+            return mac.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    /** A freshly signed token and when it stops being accepted. */
+    public record IssuedToken(String token, Instant expiresAt) {}
+}
@@ -0,0 +1,53 @@
+package com.catalog.midiacatalog.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.catalog.midiacatalog.model.Actor;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps the second-level cache of the inverse Actor.midias collection in step with cast changes.
+ * Hibernate only evicts the owning Midia.actors entries when midia_actors changes, so services that
+ * change a cast pass the actors of the old and new casts here.
+ */
+@Component
+public class ActorMidiasCache {
+
+    private static final String ROLE = Actor.class.getName() + ".midias";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /** Evicts these actors' cached midias once the current transaction commits, or right away without one. */
+    public void evictAfterCommit(Collection<Long> actorIds) {
+        if(actorIds.isEmpty())
+            return;
+
+        Set<Long> ids = Set.copyOf(actorIds);
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(ids);
+            }
+        });
+    }
+
+
+    // Helper methods
+    private void evict(Set<Long> actorIds) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        actorIds.forEach(actorId -> cache.evictCollectionData(ROLE, actorId));
+    }
+}
@@ -2,34 +2,52 @@ package com.catalog.midiacatalog.service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.catalog.midiacatalog.config.CacheConfig;
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorRegistrationDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorResponseDTO;
+import com.catalog.midiacatalog.dto.Actor.ActorSimpleDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorUpdateDTO;
 import com.catalog.midiacatalog.dto.Midia.MidiaDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaResponseDTO;
 import com.catalog.midiacatalog.exception.DataNotFoundException;
 import com.catalog.midiacatalog.exception.DataValidationException;
 import com.catalog.midiacatalog.model.Actor;
 import com.catalog.midiacatalog.model.Midia;
 import com.catalog.midiacatalog.repository.ActorRepository;
 import com.catalog.midiacatalog.repository.MidiaRepository;
+import com.catalog.midiacatalog.repository.projection.ActorSummary;
+import com.catalog.midiacatalog.repository.projection.MidiaActorSummary;
 
 @Service
 public class ActorService {
+    private static final Set<String> MIDIA_SORT_PROPERTIES =
+        Set.of("id", "title", "type", "releaseYear", "director", "genre");
+
     @Autowired
     private ActorRepository actorRepository;
 
     @Autowired
     private MidiaRepository midiaRepository;
 
+    @Autowired
+    private CastGraphService castGraphService;
+
+    @Autowired
+    private ActorMidiasCache actorMidiasCache;
+
     public ActorResponseDTO register(ActorRegistrationDTO actorDTO) {
         if(actorDTO == null)
             throw new DataValidationException("Actor data must be informed.");
@@ -56,6 +74,8 @@ public class ActorService {
         return new ActorResponseDTO(actor.getId(), actor.getName(), actor.getBirthDate());
     }
 
+    // Cached midia details embed actor names, so renaming or removing an actor drops them all.
+    @CacheEvict(cacheNames = CacheConfig.MIDIA_DETAILS_CACHE, allEntries = true)
     public ActorResponseDTO remove(Long id) {
         validateId(id, "Actor");
         
@@ -65,6 +85,7 @@ public class ActorService {
         return new ActorResponseDTO(actor.getId(), actor.getName(), actor.getBirthDate());
     }
 
+    @CacheEvict(cacheNames = CacheConfig.MIDIA_DETAILS_CACHE, allEntries = true)
     public ActorResponseDTO update(Long id, ActorUpdateDTO actorInfo) {
         List<String> errors = new ArrayList<>();
 
@@ -92,33 +113,52 @@ public class ActorService {
 
     public ActorDTO getActor(Long id) {
         validateId(id, "Actor");
-        Actor actor = findActorById(id);
+        Actor actor = findActorWithMidiasById(id);
         
         return new ActorDTO(
             actor.getId(),
             actor.getName(),
             actor.getBirthDate(),
-            actor.getMidias());
+            actor.getMidias().stream()
+                .map(midia -> new MidiaResponseDTO(midia.getId(), midia.getTitle(), midia.getType()))
+                .collect(Collectors.toList()));
     }
 
     public Page<ActorDTO> getAllActors(Pageable pageable) {
-        Page<Actor> actors = actorRepository.findAll(pageable);
+        Page<ActorSummary> actors = actorRepository.findAllSummaries(pageable);
         
         if(actors.isEmpty())
             throw new DataNotFoundException("No actors found in database.");
 
         return actors.map(actor -> new ActorDTO(
-                actor.getId(), 
-                actor.getName(), 
-                actor.getBirthDate(), 
-                actor.getMidias()));
+                actor.id(), 
+                actor.name(), 
+                actor.birthDate(), 
+                new ArrayList<>()));
     }
 
+    public CursorPageResponseDTO<ActorDTO> getAllActorsAfter(String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable limit = KeysetCursor.limitFor(size);
+
+        List<ActorSummary> actors = position == null
+            ? actorRepository.findFirstSummaries(limit)
+            : actorRepository.findSummariesAfter(position.sortKey(), position.id(), limit);
+
+        if(position == null && actors.isEmpty())
+            throw new DataNotFoundException("No actors found in database.");
+
+        return KeysetCursor.toResponse(actors, size,
+            actor -> new ActorDTO(actor.id(), actor.name(), actor.birthDate(), new ArrayList<>()),
+            actor -> new KeysetCursor(actor.name(), actor.id()));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.MIDIA_DETAILS_CACHE, key = "#midiaId", condition = "#midiaId != null")
     public String addMidia(Long actorId, Long midiaId) {
         validateIds(actorId, midiaId);
         
-        Actor actor = findActorById(actorId);
-        Midia midia = findMidiaById(midiaId);
+        Actor actor = findActorWithMidiasById(actorId);
+        Midia midia = findMidiaWithActorsById(midiaId);
 
         List<Midia> actorMidias = actor.getMidias();
         if(actorMidias == null) {
@@ -129,48 +169,64 @@ public class ActorService {
         actorMidias.add(midia);
         actorRepository.save(actor);
 
+        // Midia owns the midia_actors join table; the actor side alone is never written.
+        if(midia.getActors() == null)
+            midia.setActors(new ArrayList<>());
+        if(midia.getActors().stream().noneMatch(castMember -> actorId.equals(castMember.getId()))) {
+            midia.getActors().add(actor);
+            midiaRepository.save(midia);
+        }
+        castGraphService.castsChanged(List.of(midiaId));
+        actorMidiasCache.evictAfterCommit(List.of(actorId));
+
         return "Midia added successfully";
     }
 
+    @CacheEvict(cacheNames = CacheConfig.MIDIA_DETAILS_CACHE, key = "#midiaId", condition = "#midiaId != null")
     public MidiaDTO removeMidia(Long actorId, Long midiaId) {
         validateIds(actorId, midiaId);
         
-        Actor actor = findActorById(actorId);
+        Actor actor = findActorWithMidiasById(actorId);
         List<Midia> actorMidias = actor.getMidias();
 
         if(actorMidias == null || actorMidias.isEmpty())
             throw new DataNotFoundException("No midias found for this actor.");
 
-        Midia midiaToRemove = actorMidias.stream()
-            .filter(midia -> midia.getId().equals(midiaId))
-            .findFirst()
-            .orElseThrow(() -> new DataNotFoundException("Midia not found for this actor."));
+        if(!actorMidias.removeIf(midia -> midia.getId().equals(midiaId)))
+            throw new DataNotFoundException("Midia not found for this actor.");
 
-        actorMidias.remove(midiaToRemove);
+        Midia midiaToRemove = findMidiaWithActorsById(midiaId);
         actorRepository.save(actor);
 
-        return convertToMidiaDTO(midiaToRemove);
+        if(midiaToRemove.getActors() != null &&
+           midiaToRemove.getActors().removeIf(castMember -> actorId.equals(castMember.getId())))
+            midiaRepository.save(midiaToRemove);
+        castGraphService.castsChanged(List.of(midiaId));
+        actorMidiasCache.evictAfterCommit(List.of(actorId));
+
+        return convertToMidiaDTO(midiaToRemove, midiaToRemove.getActors().stream()
+            .map(castMember -> new ActorSimpleDTO(castMember.getId(), castMember.getName()))
+            .collect(Collectors.toList()));
     }
 
     public Page<MidiaDTO> getAllActorMidias(Long actorId, Pageable pageable) {
         validateId(actorId, "Actor");
+        validateMidiaSort(pageable.getSort());
+
+        if(!actorRepository.existsById(actorId))
+            throw new DataNotFoundException("Actor not found.");
+
+        Page<Midia> midias = midiaRepository.findAllByActorId(actorId, pageable);
         
-        Actor actor = findActorById(actorId);
-        List<Midia> midias = actor.getMidias();
-        
-        if(midias == null || midias.isEmpty())
+        if(midias.isEmpty())
             throw new DataNotFoundException("No midias found for this actor.");
 
-        List<MidiaDTO> midiaDTOs = midias.stream()
-            .map(this::convertToMidiaDTO)
-            .collect(Collectors.toList());
-        
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), midiaDTOs.size());
-        
-        List<MidiaDTO> pageContent = midiaDTOs.subList(start, end);
-        
-        return new PageImpl<>(pageContent, pageable, midiaDTOs.size());
+        Map<Long, List<ActorSimpleDTO>> actorsByMidiaId = midiaRepository
+            .findActorSummariesByMidiaIdIn(midias.map(Midia::getId).getContent()).stream()
+            .collect(Collectors.groupingBy(MidiaActorSummary::midiaId,
+                Collectors.mapping(actor -> new ActorSimpleDTO(actor.actorId(), actor.actorName()), Collectors.toList())));
+
+        return midias.map(midia -> convertToMidiaDTO(midia, actorsByMidiaId.getOrDefault(midia.getId(), new ArrayList<>())));
     }
 
 
@@ -185,17 +241,32 @@ public class ActorService {
         validateId(midiaId, "Midia");
     }
 
+    private void validateMidiaSort(Sort sort) {
+        List<String> invalidProperties = sort.stream()
+            .map(Sort.Order::getProperty)
+            .filter(property -> !MIDIA_SORT_PROPERTIES.contains(property))
+            .collect(Collectors.toList());
+
+        if(!invalidProperties.isEmpty())
+            throw new DataValidationException("Invalid sort property for midias: " + String.join(", ", invalidProperties));
+    }
+
     private Actor findActorById(Long id) {
         return actorRepository.findById(id)
             .orElseThrow(() -> new DataNotFoundException("Actor not found."));
     }
 
-    private Midia findMidiaById(Long id) {
-        return midiaRepository.findById(id)
+    private Actor findActorWithMidiasById(Long id) {
+        return actorRepository.findWithMidiasById(id)
+            .orElseThrow(() -> new DataNotFoundException("Actor not found."));
+    }
+
+    private Midia findMidiaWithActorsById(Long id) {
+        return midiaRepository.findWithActorsById(id)
             .orElseThrow(() -> new DataNotFoundException("Midia not found."));
     }
 
-    private MidiaDTO convertToMidiaDTO(Midia midia) {
+    private MidiaDTO convertToMidiaDTO(Midia midia, List<ActorSimpleDTO> actors) {
         return new MidiaDTO(
             midia.getId(),
             midia.getTitle(),
@@ -205,7 +276,7 @@ public class ActorService {
             midia.getSynopsis(),
             midia.getGenre(),
             midia.getPoseterImageUrl(),
-            midia.getActors()
+            actors
         );
     }
 
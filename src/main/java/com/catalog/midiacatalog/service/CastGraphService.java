@@ -0,0 +1,236 @@
+package com.catalog.midiacatalog.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.catalog.midiacatalog.dto.Actor.ActorPathDTO;
+import com.catalog.midiacatalog.dto.Actor.ActorSimpleDTO;
+import com.catalog.midiacatalog.dto.Actor.CoStarDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaResponseDTO;
+import com.catalog.midiacatalog.exception.DataNotFoundException;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.graph.CastGraph;
+import com.catalog.midiacatalog.repository.ActorRepository;
+import com.catalog.midiacatalog.repository.MidiaRepository;
+import com.catalog.midiacatalog.repository.projection.ActorSummary;
+import com.catalog.midiacatalog.repository.projection.MidiaSummary;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Co-star and degrees-of-separation queries answered from an in-memory {@link CastGraph}.
+ * The graph is loaded from midia_actors at startup; services that change a cast report the
+ * midia ids, and once their transaction commits only those casts are re-read and swapped in.
+ */
+@Service
+public class CastGraphService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CastGraphService.class);
+    private static final int MAX_CO_STARS = 100;
+    private static final int MIDIA_ID_CHUNK_SIZE = 1000;
+
+    private static final String CAST_SQL = "SELECT midia_id, actor_id FROM midia_actors";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ActorRepository actorRepository;
+
+    @Autowired
+    private MidiaRepository midiaRepository;
+
+    private final Set<Long> changedMidias = ConcurrentHashMap.newKeySet();
+
+    private volatile CastGraph graph = CastGraph.empty();
+
+    private ExecutorService refresher;
+
+    @PostConstruct
+    void start() {
+        rebuild();
+        refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cast-graph-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    public List<CoStarDTO> getCoStars(Long actorId, int size) {
+        if(actorId == null)
+            throw new DataValidationException("Actor id must be informed.");
+        if(size < 1 || size > MAX_CO_STARS)
+            throw new DataValidationException("Size must be between 1 and " + MAX_CO_STARS + ".");
+
+        List<CastGraph.CoStar> coStars = graph.coStars(actorId, size);
+        if(coStars.isEmpty()) {
+            if(!actorRepository.existsById(actorId))
+                throw new DataNotFoundException("Actor not found.");
+            throw new DataNotFoundException("No co-stars found for this actor.");
+        }
+
+        Map<Long, ActorSummary> actors = findActors(coStars.stream().map(CastGraph.CoStar::actorId).toList());
+        return coStars.stream()
+            .filter(coStar -> actors.containsKey(coStar.actorId()))
+            .map(coStar -> new CoStarDTO(coStar.actorId(), actors.get(coStar.actorId()).name(), coStar.sharedMidias()))
+            .collect(Collectors.toList());
+    }
+
+    public ActorPathDTO getPath(Long fromActorId, Long toActorId) {
+        List<String> errors = new ArrayList<>();
+        if(fromActorId == null)
+            errors.add("Actor id must be informed.");
+        if(toActorId == null)
+            errors.add("Target actor id must be informed.");
+        if(!errors.isEmpty())
+            throw new DataValidationException(errors);
+
+        CastGraph current = graph;
+        long[] path = current.shortestPath(fromActorId, toActorId);
+        if(path == null && fromActorId.equals(toActorId))
+            path = new long[] {fromActorId};
+        if(path == null) {
+            if(!current.containsActor(fromActorId) && !actorRepository.existsById(fromActorId)
+               || !current.containsActor(toActorId) && !actorRepository.existsById(toActorId))
+                throw new DataNotFoundException("Actor not found.");
+            throw new DataNotFoundException("No path found between these actors.");
+        }
+
+        List<Long> actorIds = new ArrayList<>();
+        List<Long> midiaIds = new ArrayList<>();
+        for (int i = 0; i < path.length; i++)
+            (i % 2 == 0 ? actorIds : midiaIds).add(path[i]);
+
+        Map<Long, ActorSummary> actors = findActors(actorIds);
+        Map<Long, MidiaSummary> midias = midiaIds.isEmpty() ? Map.of()
+            : midiaRepository.findSummariesByIdIn(midiaIds).stream()
+                .collect(Collectors.toMap(MidiaSummary::id, Function.identity()));
+        if(actors.size() < new HashSet<>(actorIds).size() || midias.size() < new HashSet<>(midiaIds).size())
+            throw new DataNotFoundException("No path found between these actors.");
+
+        return new ActorPathDTO(midiaIds.size(),
+            actorIds.stream().map(id -> new ActorSimpleDTO(id, actors.get(id).name())).collect(Collectors.toList()),
+            midiaIds.stream().map(id -> new MidiaResponseDTO(id, midias.get(id).title(), midias.get(id).type()))
+                .collect(Collectors.toList()));
+    }
+
+    /** Queues the casts of these midias to be re-read once the current transaction commits. */
+    public void castsChanged(Collection<Long> midiaIds) {
+        if(midiaIds.isEmpty())
+            return;
+
+        Runnable enqueue = () -> {
+            changedMidias.addAll(midiaIds);
+            refresher.execute(this::refreshQuietly);
+        };
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue.run();
+            }
+        });
+    }
+
+    synchronized void rebuild() {
+        LongPairs rows = new LongPairs();
+        jdbcTemplate.query(CAST_SQL, rs -> {
+            rows.add(rs.getLong("midia_id"), rs.getLong("actor_id"));
+        });
+
+        graph = CastGraph.of(rows.midias, rows.actors, rows.size);
+        logger.info("Cast graph built with {} actors, {} midias and {} credits",
+            graph.actorCount(), graph.midiaCount(), graph.edgeCount());
+    }
+
+    synchronized void refresh() {
+        Set<Long> midiaIds = new HashSet<>();
+        for (Long midiaId : changedMidias) {
+            if(changedMidias.remove(midiaId))
+                midiaIds.add(midiaId);
+        }
+        if(midiaIds.isEmpty())
+            return;
+
+        try {
+            reloadCasts(midiaIds);
+        } catch (RuntimeException exception) {
+            // Keep them queued so the next change retries these casts too.
+            changedMidias.addAll(midiaIds);
+            throw exception;
+        }
+    }
+
+    synchronized void reloadCasts(Set<Long> midiaIds) {
+        LongPairs rows = new LongPairs();
+        List<Long> ids = new ArrayList<>(midiaIds);
+        for (int start = 0; start < ids.size(); start += MIDIA_ID_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(start, Math.min(start + MIDIA_ID_CHUNK_SIZE, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query(CAST_SQL + " WHERE midia_id IN (" + placeholders + ")", rs -> {
+                rows.add(rs.getLong("midia_id"), rs.getLong("actor_id"));
+            }, chunk.toArray());
+        }
+
+        graph = graph.replaceCasts(midiaIds, rows.midias, rows.actors, rows.size);
+    }
+
+
+    // Helper methods
+    private Map<Long, ActorSummary> findActors(List<Long> actorIds) {
+        return actorRepository.findSummariesByIdIn(actorIds).stream()
+            .collect(Collectors.toMap(ActorSummary::id, Function.identity()));
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException exception) {
+            logger.warn("Cast graph refresh failed: {}", exception.getMessage());
+        }
+    }
+
+    private static final class LongPairs {
+        private long[] midias = new long[1024];
+        private long[] actors = new long[1024];
+        private int size;
+
+        void add(long midiaId, long actorId) {
+            if(size == midias.length) {
+                midias = Arrays.copyOf(midias, size * 2);
+                actors = Arrays.copyOf(actors, size * 2);
+            }
+            midias[size] = midiaId;
+            actors[size] = actorId;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.catalog.midiacatalog.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.catalog.midiacatalog.bloom.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bloom filter of registered emails, so lookups for addresses that were never registered are
+ * answered without a query. Emails are added before the row is written, which can only cause a
+ * false positive; deleted and replaced emails stay in the filter as stale positives until the
+ * periodic rebuild streams the users table into a fresh, right-sized filter.
+ */
+@Service
+public class EmailFilterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailFilterService.class);
+    private static final int FETCH_SIZE = 10_000;
+    private static final String EMAILS_SQL = "SELECT email FROM users";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${catalog.email-filter.headroom:2.0}")
+    private double headroom;
+
+    @Value("${catalog.email-filter.check-interval-ms:60000}")
+    private long checkIntervalMillis;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+
+    // Writers hold the read side from add to commit; a rebuild takes the write side before it starts
+    // loading, so every email is either already committed or also added to the filter being built.
+    private final ReentrantReadWriteLock writes = new ReentrantReadWriteLock();
+    private final AtomicLong staleEntries = new AtomicLong();
+
+    private Counter negatives;
+    private Counter falsePositives;
+    private ScheduledExecutorService rebuilder;
+
+    @PostConstruct
+    void start() {
+        negatives = Counter.builder("catalog.email-filter.lookups").tag("result", "negative")
+            .description("Email lookups answered by the filter without a query").register(meterRegistry);
+        falsePositives = Counter.builder("catalog.email-filter.lookups").tag("result", "false-positive")
+            .description("Lookups the filter let through for an email that does not exist").register(meterRegistry);
+        Gauge.builder("catalog.email-filter.memory", this, service -> service.current.estimatedBytes())
+            .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("catalog.email-filter.expected-fpp", this, service -> service.current.expectedFalsePositiveRate())
+            .register(meterRegistry);
+        Gauge.builder("catalog.email-filter.observed-fpp", this, service -> service.observedFalsePositiveRate())
+            .register(meterRegistry);
+
+        rebuild();
+        rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-filter-rebuilder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    /** False means the email is certainly not registered. */
+    public boolean mightExist(String email) {
+        if(current.mightContain(normalize(email)))
+            return true;
+        negatives.increment();
+        return false;
+    }
+
+    /** Called when a lookup the filter let through found nothing. */
+    public void falsePositive() {
+        falsePositives.increment();
+    }
+
+    /** Adds {@code email} and runs {@code write} (which stores it) so that no concurrent rebuild can miss it. */
+    public void add(String email, Runnable write) {
+        String key = normalize(email);
+        writes.readLock().lock();
+        try {
+            BloomFilter next = building;
+            if(next != null)
+                next.put(key);
+            current.put(key);
+            write.run();
+        } finally {
+            writes.readLock().unlock();
+        }
+    }
+
+    /** Records that a registered email went away; it stays a positive until the next rebuild. */
+    public void removed() {
+        staleEntries.incrementAndGet();
+    }
+
+    synchronized void rebuild() {
+        long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        BloomFilter loaded = BloomFilter.create((long) Math.ceil(Math.max(1024, users) * headroom), falsePositiveRate);
+
+        writes.writeLock().lock();
+        try {
+            building = loaded;
+        } finally {
+            writes.writeLock().unlock();
+        }
+
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EMAILS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                loaded.put(normalize(rs.getString("email")));
+            }));
+
+            staleEntries.set(0);
+            current = loaded;
+        } finally {
+            building = null;
+        }
+        logger.info("Email filter built for {} users using {} bytes", loaded.insertions(), loaded.estimatedBytes());
+    }
+
+    /** Rebuilds once the filter has outgrown its sizing or carries too many deleted emails. */
+    void rebuildIfDegraded() {
+        BloomFilter filter = current;
+        if(filter.insertions() > filter.expectedInsertions()
+                || filter.expectedFalsePositiveRate() > falsePositiveRate * 2
+                || staleEntries.get() > filter.insertions() / 10)
+            rebuild();
+    }
+
+
+    // Helper methods
+    private void rebuildQuietly() {
+        try {
+            rebuildIfDegraded();
+        } catch (RuntimeException exception) {
+            logger.warn("Email filter rebuild failed", exception);
+        }
+    }
+
+    private double observedFalsePositiveRate() {
+        double negativeCount = negatives.count();
+        double falsePositiveCount = falsePositives.count();
+        return falsePositiveCount == 0 ? 0 : falsePositiveCount / (negativeCount + falsePositiveCount);
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
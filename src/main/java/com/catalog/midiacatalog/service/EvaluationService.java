@@ -1,15 +1,285 @@
 package com.catalog.midiacatalog.service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.catalog.midiacatalog.config.CacheConfig;
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationRegistrationDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationResponseDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationUpdateDTO;
+import com.catalog.midiacatalog.exception.DataNotFoundException;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.exception.ForbiddenException;
+import com.catalog.midiacatalog.model.Evaluation;
 import com.catalog.midiacatalog.repository.EvaluationRepository;
+import com.catalog.midiacatalog.repository.MidiaRepository;
+import com.catalog.midiacatalog.repository.UserRepository;
+import com.catalog.midiacatalog.repository.projection.EvaluationSummary;
+import com.catalog.midiacatalog.security.AuthenticatedUser;
 
 @Service
 public class EvaluationService {
 
     @Autowired
     private EvaluationRepository evaluationRepository;
-    //TODO
 
+    @Autowired
+    private MidiaRepository midiaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EvaluationWriteBuffer evaluationWriteBuffer;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    // Checks run synchronously; the insert and aggregate update are left to the write-behind buffer.
+    // The evaluation is always filed under the caller, whoever the body claims to be.
+    public EvaluationResponseDTO register(EvaluationRegistrationDTO evaluationInfo, AuthenticatedUser caller) {
+        if(evaluationInfo == null)
+            throw new DataValidationException("Evaluation data must be informed.");
+        if(caller == null)
+            throw new DataValidationException("Authentication token must be informed.");
+
+        List<String> errors = new ArrayList<>();
+
+        if(evaluationInfo.getMidiaId() == null)
+            errors.add("Midia ID must be informed.");
+        validateRating(evaluationInfo.getRating(), true, errors);
+
+        if(!errors.isEmpty())
+            throw new DataValidationException(errors);
+
+        Long midiaId = evaluationInfo.getMidiaId();
+        Long userId = caller.userId();
+
+        if(!midiaRepository.existsById(midiaId))
+            throw new DataNotFoundException("Midia not found.");
+        if(!userRepository.existsById(userId))
+            throw new DataNotFoundException("User not found.");
+
+        // Reserved before the table check, so a pair is either still pending or already committed.
+        if(!evaluationWriteBuffer.reserve(midiaId, userId))
+            throw new DataValidationException("User already evaluated this midia.");
+
+        PendingEvaluation evaluation;
+        boolean submitted = false;
+        try {
+            if(evaluationRepository.existsByMidiaIdAndUserIdAndEnabledTrue(midiaId, userId))
+                throw new DataValidationException("User already evaluated this midia.");
+
+            evaluation = new PendingEvaluation(midiaId, userId, evaluationInfo.getRating(),
+                evaluationInfo.getComment(), LocalDateTime.now());
+            evaluationWriteBuffer.submit(evaluation);
+            submitted = true;
+        } finally {
+            // Once queued the flusher owns the reservation; on any other way out it has to go.
+            if(!submitted)
+                evaluationWriteBuffer.release(midiaId, userId);
+        }
+
+        return new EvaluationResponseDTO(null, midiaId, userId, evaluation.rating(), evaluation.comment(),
+            evaluation.evaluationDate(), true);
+    }
+
+    @Transactional
+    public EvaluationResponseDTO update(Long id, EvaluationUpdateDTO evaluationInfo, AuthenticatedUser caller) {
+        List<String> errors = new ArrayList<>();
+
+        if(id == null)
+            errors.add("Evaluation ID must be informed.");
+        if(evaluationInfo == null)
+            errors.add("Evaluation data must be informed.");
+        else
+            validateRating(evaluationInfo.getRating(), false, errors);
+
+        if(!errors.isEmpty())
+            throw new DataValidationException(errors);
+
+        Evaluation evaluation = findOwnEvaluationById(id, caller);
+        if(!evaluation.isEnabled())
+            throw new DataValidationException("Disabled evaluations cannot be updated.");
+
+        int oldRating = evaluation.getRating();
+        if(evaluationInfo.getRating() != null)
+            evaluation.setRating(evaluationInfo.getRating());
+        if(evaluationInfo.getComment() != null)
+            evaluation.setComment(evaluationInfo.getComment());
+
+        evaluationRepository.save(evaluation);
+
+        if(oldRating != evaluation.getRating())
+            applyRatingChange(evaluation, oldRating, evaluation.getRating());
+
+        return toResponseDTO(evaluation);
+    }
+
+    @Transactional
+    public EvaluationResponseDTO disable(Long id, AuthenticatedUser caller) {
+        if(id == null)
+            throw new DataValidationException("Evaluation ID must be informed.");
+
+        Evaluation evaluation = findOwnEvaluationById(id, caller);
+        if(!evaluation.isEnabled())
+            throw new DataValidationException("Evaluation is already disabled.");
+
+        evaluation.setEnabled(false);
+        evaluationRepository.save(evaluation);
+
+        applyRatingChange(evaluation, evaluation.getRating(), null);
+
+        return toResponseDTO(evaluation);
+    }
+
+
+    public CursorPageResponseDTO<EvaluationDTO> getMidiaEvaluations(Long midiaId, String cursor, int size) {
+        if(midiaId == null)
+            throw new DataValidationException("Midia ID must be informed.");
+
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable limit = KeysetCursor.limitFor(size);
+
+        List<EvaluationSummary> evaluations = position == null
+            ? evaluationRepository.findFirstSummariesByMidia(midiaId, limit)
+            : evaluationRepository.findSummariesByMidiaBefore(midiaId, dateOf(position), position.id(), limit);
+
+        if(position == null && evaluations.isEmpty()) {
+            if(!midiaRepository.existsById(midiaId))
+                throw new DataNotFoundException("Midia not found.");
+            throw new DataNotFoundException("No evaluations found for this midia.");
+        }
+
+        return toFeed(evaluations, size);
+    }
+
+    public CursorPageResponseDTO<EvaluationDTO> getUserEvaluations(Long userId, String cursor, int size) {
+        if(userId == null)
+            throw new DataValidationException("User ID must be informed.");
+
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable limit = KeysetCursor.limitFor(size);
+
+        List<EvaluationSummary> evaluations = position == null
+            ? evaluationRepository.findFirstSummariesByUser(userId, limit)
+            : evaluationRepository.findSummariesByUserBefore(userId, dateOf(position), position.id(), limit);
+
+        if(position == null && evaluations.isEmpty()) {
+            if(!userRepository.existsById(userId))
+                throw new DataNotFoundException("User not found.");
+            throw new DataNotFoundException("No evaluations found for this user.");
+        }
+
+        return toFeed(evaluations, size);
+    }
+
+    // Helper methods
+    private void applyRatingChange(Evaluation evaluation, int oldRating, Integer newRating) {
+        Long midiaId = evaluation.getMidia().getId();
+        Long userId = evaluation.getUser().getId();
+        RatingDelta delta = newRating == null
+            ? RatingDelta.removed(oldRating)
+            : RatingDelta.changed(oldRating, newRating);
+        LocalDate day = evaluation.getEvaluationDate() == null ? null : evaluation.getEvaluationDate().toLocalDate();
+
+        ratingAggregateService.apply(midiaId, delta);
+        afterCommit(() -> {
+            evictMidiaDetails(midiaId);
+            leaderboardService.record(midiaId, day, delta);
+            recommendationService.recordRating(userId, midiaId, oldRating, newRating);
+        });
+    }
+
+    // Running these before commit would let a concurrent read cache the old aggregate again.
+    private void afterCommit(Runnable action) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void evictMidiaDetails(Long midiaId) {
+        Cache cache = cacheManager.getCache(CacheConfig.MIDIA_DETAILS_CACHE);
+        if(cache != null)
+            cache.evict(midiaId);
+    }
+
+    private void validateRating(Integer rating, boolean required, List<String> errors) {
+        if(rating == null) {
+            if(required)
+                errors.add("Rating must be informed.");
+            return;
+        }
+        if(rating < RatingDelta.MIN_RATING || rating > RatingDelta.MAX_RATING)
+            errors.add("Rating must be between 1 and 5.");
+    }
+
+    private CursorPageResponseDTO<EvaluationDTO> toFeed(List<EvaluationSummary> evaluations, int size) {
+        return KeysetCursor.toResponse(evaluations, size,
+            evaluation -> new EvaluationDTO(evaluation.id(), evaluation.midiaId(), evaluation.midiaTitle(),
+                evaluation.userId(), evaluation.userName(), evaluation.rating(), evaluation.comment(),
+                evaluation.evaluationDate()),
+            evaluation -> new KeysetCursor(evaluation.evaluationDate().toString(), evaluation.id()));
+    }
+
+    private LocalDateTime dateOf(KeysetCursor position) {
+        try {
+            return LocalDateTime.parse(position.sortKey());
+        } catch (DateTimeParseException exception) {
+            throw new DataValidationException("Invalid cursor.");
+        }
+    }
+
+    private Evaluation findOwnEvaluationById(Long id, AuthenticatedUser caller) {
+        if(caller == null)
+            throw new DataValidationException("Authentication token must be informed.");
+
+        Evaluation evaluation = evaluationRepository.findLockedById(id)
+            .orElseThrow(() -> new DataNotFoundException("Evaluation not found."));
+        if(!caller.userId().equals(evaluation.getUser().getId()))
+            throw new ForbiddenException("Users can only change their own evaluations.");
+        return evaluation;
+    }
+
+    private EvaluationResponseDTO toResponseDTO(Evaluation evaluation) {
+        return new EvaluationResponseDTO(
+            evaluation.getId(),
+            evaluation.getMidia().getId(),
+            evaluation.getUser().getId(),
+            evaluation.getRating(),
+            evaluation.getComment(),
+            evaluation.getEvaluationDate(),
+            evaluation.isEnabled());
+    }
 }
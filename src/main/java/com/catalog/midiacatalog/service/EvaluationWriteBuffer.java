@@ -0,0 +1,308 @@
+package com.catalog.midiacatalog.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.catalog.midiacatalog.config.CacheConfig;
+import com.catalog.midiacatalog.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind buffer for new evaluations. Submissions wait in a bounded queue and a single
+ * flusher thread writes them as one JDBC batch once the batch fills up or the flush interval
+ * runs out, applying one coalesced aggregate delta per midia. A full queue rejects new
+ * submissions instead of growing, and whatever is still queued is flushed on shutdown.
+ * Submissions were already acknowledged, so a batch the database cannot take right now is
+ * kept and retried with backoff; only rows the database rejects outright are dropped.
+ */
+@Component
+public class EvaluationWriteBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(EvaluationWriteBuffer.class);
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30_000;
+    private static final long STOP_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final String INSERT_EVALUATION_SQL =
+        "INSERT INTO evaluations (midia_id, user_id, rating, comment, evaluation_date, enabled) "
+      + "VALUES (?, ?, ?, ?, ?, true)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.evaluation-buffer.capacity:10000}")
+    private int capacity;
+
+    @Value("${catalog.evaluation-buffer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${catalog.evaluation-buffer.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    @Value("${catalog.evaluation-buffer.offer-timeout-ms:50}")
+    private long offerTimeoutMillis;
+
+    @Value("${catalog.evaluation-buffer.retry-backoff-ms:100}")
+    private long retryBackoffMillis;
+
+    @Value("${catalog.evaluation-buffer.max-retry-backoff-ms:30000}")
+    private long maxRetryBackoffMillis;
+
+    // Midia/user pairs that are queued or being flushed, so duplicates are caught before they reach the table.
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+
+    // Submitters hold the read side while they check running and enqueue; closing takes the write side,
+    // so once the flusher sees running turn false nothing else can land in the queue behind it.
+    private final ReadWriteLock submissions = new ReentrantReadWriteLock();
+
+    private BlockingQueue<PendingEvaluation> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private Timer flushTimer;
+    private Counter flushedCounter;
+    private Counter rejectedCounter;
+    private Counter failedCounter;
+    private Counter retriedCounter;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("catalog.evaluations.buffer.depth", queue, BlockingQueue::size)
+            .description("Evaluations waiting to be flushed")
+            .register(meterRegistry);
+        flushTimer = Timer.builder("catalog.evaluations.buffer.flush")
+            .description("Time spent writing one batch of evaluations")
+            .register(meterRegistry);
+        flushedCounter = meterRegistry.counter("catalog.evaluations.buffer.flushed");
+        rejectedCounter = meterRegistry.counter("catalog.evaluations.buffer.rejected");
+        failedCounter = meterRegistry.counter("catalog.evaluations.buffer.failed");
+        retriedCounter = meterRegistry.counter("catalog.evaluations.buffer.retried");
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "evaluation-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        closeSubmissions();
+        flusher.join(SHUTDOWN_TIMEOUT_MILLIS);
+        if(flusher.isAlive() || !queue.isEmpty())
+            logger.error("Evaluation buffer did not drain before shutdown, {} evaluations left", queue.size());
+    }
+
+    boolean reserve(Long midiaId, Long userId) {
+        return pendingKeys.add(midiaId + ":" + userId);
+    }
+
+    void release(Long midiaId, Long userId) {
+        pendingKeys.remove(midiaId + ":" + userId);
+    }
+
+    void submit(PendingEvaluation evaluation) {
+        boolean accepted = false;
+        submissions.readLock().lock();
+        try {
+            accepted = running && queue.offer(evaluation, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            submissions.readLock().unlock();
+        }
+
+        if(!accepted) {
+            pendingKeys.remove(evaluation.key());
+            rejectedCounter.increment();
+            throw new ServiceBusyException("Too many evaluations being processed. Try again shortly.");
+        }
+    }
+
+    int depth() {
+        return queue.size();
+    }
+
+    private void runFlusher() {
+        List<PendingEvaluation> batch = new ArrayList<>(batchSize);
+        long backoffMillis = 0;
+
+        // Keeps going after stop() until the queue is drained and the last batch is written.
+        while(running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if(backoffMillis > 0)
+                    Thread.sleep(backoffMillis);
+                collect(batch);
+            } catch (InterruptedException exception) {
+                closeSubmissions();
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+
+            if(batch.isEmpty())
+                continue;
+
+            try {
+                flushTimer.record(() -> flush(batch));
+                backoffMillis = 0;
+            } catch (RuntimeException exception) {
+                backoffMillis = backoffMillis == 0
+                    ? retryBackoffMillis
+                    : Math.min(backoffMillis * 2, maxRetryBackoffMillis);
+                retriedCounter.increment();
+                logger.warn("Could not write {} evaluations, retrying in {} ms: {}",
+                    batch.size(), backoffMillis, exception.getMessage());
+            }
+        }
+    }
+
+    private void closeSubmissions() {
+        submissions.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            submissions.writeLock().unlock();
+        }
+    }
+
+    // Fills the batch until it is full, the interval since its first evaluation runs out, or stop() is called.
+    private void collect(List<PendingEvaluation> batch) throws InterruptedException {
+        long deadline = 0;
+
+        while(running && batch.size() < batchSize) {
+            long waitNanos = STOP_CHECK_NANOS;
+            if(!batch.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                if(remaining <= 0)
+                    return;
+                waitNanos = Math.min(waitNanos, remaining);
+            }
+
+            PendingEvaluation next = queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+            if(next == null)
+                continue;
+            if(batch.isEmpty())
+                deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+
+        queue.drainTo(batch, batchSize - batch.size());
+    }
+
+    // Removes from the batch everything that was written or rejected; anything else thrown leaves the rest for a retry.
+    private void flush(List<PendingEvaluation> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+            written(batch);
+            batch.clear();
+        } catch (DataIntegrityViolationException exception) {
+            logger.warn("Evaluation batch of {} was rejected, retrying one by one: {}",
+                batch.size(), exception.getMostSpecificCause().getMessage());
+
+            Iterator<PendingEvaluation> remaining = batch.iterator();
+            while(remaining.hasNext()) {
+                flushOne(remaining.next());
+                remaining.remove();
+            }
+        }
+    }
+
+    private void flushOne(PendingEvaluation evaluation) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(List.of(evaluation)));
+            written(List.of(evaluation));
+        } catch (DataIntegrityViolationException exception) {
+            pendingKeys.remove(evaluation.key());
+            failedCounter.increment();
+            logger.error("Dropping evaluation of midia {} by user {}: {}", evaluation.midiaId(),
+                evaluation.userId(), exception.getMostSpecificCause().getMessage());
+        }
+    }
+
+    // The rows are committed at this point, so a failure here must not send them back for a retry.
+    private void written(List<PendingEvaluation> evaluations) {
+        flushedCounter.increment(evaluations.size());
+        evaluations.forEach(evaluation -> pendingKeys.remove(evaluation.key()));
+        try {
+            publish(evaluations);
+        } catch (RuntimeException exception) {
+            logger.error("Could not publish {} written evaluations", evaluations.size(), exception);
+        }
+    }
+
+    private void write(List<PendingEvaluation> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        // Sorted by midia id so concurrent writers lock aggregate rows in the same order.
+        Map<Long, RatingDelta> deltas = new TreeMap<>();
+
+        for (PendingEvaluation evaluation : batch) {
+            rows.add(new Object[] {evaluation.midiaId(), evaluation.userId(), evaluation.rating(),
+                evaluation.comment(), Timestamp.valueOf(evaluation.evaluationDate())});
+            deltas.computeIfAbsent(evaluation.midiaId(), midiaId -> new RatingDelta()).add(evaluation.rating());
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_EVALUATION_SQL, rows);
+        deltas.forEach(ratingAggregateService::apply);
+    }
+
+    // Runs once the batch is committed, so readers never see evaluations that could still roll back.
+    private void publish(List<PendingEvaluation> batch) {
+        Cache cache = cacheManager.getCache(CacheConfig.MIDIA_DETAILS_CACHE);
+        if(cache != null)
+            batch.stream().map(PendingEvaluation::midiaId).distinct().forEach(cache::evict);
+
+        batch.forEach(evaluation -> {
+            leaderboardService.record(evaluation.midiaId(),
+                evaluation.evaluationDate().toLocalDate(), RatingDelta.added(evaluation.rating()));
+            recommendationService.recordRating(evaluation.userId(), evaluation.midiaId(), null, evaluation.rating());
+        });
+    }
+}
@@ -0,0 +1,148 @@
+package com.catalog.midiacatalog.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.catalog.midiacatalog.export.ExportFormat;
+import com.catalog.midiacatalog.export.ExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams whole tables straight from a forward-only cursor to the response. Rows are
+ * written as they are read, so heap use does not depend on catalog size.
+ */
+@Service
+public class ExportService {
+
+    static final int FETCH_SIZE = 1000;
+
+    private static final List<String> MIDIA_COLUMNS = Arrays.asList(
+        "id", "title", "type", "releaseYear", "director", "synopsis", "genre", "poseterImageUrl", "actorIds");
+    private static final List<String> ACTOR_COLUMNS = Arrays.asList("id", "name", "birthDate");
+    private static final List<String> USER_COLUMNS = Arrays.asList("id", "name", "email");
+
+    // Ordered by midia id so each midia's cast arrives on consecutive rows and can be folded in one pass.
+    private static final String MIDIAS_SQL =
+        "SELECT m.id, m.title, m.media_type, m.release_year, m.director, m.synopsis, m.genre, m.poster_image_url, "
+      + "ma.actor_id FROM midias m LEFT JOIN midia_actors ma ON ma.midia_id = m.id ORDER BY m.id, ma.actor_id";
+    private static final String ACTORS_SQL = "SELECT id, name, birth_date FROM actors ORDER BY id";
+    private static final String USERS_SQL = "SELECT id, name, email FROM users ORDER BY id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void exportMidias(ExportFormat format, OutputStream out) throws IOException {
+        try (ExportWriter writer = format.open(out, MIDIA_COLUMNS, objectMapper)) {
+            MidiaRowFolder folder = new MidiaRowFolder(writer);
+            stream(MIDIAS_SQL, folder);
+            folder.finish();
+        }
+    }
+
+    public void exportActors(ExportFormat format, OutputStream out) throws IOException {
+        try (ExportWriter writer = format.open(out, ACTOR_COLUMNS, objectMapper)) {
+            stream(ACTORS_SQL, rs -> write(writer, Arrays.asList(
+                rs.getLong("id"),
+                rs.getString("name"),
+                toText(rs.getObject("birth_date", LocalDate.class)))));
+        }
+    }
+
+    public void exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        try (ExportWriter writer = format.open(out, USER_COLUMNS, objectMapper)) {
+            stream(USERS_SQL, rs -> write(writer, Arrays.asList(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("email"))));
+        }
+    }
+
+    // PostgreSQL only honours the fetch size inside a transaction, otherwise the whole result is buffered.
+    private void stream(String sql, RowCallbackHandler handler) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        try {
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, handler));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private static void write(ExportWriter writer, List<?> values) {
+        try {
+            writer.writeRow(values);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static String toText(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static class MidiaRowFolder implements RowCallbackHandler {
+        private final ExportWriter writer;
+        private List<Object> current;
+        private List<Long> actorIds;
+
+        MidiaRowFolder(ExportWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (current == null || !current.get(0).equals(id)) {
+                finish();
+                actorIds = new ArrayList<>();
+                current = new ArrayList<>(Arrays.asList(
+                    id,
+                    rs.getString("title"),
+                    rs.getString("media_type"),
+                    rs.getObject("release_year", Integer.class),
+                    rs.getString("director"),
+                    rs.getString("synopsis"),
+                    rs.getString("genre"),
+                    rs.getString("poster_image_url"),
+                    actorIds));
+            }
+
+            long actorId = rs.getLong("actor_id");
+            if (!rs.wasNull())
+                actorIds.add(actorId);
+        }
+
+        void finish() {
+            if (current != null)
+                write(writer, current);
+            current = null;
+        }
+    }
+}
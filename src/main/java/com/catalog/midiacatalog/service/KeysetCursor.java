@@ -0,0 +1,59 @@
+package com.catalog.midiacatalog.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
+import com.catalog.midiacatalog.exception.DataValidationException;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort key and id of the
+ * last row returned, so the next slice can seek past it instead of using an offset.
+ */
+record KeysetCursor(String sortKey, Long id) {
+
+    static final int MAX_SIZE = 2000;
+
+    String encode() {
+        String raw = id + ":" + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetCursor decode(String token) {
+        if(token == null || token.isBlank())
+            return null;
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new KeysetCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new DataValidationException("Invalid cursor.");
+        }
+    }
+
+    // Fetches one extra row so hasNext can be answered without a count query.
+    static Pageable limitFor(int size) {
+        if(size < 1 || size > MAX_SIZE)
+            throw new DataValidationException("Page size must be between 1 and " + MAX_SIZE + ".");
+        return PageRequest.of(0, size + 1);
+    }
+
+    static <S, T> CursorPageResponseDTO<T> toResponse(List<S> rows, int size, Function<S, T> mapper,
+                                                      Function<S, KeysetCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<S> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+
+        return new CursorPageResponseDTO<>(
+            content.stream().map(mapper).collect(Collectors.toList()),
+            nextCursor,
+            hasNext);
+    }
+}
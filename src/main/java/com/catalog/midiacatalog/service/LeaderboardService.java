@@ -0,0 +1,345 @@
+package com.catalog.midiacatalog.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.catalog.midiacatalog.dto.Leaderboard.LeaderboardDTO;
+import com.catalog.midiacatalog.dto.Leaderboard.LeaderboardEntryDTO;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+import com.catalog.midiacatalog.repository.MidiaRepository;
+import com.catalog.midiacatalog.repository.projection.MidiaSummary;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Highest-rated and most-evaluated midias per type, for all time and for the configured day
+ * windows. Evaluation writes only bump per-midia counters; a background refresh turns them into
+ * immutable top-K lists, so a read is a couple of map lookups. Counters are rebuilt from the
+ * database on startup.
+ */
+@Service
+public class LeaderboardService {
+
+    static final String ALL_TIME = "all";
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private static final String ALL_TIME_SQL =
+        "SELECT m.id, m.media_type, a.rating_count, a.rating_sum FROM midia_rating_aggregates a "
+      + "JOIN midias m ON m.id = a.midia_id WHERE a.rating_count > 0";
+    private static final String DAILY_SQL =
+        "SELECT e.midia_id, m.media_type, CAST(e.evaluation_date AS DATE) AS evaluation_day, "
+      + "COUNT(*) AS rating_count, SUM(e.rating) AS rating_sum FROM evaluations e "
+      + "JOIN midias m ON m.id = e.midia_id WHERE e.enabled = true AND e.evaluation_date >= ? "
+      + "GROUP BY e.midia_id, m.media_type, CAST(e.evaluation_date AS DATE)";
+
+    private static final Comparator<Map.Entry<Long, Stats>> BY_AVERAGE =
+        Comparator.<Map.Entry<Long, Stats>>comparingDouble(entry -> entry.getValue().average())
+            .thenComparingLong(entry -> entry.getValue().count())
+            .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+    private static final Comparator<Map.Entry<Long, Stats>> BY_COUNT =
+        Comparator.<Map.Entry<Long, Stats>>comparingLong(entry -> entry.getValue().count())
+            .thenComparingDouble(entry -> entry.getValue().average())
+            .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MidiaRepository midiaRepository;
+
+    @Value("${catalog.leaderboard.size:10}")
+    private int size;
+
+    @Value("${catalog.leaderboard.window-days:7,30}")
+    private List<Integer> windowDays;
+
+    @Value("${catalog.leaderboard.min-evaluations:3}")
+    private long minEvaluations;
+
+    @Value("${catalog.leaderboard.refresh-interval-ms:5000}")
+    private long refreshIntervalMillis;
+
+    private final Map<Long, Stats> allTime = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Map<Long, Stats>> daily = new ConcurrentHashMap<>();
+    private final Map<Long, Midiatype> types = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Map<Midiatype, LeaderboardDTO>> snapshot = Map.of();
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    void start() {
+        rebuild();
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshQuietly,
+            refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    public LeaderboardDTO getLeaderboard(Midiatype type, String window) {
+        if(type == null)
+            throw new DataValidationException("Midia type must be informed.");
+
+        String key = window == null || window.isBlank() ? ALL_TIME : window.trim().toLowerCase();
+        if(!windowKeys().contains(key))
+            throw new DataValidationException("Leaderboard window must be one of: " + String.join(", ", windowKeys()) + ".");
+
+        LeaderboardDTO leaderboard = snapshot.getOrDefault(key, Map.of()).get(type);
+        return leaderboard != null ? leaderboard : new LeaderboardDTO(type, key, List.of(), List.of());
+    }
+
+    // Called once the evaluation change is committed; day is null for evaluations without a date.
+    void record(Long midiaId, LocalDate day, RatingDelta delta) {
+        Stats change = new Stats(delta.count(), delta.sum());
+        allTime.merge(midiaId, change, Stats::plus);
+        if(day != null && !day.isBefore(oldestTrackedDay()))
+            daily.computeIfAbsent(day, ignored -> new ConcurrentHashMap<>()).merge(midiaId, change, Stats::plus);
+    }
+
+    // Moves an already ranked midia to its new type once the update is committed.
+    void typeChanged(Long midiaId, Midiatype type) {
+        afterCommit(() -> types.replace(midiaId, type));
+    }
+
+    // Drops a deleted midia from every board once the delete is committed. The counters hold every
+    // rated midia loaded from midia_rating_aggregates, so the refresh moves the next ones up.
+    void midiaRemoved(Long midiaId) {
+        afterCommit(() -> forget(midiaId));
+    }
+
+    synchronized void rebuild() {
+        allTime.clear();
+        daily.clear();
+        types.clear();
+
+        jdbcTemplate.query(ALL_TIME_SQL, rs -> {
+            long midiaId = rs.getLong("id");
+            types.put(midiaId, Midiatype.valueOf(rs.getString("media_type")));
+            allTime.put(midiaId, new Stats(rs.getLong("rating_count"), rs.getLong("rating_sum")));
+        });
+
+        jdbcTemplate.query(DAILY_SQL, rs -> {
+            long midiaId = rs.getLong("midia_id");
+            types.put(midiaId, Midiatype.valueOf(rs.getString("media_type")));
+            daily.computeIfAbsent(rs.getObject("evaluation_day", LocalDate.class), ignored -> new ConcurrentHashMap<>())
+                .put(midiaId, new Stats(rs.getLong("rating_count"), rs.getLong("rating_sum")));
+        }, Date.valueOf(oldestTrackedDay()));
+
+        refresh();
+    }
+
+    synchronized void refresh() {
+        LocalDate oldest = oldestTrackedDay();
+        daily.keySet().removeIf(day -> day.isBefore(oldest));
+        resolveUnknownTypes();
+
+        Map<String, Map<Midiatype, Ranking>> rankings = new LinkedHashMap<>();
+        rankings.put(ALL_TIME, rank(allTime));
+        LocalDate today = LocalDate.now();
+        for (int days : windowDays)
+            rankings.put(days + "d", rank(sumDays(today.minusDays(days - 1L), today)));
+
+        Set<Long> rankedIds = new HashSet<>();
+        rankings.values().forEach(byType -> byType.values().forEach(ranking -> {
+            ranking.topRated().forEach(entry -> rankedIds.add(entry.getKey()));
+            ranking.mostEvaluated().forEach(entry -> rankedIds.add(entry.getKey()));
+        }));
+        Map<Long, String> titles = findTitles(rankedIds);
+
+        Map<String, Map<Midiatype, LeaderboardDTO>> next = new HashMap<>();
+        rankings.forEach((window, byType) -> {
+            Map<Midiatype, LeaderboardDTO> leaderboards = new EnumMap<>(Midiatype.class);
+            byType.forEach((type, ranking) -> leaderboards.put(type, new LeaderboardDTO(type, window,
+                toEntries(ranking.topRated(), titles), toEntries(ranking.mostEvaluated(), titles))));
+            next.put(window, Map.copyOf(leaderboards));
+        });
+        snapshot = Map.copyOf(next);
+    }
+
+
+    // Helper methods
+    private void afterCommit(Runnable apply) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    private synchronized void forget(Long midiaId) {
+        allTime.remove(midiaId);
+        daily.values().forEach(stats -> stats.remove(midiaId));
+        types.remove(midiaId);
+        refreshQuietly();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException exception) {
+            logger.warn("Leaderboard refresh failed: {}", exception.getMessage());
+        }
+    }
+
+    private List<String> windowKeys() {
+        List<String> keys = new ArrayList<>();
+        keys.add(ALL_TIME);
+        windowDays.forEach(days -> keys.add(days + "d"));
+        return keys;
+    }
+
+    private LocalDate oldestTrackedDay() {
+        int longest = windowDays.stream().mapToInt(Integer::intValue).max().orElse(1);
+        return LocalDate.now().minusDays(longest - 1L);
+    }
+
+    private Map<Long, Stats> sumDays(LocalDate from, LocalDate to) {
+        Map<Long, Stats> totals = new HashMap<>();
+        daily.forEach((day, stats) -> {
+            if(!day.isBefore(from) && !day.isAfter(to))
+                stats.forEach((midiaId, dayStats) -> totals.merge(midiaId, dayStats, Stats::plus));
+        });
+        return totals;
+    }
+
+    // Keeps only the best K per type in a min-heap, so ranking is O(n log K).
+    private Map<Midiatype, Ranking> rank(Map<Long, Stats> stats) {
+        Map<Midiatype, PriorityQueue<Map.Entry<Long, Stats>>> topRated = new EnumMap<>(Midiatype.class);
+        Map<Midiatype, PriorityQueue<Map.Entry<Long, Stats>>> mostEvaluated = new EnumMap<>(Midiatype.class);
+        for (Midiatype type : Midiatype.values()) {
+            topRated.put(type, new PriorityQueue<>(BY_AVERAGE));
+            mostEvaluated.put(type, new PriorityQueue<>(BY_COUNT));
+        }
+
+        for (Map.Entry<Long, Stats> entry : stats.entrySet()) {
+            Midiatype type = types.get(entry.getKey());
+            long count = entry.getValue().count();
+            if(type == null || count <= 0)
+                continue;
+
+            Map.Entry<Long, Stats> candidate = Map.entry(entry.getKey(), entry.getValue());
+            offer(mostEvaluated.get(type), candidate, BY_COUNT);
+            if(count >= minEvaluations)
+                offer(topRated.get(type), candidate, BY_AVERAGE);
+        }
+
+        Map<Midiatype, Ranking> rankings = new EnumMap<>(Midiatype.class);
+        for (Midiatype type : Midiatype.values())
+            rankings.put(type, new Ranking(descending(topRated.get(type), BY_AVERAGE),
+                                           descending(mostEvaluated.get(type), BY_COUNT)));
+        return rankings;
+    }
+
+    private void offer(PriorityQueue<Map.Entry<Long, Stats>> heap, Map.Entry<Long, Stats> candidate,
+                       Comparator<Map.Entry<Long, Stats>> order) {
+        if(heap.size() < size) {
+            heap.add(candidate);
+        } else if(order.compare(candidate, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    private List<Map.Entry<Long, Stats>> descending(PriorityQueue<Map.Entry<Long, Stats>> heap,
+                                                    Comparator<Map.Entry<Long, Stats>> order) {
+        List<Map.Entry<Long, Stats>> entries = new ArrayList<>(heap);
+        entries.sort(order.reversed());
+        return entries;
+    }
+
+    // Midias first rated after the last rebuild have no known type yet; deleted ones are dropped.
+    private void resolveUnknownTypes() {
+        Set<Long> unknown = new HashSet<>();
+        allTime.keySet().stream().filter(id -> !types.containsKey(id)).forEach(unknown::add);
+        daily.values().forEach(stats -> stats.keySet().stream()
+            .filter(id -> !types.containsKey(id)).forEach(unknown::add));
+        if(unknown.isEmpty())
+            return;
+
+        Map<Long, MidiaSummary> found = findSummaries(unknown);
+        for (Long midiaId : unknown) {
+            MidiaSummary midia = found.get(midiaId);
+            if(midia != null) {
+                types.put(midiaId, midia.type());
+            } else {
+                allTime.remove(midiaId);
+                daily.values().forEach(stats -> stats.remove(midiaId));
+            }
+        }
+    }
+
+    private Map<Long, String> findTitles(Set<Long> midiaIds) {
+        return findSummaries(midiaIds).values().stream()
+            .collect(Collectors.toMap(MidiaSummary::id, MidiaSummary::title));
+    }
+
+    private Map<Long, MidiaSummary> findSummaries(Set<Long> midiaIds) {
+        List<Long> ids = new ArrayList<>(midiaIds);
+        Map<Long, MidiaSummary> summaries = new HashMap<>();
+        for (int start = 0; start < ids.size(); start += ID_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(start, Math.min(start + ID_CHUNK_SIZE, ids.size()));
+            midiaRepository.findSummariesByIdIn(chunk).forEach(midia -> summaries.put(midia.id(), midia));
+        }
+        return summaries;
+    }
+
+    private List<LeaderboardEntryDTO> toEntries(List<Map.Entry<Long, Stats>> ranking, Map<Long, String> titles) {
+        return ranking.stream()
+            .filter(entry -> titles.containsKey(entry.getKey()))
+            .map(entry -> new LeaderboardEntryDTO(entry.getKey(), titles.get(entry.getKey()),
+                entry.getValue().count(), entry.getValue().average()))
+            .collect(Collectors.toUnmodifiableList());
+    }
+
+    private record Stats(long count, long sum) {
+        Stats plus(Stats other) {
+            return new Stats(count + other.count, sum + other.sum);
+        }
+
+        double average() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+    }
+
+    private record Ranking(List<Map.Entry<Long, Stats>> topRated, List<Map.Entry<Long, Stats>> mostEvaluated) {}
+}
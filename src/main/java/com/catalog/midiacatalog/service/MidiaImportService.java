@@ -0,0 +1,186 @@
+package com.catalog.midiacatalog.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.catalog.midiacatalog.dto.Midia.MidiaImportErrorDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaImportResultDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaRegistrationDTO;
+import com.catalog.midiacatalog.repository.ActorRepository;
+
+/**
+ * Bulk ingestion path for partner catalogs. Rows are consumed in batches: actor ids are
+ * resolved once per batch and midias/midia_actors are written as JDBC batches, bypassing
+ * Hibernate, which cannot batch inserts on IDENTITY ids.
+ */
+@Service
+public class MidiaImportService {
+
+    static final int BATCH_SIZE = 500;
+    private static final int ACTOR_ID_CHUNK_SIZE = 1000;
+
+    private static final String RESERVE_IDS_SQL =
+        "SELECT nextval(pg_get_serial_sequence('midias', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_MIDIA_SQL =
+        "INSERT INTO midias (id, title, media_type, release_year, director, synopsis, genre, poster_image_url, enabled) "
+      + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, true)";
+    private static final String INSERT_MIDIA_ACTOR_SQL =
+        "INSERT INTO midia_actors (midia_id, actor_id) VALUES (?, ?)";
+    private static final String INSERT_RATING_AGGREGATE_SQL =
+        "INSERT INTO midia_rating_aggregates (midia_id, rating_count, rating_sum, one_star, two_stars, three_stars, "
+      + "four_stars, five_stars) VALUES (?, 0, 0, 0, 0, 0, 0, 0)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ActorRepository actorRepository;
+
+    @Autowired
+    private CastGraphService castGraphService;
+
+    @Autowired
+    private ActorMidiasCache actorMidiasCache;
+
+    public MidiaImportResultDTO importMidias(Iterator<MidiaRegistrationDTO> midias) {
+        MidiaImportResultDTO result = new MidiaImportResultDTO();
+        List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+
+        while (midias.hasNext()) {
+            result.setReceived(result.getReceived() + 1);
+            batch.add(new ImportRow(result.getReceived(), midias.next()));
+
+            if (batch.size() == BATCH_SIZE) {
+                importBatch(batch, result);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty())
+            importBatch(batch, result);
+
+        return result;
+    }
+
+    private void importBatch(List<ImportRow> batch, MidiaImportResultDTO result) {
+        List<ImportRow> validRows = new ArrayList<>();
+        for (ImportRow row : batch) {
+            List<String> errors = validate(row.midia());
+            if (errors.isEmpty())
+                validRows.add(row);
+            else
+                result.getErrors().add(new MidiaImportErrorDTO(row.number(), errors));
+        }
+
+        Set<Long> existingActorIds = findExistingActorIds(validRows);
+        List<ImportRow> rowsToInsert = new ArrayList<>();
+        for (ImportRow row : validRows) {
+            List<Long> notFoundActorIds = actorIdsOf(row.midia()).stream()
+                .filter(actorId -> !existingActorIds.contains(actorId))
+                .collect(Collectors.toList());
+
+            if (notFoundActorIds.isEmpty())
+                rowsToInsert.add(row);
+            else
+                result.getErrors().add(new MidiaImportErrorDTO(row.number(),
+                    List.of("The following actor IDs were not found: " + notFoundActorIds)));
+        }
+
+        if (rowsToInsert.isEmpty())
+            return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(rowsToInsert));
+            result.setImported(result.getImported() + rowsToInsert.size());
+        } catch (DataAccessException exception) {
+            String message = "Batch insert failed: " + exception.getMostSpecificCause().getMessage();
+            rowsToInsert.forEach(row -> result.getErrors().add(new MidiaImportErrorDTO(row.number(), List.of(message))));
+        }
+    }
+
+    private void insertBatch(List<ImportRow> rows) {
+        List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, rows.size());
+
+        List<Object[]> midiaArgs = new ArrayList<>(rows.size());
+        List<Object[]> midiaActorArgs = new ArrayList<>();
+        List<Object[]> ratingAggregateArgs = new ArrayList<>(rows.size());
+        List<Long> castMidiaIds = new ArrayList<>();
+        Set<Long> castActorIds = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            MidiaRegistrationDTO midia = rows.get(i).midia();
+            Long id = ids.get(i);
+            midiaArgs.add(new Object[] {
+                id, midia.getTitle(), midia.getType().name(), midia.getReleaseYear(), midia.getDirector(),
+                midia.getSynopsis(), midia.getGenre(), midia.getPoseterImageUrl()});
+            ratingAggregateArgs.add(new Object[] {id});
+            Set<Long> actorIds = actorIdsOf(midia);
+            for (Long actorId : actorIds)
+                midiaActorArgs.add(new Object[] {id, actorId});
+            if (!actorIds.isEmpty())
+                castMidiaIds.add(id);
+            castActorIds.addAll(actorIds);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_MIDIA_SQL, midiaArgs);
+        if (!midiaActorArgs.isEmpty())
+            jdbcTemplate.batchUpdate(INSERT_MIDIA_ACTOR_SQL, midiaActorArgs);
+        jdbcTemplate.batchUpdate(INSERT_RATING_AGGREGATE_SQL, ratingAggregateArgs);
+        castGraphService.castsChanged(castMidiaIds);
+        actorMidiasCache.evictAfterCommit(castActorIds);
+    }
+
+    private List<String> validate(MidiaRegistrationDTO midia) {
+        List<String> errors = new ArrayList<>();
+
+        if (midia == null) {
+            errors.add("Midia data must be informed.");
+            return errors;
+        }
+        if (midia.getTitle() == null || midia.getTitle().trim().isEmpty())
+            errors.add("Midia title must be informed.");
+        if (midia.getType() == null)
+            errors.add("Midia type must be informed.");
+        if (midia.getActorIds() != null && midia.getActorIds().contains(null))
+            errors.add("Actor IDs cannot be null.");
+
+        return errors;
+    }
+
+    private Set<Long> findExistingActorIds(List<ImportRow> rows) {
+        List<Long> actorIds = new ArrayList<>(rows.stream()
+            .flatMap(row -> actorIdsOf(row.midia()).stream())
+            .collect(Collectors.toCollection(LinkedHashSet::new)));
+
+        Set<Long> existing = new HashSet<>();
+        for (int start = 0; start < actorIds.size(); start += ACTOR_ID_CHUNK_SIZE) {
+            List<Long> chunk = actorIds.subList(start, Math.min(start + ACTOR_ID_CHUNK_SIZE, actorIds.size()));
+            existing.addAll(actorRepository.findExistingIds(chunk));
+        }
+        return existing;
+    }
+
+    private Set<Long> actorIdsOf(MidiaRegistrationDTO midia) {
+        if (midia.getActorIds() == null)
+            return Set.of();
+        return midia.getActorIds().stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private record ImportRow(int number, MidiaRegistrationDTO midia) {}
+}
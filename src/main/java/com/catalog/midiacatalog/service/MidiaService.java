@@ -1,15 +1,28 @@
 package com.catalog.midiacatalog.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.catalog.midiacatalog.config.CacheConfig;
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
+import com.catalog.midiacatalog.dto.Actor.ActorSimpleDTO;
 import com.catalog.midiacatalog.dto.Midia.DetailedMidiaResponseDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaFilterDTO;
 import com.catalog.midiacatalog.dto.Midia.MidiaRegistrationDTO;
 import com.catalog.midiacatalog.dto.Midia.MidiaResponseDTO;
 import com.catalog.midiacatalog.dto.Midia.MidiaUpdateDTO;
@@ -19,16 +32,36 @@ import com.catalog.midiacatalog.model.Actor;
 import com.catalog.midiacatalog.model.Midia;
 import com.catalog.midiacatalog.repository.ActorRepository;
 import com.catalog.midiacatalog.repository.MidiaRepository;
+import com.catalog.midiacatalog.repository.MidiaSpecifications;
+import com.catalog.midiacatalog.repository.projection.MidiaActorSummary;
+import com.catalog.midiacatalog.repository.projection.MidiaSummary;
 
 @Service
 public class MidiaService {
 
+    private static final int ACTOR_ID_CHUNK_SIZE = 1000;
+
     @Autowired
     private MidiaRepository midiaRepository;
 
     @Autowired
     private ActorRepository actorRepository;
 
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private CastGraphService castGraphService;
+
+    @Autowired
+    private ActorMidiasCache actorMidiasCache;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
     public MidiaResponseDTO register(MidiaRegistrationDTO newMidia) {
         if(newMidia == null)
             throw new DataValidationException("Midia data must be informed.");
@@ -46,33 +79,24 @@ public class MidiaService {
         
         List<Actor> actors = new ArrayList<>();
 
-        if (newMidia.getActorIds() != null && !newMidia.getActorIds().isEmpty()) {
-            List<Long> notFoundActorIds = new ArrayList<>();
-            
-            for (Long actorId : newMidia.getActorIds()) {
-                Optional<Actor> actorOpt = actorRepository.findById(actorId);
-                if (actorOpt.isPresent()) {
-                    actors.add(actorOpt.get());
-                } else {
-                    notFoundActorIds.add(actorId);
-                }
-            }
-            
-            if (!notFoundActorIds.isEmpty()) {
-                throw new DataNotFoundException("The following actor IDs were not found: " + notFoundActorIds);
-            }
-            
-        }
+        if (newMidia.getActorIds() != null && !newMidia.getActorIds().isEmpty())
+            actors = findActorsByIds(newMidia.getActorIds());
 
         Midia midia = new Midia(newMidia.getTitle(), newMidia.getType(), newMidia.getReleaseYear(),
                                 newMidia.getDirector(), newMidia.getSynopsis(), newMidia.getGenre(),
                                 newMidia.getPoseterImageUrl(), actors);
         
         midia = midiaRepository.save(midia);
+        ratingAggregateService.initialize(midia.getId());
+        if(!actors.isEmpty()) {
+            castGraphService.castsChanged(List.of(midia.getId()));
+            actorMidiasCache.evictAfterCommit(actors.stream().map(Actor::getId).toList());
+        }
 
         return new MidiaResponseDTO(midia.getId(), midia.getTitle(), midia.getType());
     }
 
+    @CacheEvict(cacheNames = CacheConfig.MIDIA_DETAILS_CACHE, key = "#id", condition = "#id != null")
     public MidiaResponseDTO remove(Long id) {
         if(id == null)
             throw new DataValidationException("Midia ID must be informed.");
@@ -82,10 +106,16 @@ public class MidiaService {
             throw new DataNotFoundException("No midia found for this ID.");
 
         Midia midia = midiaFound.get();
+        List<Long> castIds = findCastIds(id);
         midiaRepository.deleteById(id);
+        castGraphService.castsChanged(List.of(id));
+        actorMidiasCache.evictAfterCommit(castIds);
+        leaderboardService.midiaRemoved(id);
+        recommendationService.midiaRemoved(id);
         return new MidiaResponseDTO(midia.getId(), midia.getTitle(), midia.getType());
     }
 
+    @CacheEvict(cacheNames = CacheConfig.MIDIA_DETAILS_CACHE, key = "#id", condition = "#id != null")
     public MidiaResponseDTO update(Long id, MidiaUpdateDTO midiaInfo){
         if(id == null)
             throw new DataValidationException("Midia ID must be informed.");
@@ -101,6 +131,7 @@ public class MidiaService {
         if(midiaInfo.getTitle() != null && !midiaInfo.getTitle().trim().isEmpty())
             midia.setTitle(midiaInfo.getTitle());
             
+        boolean typeChanged = midiaInfo.getType() != null && midiaInfo.getType() != midia.getType();
         if(midiaInfo.getType() != null)
             midia.setType(midiaInfo.getType());
             
@@ -119,60 +150,174 @@ public class MidiaService {
         if(midiaInfo.getPoseterImageUrl() != null)
             midia.setPoseterImageUrl(midiaInfo.getPoseterImageUrl());
         
+        List<Long> affectedActorIds = new ArrayList<>();
         if (midiaInfo.getActorIds() != null) {
+            affectedActorIds.addAll(findCastIds(id));
             if (midiaInfo.getActorIds().isEmpty()) {
                 midia.setActors(new ArrayList<>());
             } else {
-                List<Actor> actors = new ArrayList<>();
-                List<Long> notFoundActorIds = new ArrayList<>();
-                
-                for (Long actorId : midiaInfo.getActorIds()) {
-                    Optional<Actor> actorOpt = actorRepository.findById(actorId);
-                    if (actorOpt.isPresent()) {
-                        actors.add(actorOpt.get());
-                    } else {
-                        notFoundActorIds.add(actorId);
-                    }
-                }
-                
-                if (!notFoundActorIds.isEmpty()) {
-                    throw new DataNotFoundException("The following actor IDs were not found: " + notFoundActorIds);
-                }
-                
-                midia.setActors(actors);
+                midia.setActors(findActorsByIds(midiaInfo.getActorIds()));
             }
         }
         
         midiaRepository.save(midia);
+        if(midiaInfo.getActorIds() != null) {
+            castGraphService.castsChanged(List.of(id));
+            midia.getActors().forEach(actor -> affectedActorIds.add(actor.getId()));
+            actorMidiasCache.evictAfterCommit(affectedActorIds);
+        }
+        if(typeChanged)
+            leaderboardService.typeChanged(id, midia.getType());
         
         return new MidiaResponseDTO(midia.getId(), midia.getTitle(), midia.getType());
     }
 
+    @Cacheable(cacheNames = CacheConfig.MIDIA_DETAILS_CACHE, key = "#id", condition = "#id != null")
     public DetailedMidiaResponseDTO getMidia(Long id) {
         if(id == null)
             throw new DataValidationException("Midia id must be informed.");
         
-        Optional<Midia> midiaFound = midiaRepository.findById(id);
+        Optional<Midia> midiaFound = midiaRepository.findWithActorsById(id);
         if(!midiaFound.isPresent())
             throw new DataNotFoundException("Midia not found.");
 
         Midia midia = midiaFound.get();
-        return new DetailedMidiaResponseDTO(
+        DetailedMidiaResponseDTO midiaDTO = new DetailedMidiaResponseDTO(
             midia.getId(), midia.getTitle(), midia.getType(), midia.getReleaseYear(),
             midia.getDirector(), midia.getSynopsis(), midia.getGenre(),
             midia.getPoseterImageUrl(), midia.getActors() );
+        midiaDTO.setRating(ratingAggregateService.getSummary(midia.getId()));
+        return midiaDTO;
     }
 
     public Page<DetailedMidiaResponseDTO> getAllMidias(Pageable pageable) {
-        Page<Midia> midias = midiaRepository.findAll(pageable);
+        Page<MidiaSummary> midias = midiaRepository.findAllSummaries(pageable);
 
         if(midias.isEmpty())
             throw new DataNotFoundException("No users found in database.");
+
+        Map<Long, List<ActorSimpleDTO>> actorsByMidiaId = findActorsByMidias(midias.getContent());
         
-        return midias.map(midia -> new DetailedMidiaResponseDTO(
-            midia.getId(), midia.getTitle(), midia.getType(), midia.getReleaseYear(),
-            midia.getDirector(), midia.getSynopsis(), midia.getGenre(),
-            midia.getPoseterImageUrl(), midia.getActors()
-            ));
+        return midias.map(midia -> toDetailedMidiaDTO(midia, actorsByMidiaId));
+    }
+
+    public CursorPageResponseDTO<DetailedMidiaResponseDTO> getAllMidiasAfter(String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable limit = KeysetCursor.limitFor(size);
+
+        List<MidiaSummary> midias = position == null
+            ? midiaRepository.findFirstSummaries(limit)
+            : midiaRepository.findSummariesAfter(position.sortKey(), position.id(), limit);
+
+        if(position == null && midias.isEmpty())
+            throw new DataNotFoundException("No midias found in database.");
+
+        Map<Long, List<ActorSimpleDTO>> actorsByMidiaId = findActorsByMidias(midias);
+
+        return KeysetCursor.toResponse(midias, size,
+            midia -> toDetailedMidiaDTO(midia, actorsByMidiaId),
+            midia -> new KeysetCursor(midia.title(), midia.id()));
+    }
+
+    public Page<DetailedMidiaResponseDTO> search(String query, Pageable pageable) {
+        if(query == null || query.trim().isEmpty())
+            throw new DataValidationException("Search query must be informed.");
+
+        // Results are ordered by relevance, so any requested sort is ignored.
+        Pageable rankedPage = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Long> midiaIds = midiaRepository.searchIds(query.trim(), rankedPage);
+
+        if(midiaIds.isEmpty())
+            throw new DataNotFoundException("No midias found for this search.");
+
+        Map<Long, MidiaSummary> midiasById = midiaRepository.findSummariesByIdIn(midiaIds.getContent()).stream()
+            .collect(Collectors.toMap(MidiaSummary::id, midia -> midia));
+        Map<Long, List<ActorSimpleDTO>> actorsByMidiaId = findActorsByMidias(new ArrayList<>(midiasById.values()));
+
+        // A midia deleted between the two queries is left out of the page.
+        List<DetailedMidiaResponseDTO> results = midiaIds.getContent().stream()
+            .filter(midiasById::containsKey)
+            .map(midiaId -> toDetailedMidiaDTO(midiasById.get(midiaId), actorsByMidiaId))
+            .collect(Collectors.toList());
+        return new PageImpl<>(results, midiaIds.getPageable(), midiaIds.getTotalElements());
+    }
+
+    public Page<DetailedMidiaResponseDTO> filter(MidiaFilterDTO filter, Pageable pageable) {
+        if(filter == null)
+            throw new DataValidationException("Midia filter must be informed.");
+
+        if(filter.getReleaseYearFrom() != null && filter.getReleaseYearTo() != null &&
+           filter.getReleaseYearFrom() > filter.getReleaseYearTo())
+            throw new DataValidationException("Release year range start cannot be after its end.");
+
+        Page<MidiaSummary> midias = midiaRepository.findBy(MidiaSpecifications.matching(filter),
+            query -> query.as(MidiaSummary.class).page(pageable));
+
+        if(midias.isEmpty())
+            throw new DataNotFoundException("No midias found for this filter.");
+
+        Map<Long, List<ActorSimpleDTO>> actorsByMidiaId = findActorsByMidias(midias.getContent());
+
+        return midias.map(midia -> toDetailedMidiaDTO(midia, actorsByMidiaId));
+    }
+
+    // Helper methods
+    private Map<Long, List<ActorSimpleDTO>> findActorsByMidias(List<MidiaSummary> midias) {
+        if(midias.isEmpty())
+            return new HashMap<>();
+
+        List<Long> midiaIds = midias.stream()
+            .map(MidiaSummary::id)
+            .collect(Collectors.toList());
+
+        return midiaRepository.findActorSummariesByMidiaIdIn(midiaIds).stream()
+            .collect(Collectors.groupingBy(MidiaActorSummary::midiaId,
+                Collectors.mapping(actor -> new ActorSimpleDTO(actor.actorId(), actor.actorName()), Collectors.toList())));
+    }
+
+    private DetailedMidiaResponseDTO toDetailedMidiaDTO(MidiaSummary midia, Map<Long, List<ActorSimpleDTO>> actorsByMidiaId) {
+        DetailedMidiaResponseDTO midiaDTO = new DetailedMidiaResponseDTO(
+            midia.id(), midia.title(), midia.type(), midia.releaseYear(),
+            midia.director(), null, midia.genre(),
+            midia.poseterImageUrl(), null);
+        midiaDTO.setActors(actorsByMidiaId.getOrDefault(midia.id(), new ArrayList<>()));
+        return midiaDTO;
+    }
+
+    private List<Long> findCastIds(Long midiaId) {
+        return midiaRepository.findActorSummariesByMidiaIdIn(List.of(midiaId)).stream()
+            .map(MidiaActorSummary::actorId)
+            .collect(Collectors.toList());
+    }
+
+    private List<Actor> findActorsByIds(List<Long> actorIds) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(actorIds));
+        List<Long> queryIds = distinctIds.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+
+        Map<Long, Actor> actorsFound = new HashMap<>();
+        for (int start = 0; start < queryIds.size(); start += ACTOR_ID_CHUNK_SIZE) {
+            List<Long> chunk = queryIds.subList(start, Math.min(start + ACTOR_ID_CHUNK_SIZE, queryIds.size()));
+            for (Actor actor : actorRepository.findAllById(chunk))
+                actorsFound.put(actor.getId(), actor);
+        }
+
+        List<Actor> actors = new ArrayList<>();
+        List<Long> notFoundActorIds = new ArrayList<>();
+
+        for (Long actorId : distinctIds) {
+            Actor actor = actorsFound.get(actorId);
+            if (actor != null) {
+                actors.add(actor);
+            } else {
+                notFoundActorIds.add(actorId);
+            }
+        }
+
+        if (!notFoundActorIds.isEmpty())
+            throw new DataNotFoundException("The following actor IDs were not found: " + notFoundActorIds);
+
+        return actors;
     }
 }
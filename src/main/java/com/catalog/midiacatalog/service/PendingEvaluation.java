@@ -0,0 +1,10 @@
+package com.catalog.midiacatalog.service;
+
+import java.time.LocalDateTime;
+
+record PendingEvaluation(Long midiaId, Long userId, int rating, String comment, LocalDateTime evaluationDate) {
+
+    String key() {
+        return midiaId + ":" + userId;
+    }
+}
@@ -0,0 +1,57 @@
+package com.catalog.midiacatalog.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.catalog.midiacatalog.dto.Midia.RatingSummaryDTO;
+import com.catalog.midiacatalog.model.MidiaRatingAggregate;
+import com.catalog.midiacatalog.repository.MidiaRatingAggregateRepository;
+
+/**
+ * Keeps count, sum and a per-star histogram for each midia, so averages are read from a single
+ * row instead of scanning evaluations. Callers pass net deltas inside their own transaction.
+ */
+@Service
+public class RatingAggregateService {
+
+    @Autowired
+    private MidiaRatingAggregateRepository ratingAggregateRepository;
+
+    public void initialize(Long midiaId) {
+        ratingAggregateRepository.save(new MidiaRatingAggregate(midiaId));
+    }
+
+    void apply(Long midiaId, RatingDelta delta) {
+        if (delta.isEmpty())
+            return;
+
+        int updated = ratingAggregateRepository.applyDelta(midiaId, delta.count(), delta.sum(),
+            delta.bucket(1), delta.bucket(2), delta.bucket(3), delta.bucket(4), delta.bucket(5));
+
+        // Midias are created with an empty aggregate; this only covers rows that predate it.
+        if (updated == 0)
+            ratingAggregateRepository.save(new MidiaRatingAggregate(midiaId, delta.count(), delta.sum(),
+                delta.bucket(1), delta.bucket(2), delta.bucket(3), delta.bucket(4), delta.bucket(5)));
+    }
+
+    public RatingSummaryDTO getSummary(Long midiaId) {
+        MidiaRatingAggregate aggregate = ratingAggregateRepository.findById(midiaId)
+            .orElseGet(() -> new MidiaRatingAggregate(midiaId));
+
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, aggregate.getOneStar());
+        histogram.put(2, aggregate.getTwoStars());
+        histogram.put(3, aggregate.getThreeStars());
+        histogram.put(4, aggregate.getFourStars());
+        histogram.put(5, aggregate.getFiveStars());
+
+        Double average = aggregate.getRatingCount() == 0
+            ? null
+            : (double) aggregate.getRatingSum() / aggregate.getRatingCount();
+
+        return new RatingSummaryDTO(aggregate.getRatingCount(), average, histogram);
+    }
+}
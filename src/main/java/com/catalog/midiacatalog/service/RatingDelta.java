@@ -0,0 +1,75 @@
+package com.catalog.midiacatalog.service;
+
+/**
+ * Net change to one midia's rating aggregate. Deltas for the same midia can be merged, so
+ * any number of evaluation writes collapse into a single aggregate update.
+ */
+final class RatingDelta {
+
+    static final int MIN_RATING = 1;
+    static final int MAX_RATING = 5;
+
+    private long count;
+    private long sum;
+    private final long[] buckets = new long[MAX_RATING];
+
+    static RatingDelta added(int rating) {
+        RatingDelta delta = new RatingDelta();
+        delta.add(rating);
+        return delta;
+    }
+
+    static RatingDelta removed(int rating) {
+        RatingDelta delta = new RatingDelta();
+        delta.remove(rating);
+        return delta;
+    }
+
+    static RatingDelta changed(int oldRating, int newRating) {
+        RatingDelta delta = new RatingDelta();
+        delta.remove(oldRating);
+        delta.add(newRating);
+        return delta;
+    }
+
+    void add(int rating) {
+        count++;
+        sum += rating;
+        buckets[rating - MIN_RATING]++;
+    }
+
+    void remove(int rating) {
+        count--;
+        sum -= rating;
+        buckets[rating - MIN_RATING]--;
+    }
+
+    void merge(RatingDelta other) {
+        count += other.count;
+        sum += other.sum;
+        for (int i = 0; i < buckets.length; i++)
+            buckets[i] += other.buckets[i];
+    }
+
+    boolean isEmpty() {
+        if (count != 0 || sum != 0)
+            return false;
+        for (long bucket : buckets) {
+            if (bucket != 0)
+                return false;
+        }
+        return true;
+    }
+
+    long count() {
+        return count;
+    }
+
+    long sum() {
+        return sum;
+    }
+
+    long bucket(int rating) {
+        return buckets[rating - MIN_RATING];
+    }
+}
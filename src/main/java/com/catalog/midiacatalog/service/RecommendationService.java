@@ -0,0 +1,261 @@
+package com.catalog.midiacatalog.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.catalog.midiacatalog.dto.Midia.SimilarMidiaDTO;
+import com.catalog.midiacatalog.exception.DataNotFoundException;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.recommendation.LikeMatrix;
+import com.catalog.midiacatalog.recommendation.LikeMatrix.LikeChange;
+import com.catalog.midiacatalog.recommendation.SimilarityIndex;
+import com.catalog.midiacatalog.recommendation.SimilarityIndexBuilder;
+import com.catalog.midiacatalog.repository.MidiaRepository;
+import com.catalog.midiacatalog.repository.projection.MidiaSummary;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * "Users who liked this also liked" lists. An evaluation at or above the like threshold counts
+ * as a like; the full like matrix is loaded once at startup, and afterwards
+ * committed evaluation changes are queued and folded in on every refresh, recomputing only the
+ * neighbour rows they can affect.
+ */
+@Service
+public class RecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String LIKES_SQL =
+        "SELECT user_id, midia_id FROM evaluations WHERE enabled = true AND rating >= ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MidiaRepository midiaRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.recommendations.neighbours:20}")
+    private int neighbours;
+
+    @Value("${catalog.recommendations.like-rating:4}")
+    private int likeRating;
+
+    @Value("${catalog.recommendations.min-co-likes:2}")
+    private int minCoLikes;
+
+    @Value("${catalog.recommendations.max-likes-per-user:1000}")
+    private int maxLikesPerUser;
+
+    @Value("${catalog.recommendations.refresh-interval-ms:60000}")
+    private long refreshIntervalMillis;
+
+    @Value("${catalog.recommendations.parallelism:0}")
+    private int parallelism;
+
+    // Latest liked state per user/midia pair since the last refresh.
+    private final Map<LikeChange, Boolean> pendingChanges = new ConcurrentHashMap<>();
+
+    private volatile LikeMatrix likes = LikeMatrix.empty();
+    private volatile SimilarityIndex index;
+
+    private ForkJoinPool pool;
+    private SimilarityIndexBuilder builder;
+    private ScheduledExecutorService refresher;
+    private Timer buildTimer;
+
+    @PostConstruct
+    void start() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        builder = new SimilarityIndexBuilder(neighbours, minCoLikes, maxLikesPerUser, pool);
+        index = SimilarityIndex.empty(neighbours);
+
+        buildTimer = Timer.builder("catalog.recommendations.build")
+            .description("Time spent building or refreshing the similarity index")
+            .register(meterRegistry);
+        Gauge.builder("catalog.recommendations.memory", this, service -> service.memoryBytes())
+            .baseUnit("bytes")
+            .description("Memory held by the like matrix and similarity index")
+            .register(meterRegistry);
+
+        rebuild();
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "recommendation-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshQuietly,
+            refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    public List<SimilarMidiaDTO> getSimilar(Long midiaId, int size) {
+        if(midiaId == null)
+            throw new DataValidationException("Midia ID must be informed.");
+        if(size < 1 || size > neighbours)
+            throw new DataValidationException("Size must be between 1 and " + neighbours + ".");
+
+        SimilarityIndex current = index;
+        int count = Math.min(size, current.neighbourCount(midiaId));
+        if(count == 0) {
+            if(!midiaRepository.existsById(midiaId))
+                throw new DataNotFoundException("Midia not found.");
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(count);
+        for (int rank = 0; rank < count; rank++)
+            ids.add(current.neighbour(midiaId, rank));
+        Map<Long, MidiaSummary> midias = midiaRepository.findSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(MidiaSummary::id, Function.identity()));
+
+        List<SimilarMidiaDTO> similar = new ArrayList<>(count);
+        for (int rank = 0; rank < count; rank++) {
+            MidiaSummary midia = midias.get(ids.get(rank));
+            if(midia != null)
+                similar.add(new SimilarMidiaDTO(midia.id(), midia.title(), current.score(midiaId, rank)));
+        }
+        return similar;
+    }
+
+    // Called once an evaluation change is committed; a null rating means there is none.
+    void recordRating(Long userId, Long midiaId, Integer oldRating, Integer newRating) {
+        boolean wasLiked = oldRating != null && oldRating >= likeRating;
+        boolean isLiked = newRating != null && newRating >= likeRating;
+        if(wasLiked != isLiked)
+            pendingChanges.put(new LikeChange(userId, midiaId), isLiked);
+    }
+
+    // Queues every like of a deleted midia as withdrawn once the delete is committed, so it leaves
+    // its neighbours' lists on the next refresh instead of waiting for a rebuild.
+    void midiaRemoved(Long midiaId) {
+        Runnable apply = () -> {
+            pendingChanges.keySet().stream().filter(change -> change.midiaId() == midiaId)
+                .forEach(change -> pendingChanges.put(change, false));
+            for (long userId : likes.usersWhoLike(midiaId))
+                pendingChanges.put(new LikeChange(userId, midiaId), false);
+        };
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    synchronized void rebuild() {
+        LikeArrays loaded = new LikeArrays();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LIKES_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setInt(1, likeRating);
+            return statement;
+        }, rs -> {
+            loaded.add(rs.getLong("user_id"), rs.getLong("midia_id"));
+        }));
+
+        LikeMatrix loadedLikes = LikeMatrix.of(loaded.users, loaded.midias, loaded.size);
+        SimilarityIndex built = buildTimer.record(() -> builder.build(loadedLikes));
+        likes = loadedLikes;
+        index = built;
+        logger.info("Similarity index built for {} midias from {} likes", built.midiaCount(), loadedLikes.size());
+
+        // Changes committed while loading may already be in the snapshot; re-applying them is harmless.
+        refresh();
+    }
+
+    synchronized void refresh() {
+        Map<LikeChange, Boolean> changes = new HashMap<>();
+        for (LikeChange change : pendingChanges.keySet()) {
+            Boolean liked = pendingChanges.remove(change);
+            if(liked != null)
+                changes.put(change, liked);
+        }
+        if(changes.isEmpty())
+            return;
+
+        LikeMatrix previous = likes;
+        LikeMatrix updated = previous.apply(changes);
+        BitSet affected = updated.rowsAffectedBy(previous, changes.keySet());
+
+        index = buildTimer.record(() -> builder.rebuild(updated, index, affected));
+        likes = updated;
+    }
+
+
+    // Helper methods
+    private long memoryBytes() {
+        return likes.estimatedBytes() + index.estimatedBytes();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException exception) {
+            logger.warn("Similarity index refresh failed: {}", exception.getMessage());
+        }
+    }
+
+    private static final class LikeArrays {
+        private long[] users = new long[1024];
+        private long[] midias = new long[1024];
+        private int size;
+
+        void add(long userId, long midiaId) {
+            if(size == users.length) {
+                users = Arrays.copyOf(users, size * 2);
+                midias = Arrays.copyOf(midias, size * 2);
+            }
+            users[size] = userId;
+            midias[size] = midiaId;
+            size++;
+        }
+    }
+}
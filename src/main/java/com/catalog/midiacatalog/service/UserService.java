@@ -2,13 +2,19 @@ package com.catalog.midiacatalog.service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
+import com.catalog.midiacatalog.dto.User.LoginResponseDTO;
 import com.catalog.midiacatalog.dto.User.UserLoginDTO;
 import com.catalog.midiacatalog.dto.User.UserPwSetDTO;
 import com.catalog.midiacatalog.dto.User.UserRegistrationDTO;
@@ -16,15 +22,38 @@ import com.catalog.midiacatalog.dto.User.UserResponseDTO;
 import com.catalog.midiacatalog.dto.User.UserUpdateDTO;
 import com.catalog.midiacatalog.exception.DataNotFoundException;
 import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.exception.ForbiddenException;
 import com.catalog.midiacatalog.model.User;
 import com.catalog.midiacatalog.repository.UserRepository;
+import com.catalog.midiacatalog.repository.projection.UserSummary;
+import com.catalog.midiacatalog.security.AuthenticatedUser;
+import com.catalog.midiacatalog.security.LoginRateLimiter;
+import com.catalog.midiacatalog.security.PasswordHasher;
+import com.catalog.midiacatalog.security.TokenService;
+import com.catalog.midiacatalog.security.TokenService.IssuedToken;
+import com.catalog.midiacatalog.validation.CredentialValidator;
 
 @Service
 public class UserService {
 
+    private static final Set<String> EMAIL_CONSTRAINTS = Set.of("users_email_key", "idx_users_email_lower");
+    private static final String UNIQUE_VIOLATION = "23505";
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private EmailFilterService emailFilterService;
+
     public UserResponseDTO register(UserRegistrationDTO newUser) {
         if(newUser == null)
             throw new DataValidationException("User credentials must be informed.");
@@ -38,10 +67,8 @@ public class UserService {
         validation = validateEmail(newUser.getEmail());
         if(validation != null)
             errors.add(validation);
-        else if(userRepository.findByEmail(newUser.getEmail()).isPresent())
-            errors.add("Email already registered.");
 
-        validation = validatePassword(newUser.getPassword());
+        validation = validateNewPassword(newUser.getPassword());
         if(validation != null)
             errors.add(validation);
 
@@ -50,15 +77,15 @@ public class UserService {
         
         User user = new User();
         user.setName(newUser.getName());
-        user.setEmail(newUser.getEmail());
-        user.setPassword(newUser.getPassword());
+        user.setEmail(normalizeEmail(newUser.getEmail()));
+        user.setPassword(passwordHasher.hash(newUser.getPassword()));
 
-        userRepository.save(user);
+        emailFilterService.add(user.getEmail(), () -> saveCheckingEmail(user));
 
         return new UserResponseDTO(user.getId(), user.getName(), user.getEmail());
     }
 
-    public String setPassword(UserPwSetDTO pwSetDTO){
+    public String setPassword(UserPwSetDTO pwSetDTO, AuthenticatedUser caller){
         if(pwSetDTO == null)
             throw new DataValidationException("User credentials must be informed.");
 
@@ -69,27 +96,34 @@ public class UserService {
         if(validation != null)
             errors.add(validation);
         
-        validation = validatePassword(pwSetDTO.getPassword());
+        validation = validateNewPassword(pwSetDTO.getPassword());
         if(validation != null)
             errors.add(validation);
 
         if(!errors.isEmpty())
             throw new DataValidationException(errors); 
 
-        Optional<User> userFound = userRepository.findByEmail(pwSetDTO.getEmail());
-        if(!userFound.isPresent())
+        if(!emailFilterService.mightExist(pwSetDTO.getEmail()))
+            throw new DataNotFoundException("No user found for this email.");
+
+        Optional<User> userFound = userRepository.findByEmailIgnoringCase(pwSetDTO.getEmail());
+        if(!userFound.isPresent()) {
+            emailFilterService.falsePositive();
             throw new DataNotFoundException("No user found for this email.");
+        }
 
         User user = userFound.get();
-        user.setPassword(pwSetDTO.getPassword());
+        checkOwnAccount(caller, user.getId());
+        user.setPassword(passwordHasher.hash(pwSetDTO.getPassword()));
         userRepository.save(user);
 
         return "Password reseted successfuly";
     }
 
-    public UserResponseDTO remove(Long id) {
+    public UserResponseDTO remove(Long id, AuthenticatedUser caller) {
         if(id == null)
             throw new DataValidationException("User ID must be informed.");
+        checkOwnAccount(caller, id);
 
         Optional<User> userFound = userRepository.findById(id);
         if(!userFound.isPresent())
@@ -97,40 +131,72 @@ public class UserService {
 
         User user = userFound.get();
         userRepository.deleteById(id);
+        emailFilterService.removed();
         return new UserResponseDTO(user.getId(),user.getName(),user.getEmail());
     }
 
-    public boolean login(UserLoginDTO userLogin) {
+    public LoginResponseDTO login(UserLoginDTO userLogin, String clientAddress) {
         if(userLogin == null)
             throw new DataValidationException("User credentials must be informed.");
-        
-        List<String> errors = new ArrayList<>();
-        String validation;
 
-        validation = validateEmail(userLogin.getEmail());
-        if(validation != null)
-            errors.add(validation);
+        loginRateLimiter.check(userLogin.getEmail(), clientAddress);
+
+        // Only a wrong password keeps the email permit; every other outcome hands it back.
+        boolean wrongPassword = false;
+        try {
+            List<String> errors = new ArrayList<>();
+            String validation;
+
+            validation = validateEmail(userLogin.getEmail());
+            if(validation != null)
+                errors.add(validation);
         
-        validation = validatePassword(userLogin.getPassword());
-        if(validation != null)
-            errors.add(validation);
+            validation = validatePassword(userLogin.getPassword());
+            if(validation != null)
+                errors.add(validation);
 
-        if(!errors.isEmpty())
-            throw new DataValidationException(errors); 
+            if(!errors.isEmpty())
+                throw new DataValidationException(errors); 
 
-        Optional<User> userFound = userRepository.findByEmail(userLogin.getEmail());
-        if(!userFound.isPresent())
-            throw new DataNotFoundException("No user found for this email.");
+            if(!emailFilterService.mightExist(userLogin.getEmail()))
+                throw new DataNotFoundException("No user found for this email.");
 
-        User user = userFound.get();
+            Optional<User> userFound = userRepository.findByEmailIgnoringCase(userLogin.getEmail());
+            if(!userFound.isPresent()) {
+                emailFilterService.falsePositive();
+                throw new DataNotFoundException("No user found for this email.");
+            }
+
+            User user = userFound.get();
 
-        if(user.getPassword() != userLogin.getPassword())
-            throw new DataValidationException("Wrong password or email address. Please try again.");
+            if(!passwordHasher.matches(userLogin.getPassword(), user.getPassword())) {
+                wrongPassword = true;
+                throw new DataValidationException("Wrong password or email address. Please try again.");
+            }
+
+            // Upgrades plaintext and old-cost hashes while the raw password is at hand.
+            if(passwordHasher.needsRehash(user.getPassword())) {
+                user.setPassword(passwordHasher.hash(userLogin.getPassword()));
+                userRepository.save(user);
+            }
         
-        return true; //TODO: add JWT creation
+            IssuedToken token = tokenService.issue(user);
+            return new LoginResponseDTO(true, token.token(), "Bearer", token.expiresAt());
+        } finally {
+            if(!wrongPassword)
+                loginRateLimiter.refund(userLogin.getEmail());
+        }
     } 
 
-    public UserResponseDTO update(Long id, UserUpdateDTO userInfo){
+    public String logout(AuthenticatedUser user) {
+        if(user == null)
+            throw new DataValidationException("Authentication token must be informed.");
+
+        tokenService.revoke(user);
+        return "Logged out successfully.";
+    }
+
+    public UserResponseDTO update(Long id, UserUpdateDTO userInfo, AuthenticatedUser caller){
         List<String> errors = new ArrayList<>();
         String validation = null;
 
@@ -144,16 +210,11 @@ public class UserService {
                 validation = validateEmail(userInfo.getEmail());
                 if(validation != null)
                     errors.add(validation);
-                else {
-                    Optional<User> existingUser = userRepository.findByEmail(userInfo.getEmail());
-                    if(existingUser.isPresent() && !existingUser.get().getId().equals(id))
-                        errors.add("Email already registered by another user.");
-                }
             }
                 
             if(userInfo.getPassword() != null && !userInfo.getPassword().isBlank())
             {
-                validation = validatePassword(userInfo.getPassword());
+                validation = validateNewPassword(userInfo.getPassword());
                 if(validation != null)
                     errors.add(validation);
             }
@@ -161,20 +222,27 @@ public class UserService {
 
         if(!errors.isEmpty())
             throw new DataValidationException(errors);
+        checkOwnAccount(caller, id);
         
         Optional<User> userFound = userRepository.findById(id);
         if(!userFound.isPresent())
             throw new DataNotFoundException("User not found.");
 
         User user = userFound.get();
+        String previousEmail = user.getEmail();
         if(userInfo.getName() != null && !userInfo.getName().isBlank())
             user.setName(userInfo.getName());
         if(userInfo.getEmail() != null && !userInfo.getEmail().isBlank())
-            user.setEmail(userInfo.getEmail());
+            user.setEmail(normalizeEmail(userInfo.getEmail()));
         if(userInfo.getPassword() != null && !userInfo.getPassword().isBlank())
-            user.setPassword(userInfo.getPassword());
+            user.setPassword(passwordHasher.hash(userInfo.getPassword()));
 
-        userRepository.save(user);
+        if(user.getEmail().equals(previousEmail))
+            saveCheckingEmail(user);
+        else {
+            emailFilterService.add(user.getEmail(), () -> saveCheckingEmail(user));
+            emailFilterService.removed();
+        }
         
         return new UserResponseDTO(user.getId(), user.getName(), user.getEmail());
     }
@@ -192,23 +260,79 @@ public class UserService {
     }
 
     public Page<UserResponseDTO> getAllUsers(Pageable pageable) {
-        Page<User> users = userRepository.findAll(pageable);
+        Page<UserSummary> users = userRepository.findAllSummaries(pageable);
 
         if(users.isEmpty())
             throw new DataNotFoundException("No users found in database.");
 
         return users.map(user -> new UserResponseDTO(
-                user.getId(),
-                user.getName(),
-                user.getEmail()
+                user.id(),
+                user.name(),
+                user.email()
                 ));
     }
     
+    public CursorPageResponseDTO<UserResponseDTO> getAllUsersAfter(String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Pageable limit = KeysetCursor.limitFor(size);
+
+        List<UserSummary> users = position == null
+            ? userRepository.findFirstSummaries(limit)
+            : userRepository.findSummariesAfter(position.sortKey(), position.id(), limit);
+
+        if(position == null && users.isEmpty())
+            throw new DataNotFoundException("No users found in database.");
+
+        return KeysetCursor.toResponse(users, size,
+            user -> new UserResponseDTO(user.id(), user.name(), user.email()),
+            user -> new KeysetCursor(user.name(), user.id()));
+    }
+    
     // Helper methods
+    // Tokens only prove who the caller is; accounts can be changed by their owner alone.
+    private void checkOwnAccount(AuthenticatedUser caller, Long userId) {
+        if(caller == null)
+            throw new DataValidationException("Authentication token must be informed.");
+        if(!caller.userId().equals(userId))
+            throw new ForbiddenException("Users can only change their own account.");
+    }
+
+
+    // The unique index on users.email is the duplicate check: one round trip, and no window for two
+    // concurrent sign-ups to both pass a lookup. users has no other unique column besides the key.
+    private void saveCheckingEmail(User user) {
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException exception) {
+            if(isEmailConflict(exception))
+                throw new DataValidationException("Email already registered.");
+            throw exception;
+        }
+    }
+
+    // Matches the V1 unique constraint or the V7 lower(email) index by name; drivers that leave the
+    // name out still report 23505, and on users that can only be the email.
+    private boolean isEmailConflict(DataIntegrityViolationException exception) {
+        for(Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if(cause instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName();
+                if(constraint != null && EMAIL_CONSTRAINTS.contains(constraint.toLowerCase(Locale.ROOT)))
+                    return true;
+                return UNIQUE_VIOLATION.equals(violation.getSQLState());
+            }
+        }
+        return false;
+    }
+
+    // Lowercase on write so the unique constraint on users.email also rejects case-only duplicates.
+    private String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
     private String validateEmail(String Email){
         if(Email == null || Email.trim().isEmpty())
             return ("User email must be informed.");
-        else if (!Email.matches("^[A-Za-z0-9+_.-]+@(.+)$")) 
+        else if (!CredentialValidator.isValidEmail(Email))
             return ("Invalid email format.");
         return null;
     }
@@ -217,8 +341,17 @@ public class UserService {
     {
         if(passWord == null || passWord.trim().isEmpty())
             return ("User password must be informed.");
-        else if (!passWord.matches("^(?=.*[A-Z])(?=.*[0-9])(?=.*[@#$%^&+=!])(?=\\S+$).{8,}$"))
+        else if (!CredentialValidator.isValidPassword(passWord))
             return ("Password must contain at least 8 characters, one uppercase letter, one number and one special character.");
         return null;
     }
+
+    // Only passwords about to be hashed are capped; login still has to accept longer legacy ones.
+    private String validateNewPassword(String passWord)
+    {
+        String validation = validatePassword(passWord);
+        if(validation == null && !CredentialValidator.fitsHashLimit(passWord))
+            return ("Password cannot be longer than " + CredentialValidator.MAX_PASSWORD_BYTES + " bytes.");
+        return validation;
+    }
 }
@@ -0,0 +1,98 @@
+package com.catalog.midiacatalog.validation;
+
+/**
+ * Email and password format rules as single-pass scanners. They accept exactly what the
+ * former {@code String.matches} checks did:
+ * <ul>
+ *   <li>email: {@code ^[A-Za-z0-9+_.-]+@(.+)$}</li>
+ *   <li>password: {@code ^(?=.*[A-Z])(?=.*[0-9])(?=.*[@#$%^&+=!])(?=\S+$).{8,}$}</li>
+ * </ul>
+ * but compile nothing and walk the input once, so they are cheap enough for the login path.
+ * Passwords must also fit in the 72 bytes bcrypt hashes, checked by {@link #fitsHashLimit}.
+ */
+public final class CredentialValidator {
+
+    public static final int MIN_PASSWORD_LENGTH = 8;
+
+    public static final int MAX_PASSWORD_BYTES = 72;
+
+    private static final String PASSWORD_SPECIAL_CHARACTERS = "@#$%^&+=!";
+
+    private CredentialValidator() {}
+
+    public static boolean isValidEmail(String email) {
+        if (email == null)
+            return false;
+
+        int at = email.indexOf('@');
+        if (at <= 0 || at == email.length() - 1)
+            return false;
+
+        for (int i = 0; i < at; i++) {
+            if (!isEmailLocalCharacter(email.charAt(i)))
+                return false;
+        }
+        for (int i = at + 1; i < email.length(); i++) {
+            if (isLineTerminator(email.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    public static boolean isValidPassword(String password) {
+        if (password == null || password.length() < MIN_PASSWORD_LENGTH)
+            return false;
+
+        boolean upper = false;
+        boolean digit = false;
+        boolean special = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (isWhitespace(c) || isLineTerminator(c))
+                return false;
+            upper |= c >= 'A' && c <= 'Z';
+            digit |= c >= '0' && c <= '9';
+            special |= PASSWORD_SPECIAL_CHARACTERS.indexOf(c) >= 0;
+        }
+
+        // The length rule counts code points, like the regex '.' does.
+        return upper && digit && special
+            && password.codePointCount(0, password.length()) >= MIN_PASSWORD_LENGTH;
+    }
+
+    // Counts UTF-8 bytes without encoding; a surrogate pair is one 4-byte code point.
+    public static boolean fitsHashLimit(String password) {
+        if (password == null)
+            return true;
+
+        int bytes = 0;
+        for (int i = 0; i < password.length() && bytes <= MAX_PASSWORD_BYTES; i++) {
+            char c = password.charAt(i);
+            if (c < 0x80)
+                bytes += 1;
+            else if (c < 0x800)
+                bytes += 2;
+            else if (Character.isSurrogate(c))
+                bytes += 2;
+            else
+                bytes += 3;
+        }
+        return bytes <= MAX_PASSWORD_BYTES;
+    }
+
+    // Helper methods
+    private static boolean isEmailLocalCharacter(char c) {
+        return c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9'
+            || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    // What java.util.regex treats as \s by default.
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // Characters the regex '.' refuses to match by default.
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
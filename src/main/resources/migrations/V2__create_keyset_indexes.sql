@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS idx_actors_name_id ON actors (name, id);
+
+CREATE INDEX IF NOT EXISTS idx_users_name_id ON users (name, id);
+
+CREATE INDEX IF NOT EXISTS idx_midias_title_id ON midias (title, id);
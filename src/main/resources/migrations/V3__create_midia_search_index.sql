@@ -0,0 +1,9 @@
+ALTER TABLE midias ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(director, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(genre, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(synopsis, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_midias_search_vector ON midias USING GIN (search_vector);
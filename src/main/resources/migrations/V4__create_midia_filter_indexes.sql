@@ -0,0 +1,7 @@
+CREATE INDEX IF NOT EXISTS idx_midias_type_release_year ON midias (media_type, release_year);
+
+CREATE INDEX IF NOT EXISTS idx_midias_genre_release_year ON midias (genre, release_year);
+
+CREATE INDEX IF NOT EXISTS idx_midias_director_release_year ON midias (director, release_year);
+
+CREATE INDEX IF NOT EXISTS idx_midia_actors_actor_midia ON midia_actors (actor_id, midia_id);
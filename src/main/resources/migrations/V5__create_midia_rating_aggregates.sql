@@ -0,0 +1,26 @@
+CREATE TABLE IF NOT EXISTS midia_rating_aggregates (
+    midia_id BIGINT NOT NULL,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    one_star BIGINT NOT NULL DEFAULT 0,
+    two_stars BIGINT NOT NULL DEFAULT 0,
+    three_stars BIGINT NOT NULL DEFAULT 0,
+    four_stars BIGINT NOT NULL DEFAULT 0,
+    five_stars BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (midia_id),
+    FOREIGN KEY (midia_id) REFERENCES midias(id) ON DELETE CASCADE
+);
+
+INSERT INTO midia_rating_aggregates (midia_id, rating_count, rating_sum, one_star, two_stars, three_stars, four_stars, five_stars)
+SELECT m.id,
+       COUNT(e.id),
+       COALESCE(SUM(e.rating), 0),
+       COUNT(CASE WHEN e.rating = 1 THEN 1 END),
+       COUNT(CASE WHEN e.rating = 2 THEN 1 END),
+       COUNT(CASE WHEN e.rating = 3 THEN 1 END),
+       COUNT(CASE WHEN e.rating = 4 THEN 1 END),
+       COUNT(CASE WHEN e.rating = 5 THEN 1 END)
+FROM midias m
+LEFT JOIN evaluations e ON e.midia_id = m.id AND e.enabled = true
+WHERE NOT EXISTS (SELECT 1 FROM midia_rating_aggregates a WHERE a.midia_id = m.id)
+GROUP BY m.id;
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_evaluations_midia_date_id ON evaluations (midia_id, evaluation_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_evaluations_user_date_id ON evaluations (user_id, evaluation_date, id);
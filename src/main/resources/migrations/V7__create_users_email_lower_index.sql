@@ -0,0 +1,13 @@
+-- Accounts whose emails differ only by case or surrounding spaces keep the oldest one; the rest are
+-- disabled and moved to a unique placeholder address so their rows and evaluations survive.
+UPDATE users u
+SET email = 'duplicate-' || u.id || '+' || lower(trim(u.email)),
+    enabled = false
+WHERE EXISTS (
+    SELECT 1 FROM users o
+    WHERE lower(trim(o.email)) = lower(trim(u.email)) AND o.id < u.id
+);
+
+UPDATE users SET email = lower(trim(email)) WHERE email <> lower(trim(email));
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_users_email_lower ON users (lower(email));
@@ -0,0 +1,81 @@
+package com.catalog.midiacatalog.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.catalog.midiacatalog.validation.CredentialValidator;
+
+/**
+ * Email plus password check as done on every login: the former String.matches calls, the same
+ * regexes precompiled, and the CredentialValidator scanners.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CredentialValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CredentialValidationBenchmark {
+
+    private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@(.+)$";
+    private static final String PASSWORD_REGEX = "^(?=.*[A-Z])(?=.*[0-9])(?=.*[@#$%^&+=!])(?=\\S+$).{8,}$";
+    private static final Pattern EMAIL = Pattern.compile(EMAIL_REGEX);
+    private static final Pattern PASSWORD = Pattern.compile(PASSWORD_REGEX);
+
+    /**
+     * valid: a typical login. invalid: short password failing late. adversarial: 4 KB inputs that
+     * make every lookahead scan to the end before failing.
+     */
+    @Param({"valid", "invalid", "adversarial"})
+    private String input;
+
+    private String email;
+    private String password;
+
+    @Setup
+    public void setUp() {
+        switch (input) {
+            case "valid" -> {
+                email = "john.doe@example.com";
+                password = "Passw0rd!";
+            }
+            case "invalid" -> {
+                email = "john.doe.example.com";
+                password = "password";
+            }
+            default -> {
+                email = "a".repeat(4096);
+                password = "Aa1" + "a".repeat(4096);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean stringMatches() {
+        return email.matches(EMAIL_REGEX) & password.matches(PASSWORD_REGEX);
+    }
+
+    @Benchmark
+    public boolean precompiledPattern() {
+        return EMAIL.matcher(email).matches() & PASSWORD.matcher(password).matches();
+    }
+
+    @Benchmark
+    public boolean scanner() {
+        return CredentialValidator.isValidEmail(email) & CredentialValidator.isValidPassword(password);
+    }
+}
@@ -0,0 +1,124 @@
+package com.catalog.midiacatalog.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Email lookups against a copy of the users table with a few million rows on the local Postgres
+ * from application.properties: the old exact match, the lower(email) query backed by the V7
+ * functional index, and the upper() comparison a derived findByEmailIgnoreCase would generate.
+ * Setup refuses to run if the lower(email) plan is not an index scan. The table is created in a
+ * scratch schema on first run and kept for later runs.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=EmailLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailLookupBenchmark {
+
+    private static final String LOWER_SQL = "SELECT id FROM benchmark.users WHERE lower(email) = lower(?)";
+
+    @Param("jdbc:postgresql://localhost:5432/catalog_db")
+    private String jdbcUrl;
+
+    @Param("3000000")
+    private int users;
+
+    private Connection connection;
+    private PreparedStatement exact;
+    private PreparedStatement lower;
+    private PreparedStatement upper;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl, "postgres", "postgres");
+        seedIfNeeded();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + LOWER_SQL.replace("?", "'user42@example.com'"))) {
+            StringBuilder text = new StringBuilder();
+            while (plan.next())
+                text.append(plan.getString(1)).append('\n');
+            if (!text.toString().contains("idx_benchmark_users_email_lower"))
+                throw new IllegalStateException("lower(email) lookup is not using the functional index:\n" + text);
+        }
+
+        exact = connection.prepareStatement("SELECT id FROM benchmark.users WHERE email = ?");
+        lower = connection.prepareStatement(LOWER_SQL);
+        upper = connection.prepareStatement("SELECT id FROM benchmark.users WHERE upper(email) = upper(?)");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long exactMatch() throws SQLException {
+        return lookup(exact, "User" + randomUser() + "@Example.com");
+    }
+
+    @Benchmark
+    public long lowerWithFunctionalIndex() throws SQLException {
+        return lookup(lower, "USER" + randomUser() + "@EXAMPLE.COM");
+    }
+
+    @Benchmark
+    public long upperWithoutIndex() throws SQLException {
+        return lookup(upper, "USER" + randomUser() + "@EXAMPLE.COM");
+    }
+
+    private long lookup(PreparedStatement statement, String email) throws SQLException {
+        statement.setString(1, email);
+        try (ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    private int randomUser() {
+        return ThreadLocalRandom.current().nextInt(users);
+    }
+
+    private void seedIfNeeded() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS benchmark");
+            statement.execute("CREATE TABLE IF NOT EXISTS benchmark.users (id BIGSERIAL PRIMARY KEY, "
+                + "name VARCHAR NOT NULL, password VARCHAR, email VARCHAR NOT NULL UNIQUE, enabled BOOLEAN)");
+            long existing;
+            try (ResultSet count = statement.executeQuery("SELECT count(*) FROM benchmark.users")) {
+                count.next();
+                existing = count.getLong(1);
+            }
+            if (existing != users) {
+                statement.execute("TRUNCATE benchmark.users");
+                statement.execute("INSERT INTO benchmark.users (name, password, email, enabled) "
+                    + "SELECT 'User ' || i, 'hash', 'User' || i || '@Example.com', true FROM generate_series(0, " + (users - 1) + ") i");
+            }
+            statement.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_benchmark_users_email_lower ON benchmark.users (lower(email))");
+            statement.execute("ANALYZE benchmark.users");
+        }
+    }
+}
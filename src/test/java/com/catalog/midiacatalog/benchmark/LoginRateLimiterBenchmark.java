@@ -0,0 +1,61 @@
+package com.catalog.midiacatalog.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.catalog.midiacatalog.security.RateLimiter;
+
+/**
+ * Cost of the login throttle under a credential-stuffing pattern: eight threads hammering one
+ * address (almost every call rejected), spraying random addresses past the key bound (overflow
+ * stripes), and a legitimate user whose attempts are admitted. Sample mode reports p99/p999.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=LoginRateLimiterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class LoginRateLimiterBenchmark {
+
+    private RateLimiter attacked;
+    private RateLimiter sprayed;
+    private RateLimiter legitimate;
+
+    @Setup
+    public void setUp() {
+        attacked = new RateLimiter(30, 30, 100_000, 1024, System::nanoTime);
+        sprayed = new RateLimiter(30, 30, 100_000, 1024, System::nanoTime);
+        legitimate = new RateLimiter(Integer.MAX_VALUE / 2, 1_000_000, 100_000, 1024, System::nanoTime);
+    }
+
+    @Benchmark
+    public long rejectedSameAddress() {
+        return attacked.tryAcquire("203.0.113.7");
+    }
+
+    @Benchmark
+    public long sprayedAddresses() {
+        return sprayed.tryAcquire("10." + ThreadLocalRandom.current().nextInt(1 << 24));
+    }
+
+    @Benchmark
+    public long admitted() {
+        return legitimate.tryAcquire("198.51.100." + Thread.currentThread().getId() % 256);
+    }
+}
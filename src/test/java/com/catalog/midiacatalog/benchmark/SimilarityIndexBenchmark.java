@@ -0,0 +1,82 @@
+package com.catalog.midiacatalog.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.catalog.midiacatalog.recommendation.LikeMatrix;
+import com.catalog.midiacatalog.recommendation.SimilarityIndex;
+import com.catalog.midiacatalog.recommendation.SimilarityIndexBuilder;
+
+/**
+ * Full similarity index build over synthetic likes with a skewed (popular midias first)
+ * distribution. Teardown prints the memory held by the matrix and index per million likes.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SimilarityIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class SimilarityIndexBenchmark {
+
+    @Param({"1000000"})
+    private int likes;
+
+    @Param({"20000"})
+    private int midias;
+
+    @Param({"100000"})
+    private int users;
+
+    private ForkJoinPool pool;
+    private SimilarityIndexBuilder builder;
+    private LikeMatrix matrix;
+    private SimilarityIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        long[] userIds = new long[likes];
+        long[] midiaIds = new long[likes];
+        for (int i = 0; i < likes; i++) {
+            userIds[i] = random.nextInt(users);
+            midiaIds[i] = (long) (midias * Math.pow(random.nextDouble(), 2));
+        }
+
+        matrix = LikeMatrix.of(userIds, midiaIds, likes);
+        pool = new ForkJoinPool();
+        builder = new SimilarityIndexBuilder(20, 2, 1000, pool);
+    }
+
+    @Benchmark
+    public SimilarityIndex build() {
+        index = builder.build(matrix);
+        return index;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        double perMillion = 1_000_000.0 / matrix.size();
+        System.out.printf("%nlikes=%d midias=%d matrix=%.1f MB index=%.1f MB (per million likes)%n",
+            matrix.size(), index.midiaCount(),
+            matrix.estimatedBytes() * perMillion / (1 << 20), index.estimatedBytes() * perMillion / (1 << 20));
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,119 @@
+package com.catalog.midiacatalog.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sign-up throughput on an in-memory H2 users table: the former lookup-then-insert against a
+ * bare insert that relies on the unique email index. roundTripMicros parks the caller once per
+ * statement to stand in for the network hop to Postgres, which is where the saving shows.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserRegistrationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class UserRegistrationBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:signups;DB_CLOSE_DELAY=-1";
+
+    @Param({"0", "200"})
+    private long roundTripMicros;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private Connection schema;
+
+    @Setup
+    public void setUp() throws SQLException {
+        schema = DriverManager.getConnection(URL);
+        try (Statement statement = schema.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS users");
+            statement.execute("CREATE TABLE users (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR NOT NULL, "
+                + "password VARCHAR, email VARCHAR NOT NULL UNIQUE, enabled BOOLEAN)");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        schema.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        Connection connection;
+        PreparedStatement lookup;
+        PreparedStatement insert;
+
+        @Setup(Level.Trial)
+        public void open() throws SQLException {
+            connection = DriverManager.getConnection(URL);
+            lookup = connection.prepareStatement("SELECT id FROM users WHERE email = ?");
+            insert = connection.prepareStatement("INSERT INTO users (name, password, email, enabled) VALUES (?, ?, ?, true)");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int lookupThenInsert(Session session) throws SQLException {
+        String email = nextEmail();
+        session.lookup.setString(1, email);
+        roundTrip();
+        try (ResultSet existing = session.lookup.executeQuery()) {
+            if (existing.next())
+                return 0;
+        }
+        return insert(session, email);
+    }
+
+    @Benchmark
+    public int insertOnly(Session session) throws SQLException {
+        return insert(session, nextEmail());
+    }
+
+    private int insert(Session session, String email) throws SQLException {
+        session.insert.setString(1, "User");
+        session.insert.setString(2, "hash");
+        session.insert.setString(3, email);
+        roundTrip();
+        return session.insert.executeUpdate();
+    }
+
+    private String nextEmail() {
+        return "user" + sequence.incrementAndGet() + "@example.com";
+    }
+
+    private void roundTrip() {
+        if (roundTripMicros > 0)
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+    }
+}
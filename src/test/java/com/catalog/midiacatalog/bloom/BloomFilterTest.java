@@ -0,0 +1,58 @@
+package com.catalog.midiacatalog.bloom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegativesAndFalsePositiveRateNearTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++)
+            filter.put("user" + i + "@example.com");
+
+        for (int i = 0; i < 10_000; i++)
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++)
+            if (filter.mightContain("stranger" + i + "@example.com"))
+                falsePositives++;
+
+        assertTrue(falsePositives < 2_000, "Observed " + falsePositives + " false positives in 100000");
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+        assertEquals(10_000, filter.insertions());
+        assertTrue(filter.estimatedBytes() < 13_000);
+    }
+
+    @Test
+    void testConcurrentPutsAreAllVisible() throws Exception {
+        BloomFilter filter = BloomFilter.create(80_000, 0.01);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++)
+                    filter.put("user" + thread + "-" + i + "@example.com");
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        for (int t = 0; t < 8; t++)
+            for (int i = 0; i < 10_000; i++)
+                assertTrue(filter.mightContain("user" + t + "-" + i + "@example.com"));
+        assertEquals(80_000, filter.insertions());
+    }
+
+    @Test
+    void testInvalidRateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 1));
+    }
+}
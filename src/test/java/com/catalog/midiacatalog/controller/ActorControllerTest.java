@@ -8,6 +8,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,14 +22,21 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorDTO;
+import com.catalog.midiacatalog.dto.Actor.ActorPathDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorRegistrationDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorResponseDTO;
+import com.catalog.midiacatalog.dto.Actor.ActorSimpleDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorUpdateDTO;
+import com.catalog.midiacatalog.dto.Actor.CoStarDTO;
 import com.catalog.midiacatalog.dto.Midia.MidiaDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaResponseDTO;
 import com.catalog.midiacatalog.exception.DataNotFoundException;
 import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.model.enums.Midiatype;
 import com.catalog.midiacatalog.service.ActorService;
+import com.catalog.midiacatalog.service.CastGraphService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
@@ -41,6 +49,9 @@ public class ActorControllerTest {
     @MockitoBean
     private ActorService actorService;
 
+    @MockitoBean
+    private CastGraphService castGraphService;
+
     private ObjectMapper objectMapper;
     private ActorRegistrationDTO actorRegistrationDTO;
     private ActorResponseDTO actorResponseDTO;
@@ -357,4 +368,52 @@ public class ActorControllerTest {
                 .andExpect(jsonPath("$.size").value(5))
                 .andExpect(jsonPath("$.number").value(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllActorsCursorMode() throws Exception {
+        CursorPageResponseDTO<ActorDTO> slice = new CursorPageResponseDTO<>(Arrays.asList(actorDTO), null, false);
+        when(actorService.getAllActorsAfter("abc", 10)).thenReturn(slice);
+
+        mockMvc.perform(get("/actor/list?cursor=abc"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("John Doe"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void testGetCoStars() throws Exception {
+        when(castGraphService.getCoStars(1L, 10)).thenReturn(List.of(new CoStarDTO(2L, "Jane Doe", 3)));
+
+        mockMvc.perform(get("/actor/1/co-stars"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[0].name").value("Jane Doe"))
+                .andExpect(jsonPath("$[0].sharedMidias").value(3));
+    }
+
+    @Test
+    void testGetPath() throws Exception {
+        ActorPathDTO path = new ActorPathDTO(1,
+            List.of(new ActorSimpleDTO(1L, "John Doe"), new ActorSimpleDTO(2L, "Jane Doe")),
+            List.of(new MidiaResponseDTO(5L, "The Matrix", Midiatype.MOVIE)));
+        when(castGraphService.getPath(1L, 2L)).thenReturn(path);
+
+        mockMvc.perform(get("/actor/1/path/2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.degrees").value(1))
+                .andExpect(jsonPath("$.actors[1].name").value("Jane Doe"))
+                .andExpect(jsonPath("$.midias[0].title").value("The Matrix"));
+    }
+
+    @Test
+    void testGetPathNotConnected() throws Exception {
+        when(castGraphService.getPath(1L, 3L)).thenThrow(new DataNotFoundException("No path found between these actors."));
+
+        mockMvc.perform(get("/actor/1/path/3"))
+                .andExpect(status().isNotFound());
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.catalog.midiacatalog.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationRegistrationDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationResponseDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationUpdateDTO;
+import com.catalog.midiacatalog.exception.DataNotFoundException;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.exception.ForbiddenException;
+import com.catalog.midiacatalog.exception.ServiceBusyException;
+import com.catalog.midiacatalog.security.AuthenticatedUser;
+import com.catalog.midiacatalog.security.TokenAuthenticationFilter;
+import com.catalog.midiacatalog.service.EvaluationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@WebMvcTest(EvaluationController.class)
+public class EvaluationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EvaluationService evaluationService;
+
+    private ObjectMapper objectMapper;
+
+    private EvaluationResponseDTO evaluationResponseDTO;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        evaluationResponseDTO = new EvaluationResponseDTO(3L, 1L, 2L, 5, "Classic", null, true);
+    }
+
+    @Test
+    void testRegisterEvaluationSuccess() throws Exception {
+        when(evaluationService.register(any(EvaluationRegistrationDTO.class), any())).thenReturn(evaluationResponseDTO);
+
+        mockMvc.perform(post("/evaluation/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EvaluationRegistrationDTO(1L, 5, "Classic"))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(3))
+                .andExpect(jsonPath("$.rating").value(5));
+    }
+
+    @Test
+    void testRegisterEvaluationUsesAuthenticatedUser() throws Exception {
+        AuthenticatedUser authenticated = new AuthenticatedUser(2L, "john@example.com", "token-id", Instant.parse("2030-01-01T00:00:00Z"));
+        when(evaluationService.register(any(EvaluationRegistrationDTO.class), eq(authenticated))).thenReturn(evaluationResponseDTO);
+
+        mockMvc.perform(post("/evaluation/register")
+                .requestAttr(TokenAuthenticationFilter.AUTHENTICATED_USER, authenticated)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EvaluationRegistrationDTO(1L, 5, "Classic"))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.userId").value(2));
+    }
+
+    @Test
+    void testRegisterEvaluationAlreadyEvaluated() throws Exception {
+        when(evaluationService.register(any(EvaluationRegistrationDTO.class), any()))
+                .thenThrow(new DataValidationException("User already evaluated this midia."));
+
+        mockMvc.perform(post("/evaluation/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EvaluationRegistrationDTO(1L, 5, null))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("User already evaluated this midia."));
+    }
+
+    @Test
+    void testRegisterEvaluationWhenBufferIsFull() throws Exception {
+        when(evaluationService.register(any(EvaluationRegistrationDTO.class), any()))
+                .thenThrow(new ServiceBusyException("Too many evaluations being processed. Try again shortly."));
+
+        mockMvc.perform(post("/evaluation/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EvaluationRegistrationDTO(1L, 5, null))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testUpdateEvaluationSuccess() throws Exception {
+        when(evaluationService.update(eq(3L), any(EvaluationUpdateDTO.class), any())).thenReturn(evaluationResponseDTO);
+
+        mockMvc.perform(patch("/evaluation/update/3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EvaluationUpdateDTO(5, null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating").value(5));
+    }
+
+    @Test
+    void testDisableEvaluationNotFound() throws Exception {
+        when(evaluationService.disable(eq(3L), any())).thenThrow(new DataNotFoundException("Evaluation not found."));
+
+        mockMvc.perform(patch("/evaluation/disable/3"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Evaluation not found."));
+    }
+
+    @Test
+    void testDisableOtherUsersEvaluationIsForbidden() throws Exception {
+        when(evaluationService.disable(eq(3L), any()))
+                .thenThrow(new ForbiddenException("Users can only change their own evaluations."));
+
+        mockMvc.perform(patch("/evaluation/disable/3"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Users can only change their own evaluations."));
+    }
+
+    @Test
+    void testGetMidiaEvaluations() throws Exception {
+        EvaluationDTO evaluation = new EvaluationDTO(3L, 1L, "The Matrix", 2L, "John Doe", 5, "Classic", null);
+        when(evaluationService.getMidiaEvaluations(1L, "abc", 5))
+                .thenReturn(new CursorPageResponseDTO<>(List.of(evaluation), "next", true));
+
+        mockMvc.perform(get("/evaluation/midia/1").param("cursor", "abc").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].userName").value("John Doe"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void testGetUserEvaluationsDefaultsToFirstSlice() throws Exception {
+        when(evaluationService.getUserEvaluations(2L, "", 10))
+                .thenThrow(new DataNotFoundException("No evaluations found for this user."));
+
+        mockMvc.perform(get("/evaluation/user/2"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("No evaluations found for this user."));
+    }
+}
@@ -0,0 +1,51 @@
+package com.catalog.midiacatalog.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.catalog.midiacatalog.dto.Leaderboard.LeaderboardDTO;
+import com.catalog.midiacatalog.dto.Leaderboard.LeaderboardEntryDTO;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+import com.catalog.midiacatalog.service.LeaderboardService;
+
+@WebMvcTest(LeaderboardController.class)
+public class LeaderboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
+    @Test
+    void testGetLeaderboard() throws Exception {
+        LeaderboardEntryDTO entry = new LeaderboardEntryDTO(1L, "The Matrix", 120, 4.6);
+        when(leaderboardService.getLeaderboard(Midiatype.MOVIE, "7d"))
+                .thenReturn(new LeaderboardDTO(Midiatype.MOVIE, "7d", List.of(entry), List.of(entry)));
+
+        mockMvc.perform(get("/leaderboard/MOVIE").param("window", "7d"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.window").value("7d"))
+                .andExpect(jsonPath("$.topRated[0].title").value("The Matrix"))
+                .andExpect(jsonPath("$.mostEvaluated[0].evaluations").value(120));
+    }
+
+    @Test
+    void testGetLeaderboardWithInvalidWindow() throws Exception {
+        when(leaderboardService.getLeaderboard(Midiatype.SERIES, "1y"))
+                .thenThrow(new DataValidationException("Leaderboard window must be one of: all, 7d, 30d."));
+
+        mockMvc.perform(get("/leaderboard/SERIES").param("window", "1y"))
+                .andExpect(status().isBadRequest());
+    }
+}
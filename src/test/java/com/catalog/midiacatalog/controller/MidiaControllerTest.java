@@ -0,0 +1,216 @@
+package com.catalog.midiacatalog.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
+import com.catalog.midiacatalog.dto.Midia.DetailedMidiaResponseDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaImportErrorDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaImportResultDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaRegistrationDTO;
+import com.catalog.midiacatalog.dto.Midia.RatingSummaryDTO;
+import com.catalog.midiacatalog.dto.Midia.SimilarMidiaDTO;
+import com.catalog.midiacatalog.exception.DataNotFoundException;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+import com.catalog.midiacatalog.service.MidiaImportService;
+import com.catalog.midiacatalog.service.MidiaService;
+import com.catalog.midiacatalog.service.RecommendationService;
+
+@WebMvcTest(MidiaController.class)
+public class MidiaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MidiaService midiaService;
+
+    @MockitoBean
+    private MidiaImportService midiaImportService;
+
+    @MockitoBean
+    private RecommendationService recommendationService;
+
+    private DetailedMidiaResponseDTO midiaDTO;
+
+    @BeforeEach
+    void setUp() {
+        midiaDTO = new DetailedMidiaResponseDTO(1L, "The Matrix", Midiatype.MOVIE, 1999,
+            "Wachowski Brothers", null, "Sci-Fi", "matrix.jpg", null);
+    }
+
+    @Test
+    void testGetMidiaWithRatingSummary() throws Exception {
+        midiaDTO.setRating(new RatingSummaryDTO(2, 4.5, Map.of(4, 1L, 5, 1L)));
+        when(midiaService.getMidia(1L)).thenReturn(midiaDTO);
+
+        mockMvc.perform(get("/midia/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("The Matrix"))
+                .andExpect(jsonPath("$.rating.count").value(2))
+                .andExpect(jsonPath("$.rating.average").value(4.5))
+                .andExpect(jsonPath("$.rating.histogram.5").value(1));
+    }
+
+    @Test
+    void testGetMidiaNotFound() throws Exception {
+        when(midiaService.getMidia(99L)).thenThrow(new DataNotFoundException("Midia not found."));
+
+        mockMvc.perform(get("/midia/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetAllMidias() throws Exception {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<DetailedMidiaResponseDTO> midiaPage = new PageImpl<>(Arrays.asList(midiaDTO), pageable, 1);
+        when(midiaService.getAllMidias(any(Pageable.class))).thenReturn(midiaPage);
+
+        mockMvc.perform(get("/midia/list"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("The Matrix"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void testGetAllMidiasEmpty() throws Exception {
+        when(midiaService.getAllMidias(any(Pageable.class)))
+            .thenThrow(new DataNotFoundException("No midias found in database."));
+
+        mockMvc.perform(get("/midia/list"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetAllMidiasCursorMode() throws Exception {
+        CursorPageResponseDTO<DetailedMidiaResponseDTO> slice =
+            new CursorPageResponseDTO<>(Arrays.asList(midiaDTO), "next-token", true);
+        when(midiaService.getAllMidiasAfter("", 5)).thenReturn(slice);
+
+        mockMvc.perform(get("/midia/list?cursor=&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void testSearch() throws Exception {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<DetailedMidiaResponseDTO> midiaPage = new PageImpl<>(Arrays.asList(midiaDTO), pageable, 1);
+        when(midiaService.search(eq("matrix"), any(Pageable.class))).thenReturn(midiaPage);
+
+        mockMvc.perform(get("/midia/search?q=matrix"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("The Matrix"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void testSearchBlankQuery() throws Exception {
+        when(midiaService.search(eq(" "), any(Pageable.class)))
+            .thenThrow(new DataValidationException("Search query must be informed."));
+
+        mockMvc.perform(get("/midia/search?q= "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetSimilar() throws Exception {
+        when(recommendationService.getSimilar(1L, 2)).thenReturn(List.of(
+            new SimilarMidiaDTO(2L, "The Matrix Reloaded", 0.8f),
+            new SimilarMidiaDTO(3L, "Ghost in the Shell", 0.5f)));
+
+        mockMvc.perform(get("/midia/1/similar").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[0].score").value(0.8))
+                .andExpect(jsonPath("$[1].title").value("Ghost in the Shell"));
+    }
+
+    @Test
+    void testGetSimilarMidiaNotFound() throws Exception {
+        when(recommendationService.getSimilar(99L, 10)).thenThrow(new DataNotFoundException("Midia not found."));
+
+        mockMvc.perform(get("/midia/99/similar"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testFilter() throws Exception {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<DetailedMidiaResponseDTO> midiaPage = new PageImpl<>(Arrays.asList(midiaDTO), pageable, 1);
+        when(midiaService.filter(argThat(filter ->
+                filter.getType() == Midiatype.MOVIE &&
+                filter.getReleaseYearFrom() == 1990 &&
+                filter.getActorId() == 7L), any(Pageable.class)))
+            .thenReturn(midiaPage);
+
+        mockMvc.perform(get("/midia/filter?type=MOVIE&releaseYearFrom=1990&actorId=7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("The Matrix"));
+    }
+
+    @Test
+    void testImportNdjson() throws Exception {
+        MidiaImportResultDTO result = new MidiaImportResultDTO(2, 1,
+            Arrays.asList(new MidiaImportErrorDTO(2, Arrays.asList("Midia title must be informed."))));
+        when(midiaImportService.importMidias(any())).thenAnswer(invocation -> {
+            Iterator<MidiaRegistrationDTO> midias = invocation.getArgument(0);
+            int count = 0;
+            while (midias.hasNext()) {
+                midias.next();
+                count++;
+            }
+            return count == 2 ? result : null;
+        });
+
+        mockMvc.perform(post("/midia/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"title\":\"The Matrix\",\"type\":\"MOVIE\",\"actorIds\":[1]}\n{\"type\":\"MOVIE\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+    }
+
+    @Test
+    void testImportMalformedPayload() throws Exception {
+        when(midiaImportService.importMidias(any())).thenAnswer(invocation -> {
+            Iterator<MidiaRegistrationDTO> midias = invocation.getArgument(0);
+            while (midias.hasNext())
+                midias.next();
+            return new MidiaImportResultDTO();
+        });
+
+        mockMvc.perform(post("/midia/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\": }]"))
+                .andExpect(status().isBadRequest());
+    }
+
+}
@@ -1,15 +1,19 @@
 package com.catalog.midiacatalog.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Instant;
+
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,13 +27,19 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
+import com.catalog.midiacatalog.dto.User.LoginResponseDTO;
 import com.catalog.midiacatalog.dto.User.UserLoginDTO;
 import com.catalog.midiacatalog.dto.User.UserPwSetDTO;
 import com.catalog.midiacatalog.dto.User.UserRegistrationDTO;
 import com.catalog.midiacatalog.dto.User.UserResponseDTO;
 import com.catalog.midiacatalog.dto.User.UserUpdateDTO;
 import com.catalog.midiacatalog.exception.DataNotFoundException;
+import com.catalog.midiacatalog.exception.ForbiddenException;
 import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.exception.TooManyRequestsException;
+import com.catalog.midiacatalog.security.AuthenticatedUser;
+import com.catalog.midiacatalog.security.TokenAuthenticationFilter;
 import com.catalog.midiacatalog.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Arrays;
@@ -150,7 +160,7 @@ public class UserControllerTest {
 
     @Test
     void testRemoveUserSuccess() throws Exception {
-        when(userService.remove(any(Long.class))).thenReturn(userResponseDTO);
+        when(userService.remove(any(Long.class), any())).thenReturn(userResponseDTO);
 
         mockMvc.perform(delete("/user/remove/{id}", 1L)
                 .contentType(MediaType.APPLICATION_JSON))
@@ -170,7 +180,7 @@ public class UserControllerTest {
 
     @Test
     void testRemoveNotFoundId() throws Exception {
-        when(userService.remove(any(Long.class)))
+        when(userService.remove(any(Long.class), any()))
                 .thenThrow(new DataNotFoundException("No user found for this ID."));
 
         mockMvc.perform(delete("/user/remove/{id}", 2L)
@@ -180,9 +190,21 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.message").value(Matchers.containsString("No user found for this ID.")));
     }
 
+    @Test
+    void testRemoveOtherAccountIsForbidden() throws Exception {
+        AuthenticatedUser authenticated = new AuthenticatedUser(1L, "jhon@gmail.com", "token-id", Instant.parse("2030-01-01T00:00:00Z"));
+        when(userService.remove(2L, authenticated))
+                .thenThrow(new ForbiddenException("Users can only change their own account."));
+
+        mockMvc.perform(delete("/user/remove/{id}", 2L)
+                .requestAttr(TokenAuthenticationFilter.AUTHENTICATED_USER, authenticated))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Users can only change their own account."));
+    }
+
     @Test
     void testSetPasswordSuccess() throws Exception {
-        when(userService.setPassword(any(UserPwSetDTO.class)))
+        when(userService.setPassword(any(UserPwSetDTO.class), any()))
                 .thenReturn("Password reseted successfuly");
 
         mockMvc.perform(patch("/user/set-password")
@@ -193,9 +215,23 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.message").value("Password reseted successfuly"));
     }
 
+    @Test
+    void testSetPasswordForAnotherAccount() throws Exception {
+        AuthenticatedUser authenticated = new AuthenticatedUser(2L, "maria@gmail.com", "token-id", Instant.parse("2030-01-01T00:00:00Z"));
+        when(userService.setPassword(any(UserPwSetDTO.class), eq(authenticated)))
+                .thenThrow(new ForbiddenException("Users can only change their own account."));
+
+        mockMvc.perform(patch("/user/set-password")
+                .requestAttr(TokenAuthenticationFilter.AUTHENTICATED_USER, authenticated)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userPwSetDTO)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Users can only change their own account."));
+    }
+
     @Test
     void testSetPasswordWithNullCredentials() throws Exception {
-        when(userService.setPassword(any(UserPwSetDTO.class)))
+        when(userService.setPassword(any(UserPwSetDTO.class), any()))
                 .thenThrow(new DataValidationException("User credentials must be informed."));
 
         mockMvc.perform(patch("/user/set-password")
@@ -208,7 +244,7 @@ public class UserControllerTest {
 
     @Test
     void testSetPasswordNotFoundEmail() throws Exception {
-        when(userService.setPassword(any(UserPwSetDTO.class)))
+        when(userService.setPassword(any(UserPwSetDTO.class), any()))
                 .thenThrow(new DataNotFoundException("No user found for this email."));
 
         UserPwSetDTO notFoundEmail = new UserPwSetDTO("notfound@email.com", "Password123@");
@@ -224,7 +260,7 @@ public class UserControllerTest {
     @Test
     void testSetPasswordWithInvalidData() throws Exception {
         UserPwSetDTO invalidData = new UserPwSetDTO( "invalid-email", "weak");
-        when(userService.setPassword(any(UserPwSetDTO.class)))
+        when(userService.setPassword(any(UserPwSetDTO.class), any()))
                 .thenThrow(new DataValidationException(Arrays.asList(
                         "Invalid email format.",
                         "Password must contain at least 8 characters, one uppercase letter, one number and one special character."
@@ -249,20 +285,51 @@ public class UserControllerTest {
 
     @Test
     void testLoginSuccess() throws Exception {
-        when(userService.login(any(UserLoginDTO.class)))
-                .thenReturn(true);
+        when(userService.login(any(UserLoginDTO.class), any()))
+                .thenReturn(new LoginResponseDTO(true, "signed.token.value", "Bearer", Instant.parse("2030-01-01T00:00:00Z")));
 
         mockMvc.perform(post("/user/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(userLoginDTO)))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.logged").value(true));
+                .andExpect(jsonPath("$.logged").value(true))
+                .andExpect(jsonPath("$.token").value("signed.token.value"))
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.expiresAt").value("2030-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void testLoginThrottled() throws Exception {
+        when(userService.login(any(UserLoginDTO.class), eq("203.0.113.7")))
+                .thenThrow(new TooManyRequestsException("Too many login attempts, please retry later.", 12));
+
+        mockMvc.perform(post("/user/login")
+                .with(request -> {
+                    request.setRemoteAddr("203.0.113.7");
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userLoginDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"))
+                .andExpect(jsonPath("$.message").value("Too many login attempts, please retry later."));
+    }
+
+    @Test
+    void testLogoutPassesAuthenticatedUser() throws Exception {
+        AuthenticatedUser authenticated = new AuthenticatedUser(1L, "jhon@gmail.com", "token-id", Instant.parse("2030-01-01T00:00:00Z"));
+        when(userService.logout(authenticated)).thenReturn("Logged out successfully.");
+
+        mockMvc.perform(post("/user/logout")
+                .requestAttr(TokenAuthenticationFilter.AUTHENTICATED_USER, authenticated))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Logged out successfully."));
     }
 
     @Test
     void testLoginWithNullCredentials() throws Exception {
-        when(userService.login(any(UserLoginDTO.class)))
+        when(userService.login(any(UserLoginDTO.class), any()))
                 .thenThrow(new DataValidationException("User credentials must be informed."));
 
         mockMvc.perform(post("/user/login")
@@ -275,7 +342,7 @@ public class UserControllerTest {
 
     @Test
     void testLoginNotFoundEmail() throws Exception {
-        when(userService.login(any(UserLoginDTO.class)))
+        when(userService.login(any(UserLoginDTO.class), any()))
                 .thenThrow(new DataNotFoundException("No user found for this email."));
 
         UserLoginDTO notFoundEmail = new UserLoginDTO("notfound@email.com", "Password123@");
@@ -291,7 +358,7 @@ public class UserControllerTest {
     @Test
     void testLoginWithInvalidData() throws Exception {
         UserLoginDTO invalidData = new UserLoginDTO( "invalid-email", "weak");
-        when(userService.login(any(UserLoginDTO.class)))
+        when(userService.login(any(UserLoginDTO.class), any()))
                 .thenThrow(new DataValidationException(Arrays.asList(
                         "Invalid email format.",
                         "Password must contain at least 8 characters, one uppercase letter, one number and one special character."
@@ -309,7 +376,7 @@ public class UserControllerTest {
     @Test
     void testLoginWrongCredentials() throws Exception {
         UserLoginDTO wrongCredentials = new UserLoginDTO( "email@gmail.com", "Wrong123@");
-        when(userService.login(any(UserLoginDTO.class)))
+        when(userService.login(any(UserLoginDTO.class), any()))
                 .thenThrow(new DataValidationException("Wrong password or email address. Please try again."));
         mockMvc.perform(post("/user/login")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -329,7 +396,7 @@ public class UserControllerTest {
 
     @Test
     void testUpdateUserSuccess() throws Exception {
-        when(userService.update(any(Long.class), any(UserUpdateDTO.class))).thenReturn(userResponseDTO);
+        when(userService.update(any(Long.class), any(UserUpdateDTO.class), any())).thenReturn(userResponseDTO);
 
         mockMvc.perform(patch("/user/update/{id}", 1L)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -344,7 +411,7 @@ public class UserControllerTest {
     @Test
     void testUpdateUserWithInvalidData() throws Exception {
         UserUpdateDTO invalidData = new UserUpdateDTO("", "invalid-email", "weak");
-        when(userService.update(any(Long.class), any(UserUpdateDTO.class)))
+        when(userService.update(any(Long.class), any(UserUpdateDTO.class), any()))
                 .thenThrow(new DataValidationException(Arrays.asList(
                         "User name must be informed.",
                         "Invalid email format.",
@@ -364,7 +431,7 @@ public class UserControllerTest {
     @Test
     void testUpdateUserWithDuplicateEmail() throws Exception {
         UserUpdateDTO duplicateEmail = new UserUpdateDTO("John Updated", "existing@email.com", "Password123@");
-        when(userService.update(any(Long.class), any(UserUpdateDTO.class)))
+        when(userService.update(any(Long.class), any(UserUpdateDTO.class), any()))
                 .thenThrow(new DataValidationException("Email already registered."));
 
         mockMvc.perform(patch("/user/update/{id}", 1L)
@@ -377,7 +444,7 @@ public class UserControllerTest {
 
     @Test
     void testUpdateUserWithNullCredentials() throws Exception {
-        when(userService.update(any(Long.class), any(UserUpdateDTO.class)))
+        when(userService.update(any(Long.class), any(UserUpdateDTO.class), any()))
                 .thenThrow(new DataValidationException("User credentials must be informed."));
 
         mockMvc.perform(patch("/user/update/{id}", 1L)
@@ -390,7 +457,7 @@ public class UserControllerTest {
 
     @Test
     void testUpdateUserNotFoundId() throws Exception {
-        when(userService.update(any(Long.class), any(UserUpdateDTO.class)))
+        when(userService.update(any(Long.class), any(UserUpdateDTO.class), any()))
                 .thenThrow(new DataNotFoundException("No user found for this ID."));
 
         mockMvc.perform(patch("/user/update/{id}", 999L)
@@ -502,4 +569,33 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.message").value(Matchers.containsString("No users found in database.")));
     }
 
+    @Test
+    void testGetAllUsersCursorMode() throws Exception {
+        CursorPageResponseDTO<UserResponseDTO> slice =
+                new CursorPageResponseDTO<>(Arrays.asList(userResponseDTO), "next-token", true);
+        when(userService.getAllUsersAfter("", 1)).thenReturn(slice);
+
+        mockMvc.perform(get("/user/list")
+                .param("cursor", "")
+                .param("size", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void testGetAllUsersCursorModeInvalidCursor() throws Exception {
+        when(userService.getAllUsersAfter("bad", 10))
+                .thenThrow(new DataValidationException("Invalid cursor."));
+
+        mockMvc.perform(get("/user/list")
+                .param("cursor", "bad")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor."));
+    }
+
 }
@@ -0,0 +1,110 @@
+package com.catalog.midiacatalog.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class CastGraphTest {
+
+    // Midia 100: actors 1, 2, 3. Midia 200: actors 3, 4. Midia 300: actors 4, 5. Midia 400: actors 1, 2.
+    // Actor 6 only appears in midia 500, alone.
+    private final CastGraph graph = CastGraph.of(
+        new long[] {100, 100, 100, 200, 200, 300, 300, 400, 400, 500},
+        new long[] {1, 2, 3, 3, 4, 4, 5, 1, 2, 6}, 10);
+
+    @Test
+    void testCoStarsRankedBySharedMidias() {
+        List<CastGraph.CoStar> coStars = graph.coStars(1, 10);
+
+        assertEquals(List.of(new CastGraph.CoStar(2, 2), new CastGraph.CoStar(3, 1)), coStars);
+        assertEquals(1, graph.coStars(1, 1).size());
+        assertTrue(graph.coStars(6, 10).isEmpty());
+        assertTrue(graph.coStars(99, 10).isEmpty());
+    }
+
+    @Test
+    void testShortestPathAlternatesActorsAndMidias() {
+        assertArrayEquals(new long[] {1, 100, 3, 200, 4, 300, 5}, graph.shortestPath(1, 5));
+        assertArrayEquals(new long[] {5, 300, 4, 200, 3, 100, 1}, graph.shortestPath(5, 1));
+        assertArrayEquals(new long[] {3}, graph.shortestPath(3, 3));
+        assertNull(graph.shortestPath(1, 6));
+        assertNull(graph.shortestPath(1, 99));
+    }
+
+    @Test
+    void testReplaceCastsSwapsOnlyGivenMidias() {
+        // Actor 5 joins midia 100 and midia 300 loses its cast.
+        CastGraph updated = graph.replaceCasts(Set.of(100L, 300L),
+            new long[] {100, 100, 100, 100}, new long[] {1, 2, 3, 5}, 4);
+
+        assertArrayEquals(new long[] {1, 100, 5}, updated.shortestPath(1, 5));
+        assertEquals(List.of(new CastGraph.CoStar(3, 1)), updated.coStars(4, 10));
+        assertEquals(4, updated.midiaCount());
+        assertEquals(9, updated.edgeCount());
+    }
+
+    @Test
+    void testShortestPathLengthMatchesPlainBreadthFirstSearch() {
+        Random random = new Random(11);
+        int size = 3_000;
+        long[] midias = new long[size];
+        long[] actors = new long[size];
+        for (int i = 0; i < size; i++) {
+            midias[i] = random.nextInt(1_500);
+            actors[i] = random.nextInt(1_000);
+        }
+        CastGraph randomGraph = CastGraph.of(midias, actors, size);
+
+        Map<Long, Set<Long>> neighbours = new HashMap<>();
+        Map<Long, Set<Long>> casts = new HashMap<>();
+        for (int i = 0; i < size; i++)
+            casts.computeIfAbsent(midias[i], midia -> new HashSet<>()).add(actors[i]);
+        for (Set<Long> cast : casts.values())
+            for (Long actor : cast)
+                neighbours.computeIfAbsent(actor, key -> new HashSet<>()).addAll(cast);
+
+        for (int query = 0; query < 200; query++) {
+            long from = actors[random.nextInt(size)];
+            long to = actors[random.nextInt(size)];
+            long[] path = randomGraph.shortestPath(from, to);
+            int expected = distance(neighbours, from, to);
+
+            if (expected < 0) {
+                assertNull(path);
+                continue;
+            }
+            assertEquals(2 * expected + 1, path.length, from + " -> " + to);
+            assertEquals(from, path[0]);
+            assertEquals(to, path[path.length - 1]);
+            for (int i = 1; i < path.length; i += 2) {
+                assertTrue(casts.get(path[i]).contains(path[i - 1]));
+                assertTrue(casts.get(path[i]).contains(path[i + 1]));
+            }
+        }
+    }
+
+    private int distance(Map<Long, Set<Long>> neighbours, long from, long to) {
+        Map<Long, Integer> depth = new HashMap<>();
+        ArrayDeque<Long> queue = new ArrayDeque<>();
+        depth.put(from, 0);
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            long actor = queue.poll();
+            if (actor == to)
+                return depth.get(actor);
+            for (Long next : neighbours.get(actor)) {
+                if (depth.putIfAbsent(next, depth.get(actor) + 1) == null)
+                    queue.add(next);
+            }
+        }
+        return -1;
+    }
+}
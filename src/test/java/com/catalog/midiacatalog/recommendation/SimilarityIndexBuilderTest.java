@@ -0,0 +1,120 @@
+package com.catalog.midiacatalog.recommendation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.catalog.midiacatalog.recommendation.LikeMatrix.LikeChange;
+
+public class SimilarityIndexBuilderTest {
+
+    private ForkJoinPool pool;
+    private SimilarityIndexBuilder builder;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        builder = new SimilarityIndexBuilder(3, 1, 100, pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testNeighboursRankedByCosineSimilarity() {
+        // Users 1 and 2 liked midias 10 and 20, user 3 liked 10 and 30, user 4 liked only 30.
+        LikeMatrix likes = LikeMatrix.of(
+            new long[] {1, 1, 2, 2, 3, 3, 4},
+            new long[] {10, 20, 10, 20, 10, 30, 30}, 7);
+
+        SimilarityIndex index = builder.build(likes);
+
+        assertEquals(2, index.neighbourCount(10));
+        assertEquals(20, index.neighbour(10, 0));
+        assertEquals(2 / Math.sqrt(3 * 2), index.score(10, 0), 1e-6);
+        assertEquals(30, index.neighbour(10, 1));
+        assertEquals(1 / Math.sqrt(3 * 2), index.score(10, 1), 1e-6);
+        assertEquals(1, index.neighbourCount(20));
+        assertEquals(0, index.neighbourCount(99));
+    }
+
+    @Test
+    void testMinCoLikesAndHeavyUsersAreFilteredOut() {
+        SimilarityIndexBuilder strict = new SimilarityIndexBuilder(3, 2, 2, pool);
+        LikeMatrix likes = LikeMatrix.of(
+            new long[] {1, 1, 2, 2, 3, 3, 5, 5, 5},
+            new long[] {10, 20, 10, 20, 10, 30, 10, 30, 40}, 9);
+
+        SimilarityIndex index = strict.build(likes);
+
+        assertEquals(1, index.neighbourCount(10));
+        assertEquals(20, index.neighbour(10, 0));
+        assertEquals(0, index.neighbourCount(30));
+    }
+
+    @Test
+    void testApplyAddsAndRemovesLikes() {
+        LikeMatrix likes = LikeMatrix.of(new long[] {1, 1, 2}, new long[] {10, 20, 10}, 3);
+
+        Map<LikeChange, Boolean> changes = new HashMap<>();
+        changes.put(new LikeChange(1, 20), false);
+        changes.put(new LikeChange(2, 30), true);
+        changes.put(new LikeChange(3, 10), true);
+        LikeMatrix updated = likes.apply(changes);
+
+        assertEquals(4, updated.size());
+        assertEquals(3, updated.likesOfMidia(updated.midiaIndex(10)));
+        assertEquals(1, updated.likesOfMidia(updated.midiaIndex(30)));
+        assertTrue(updated.midiaIndex(20) < 0 || updated.likesOfMidia(updated.midiaIndex(20)) == 0);
+        assertEquals(3, likes.size());
+    }
+
+    @Test
+    void testIncrementalRebuildMatchesFullBuild() {
+        Random random = new Random(42);
+        LikeMatrix likes = randomLikes(random, 2_000, 80, 300);
+        SimilarityIndex index = builder.build(likes);
+
+        for (int round = 0; round < 20; round++) {
+            Map<LikeChange, Boolean> changes = new HashMap<>();
+            for (int i = 0; i < 15; i++)
+                changes.put(new LikeChange(random.nextInt(320), random.nextInt(90)), random.nextBoolean());
+
+            LikeMatrix updated = likes.apply(changes);
+            index = builder.rebuild(updated, index, updated.rowsAffectedBy(likes, changes.keySet()));
+            likes = updated;
+
+            assertSameNeighbours(builder.build(likes), index, likes);
+        }
+    }
+
+    private LikeMatrix randomLikes(Random random, int size, int midias, int users) {
+        long[] userIds = new long[size];
+        long[] midiaIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            userIds[i] = random.nextInt(users);
+            midiaIds[i] = random.nextInt(midias);
+        }
+        return LikeMatrix.of(userIds, midiaIds, size);
+    }
+
+    private void assertSameNeighbours(SimilarityIndex expected, SimilarityIndex actual, LikeMatrix likes) {
+        for (int row = 0; row < likes.midiaCount(); row++) {
+            long midiaId = likes.midiaId(row);
+            assertEquals(expected.neighbourCount(midiaId), actual.neighbourCount(midiaId), "midia " + midiaId);
+            for (int rank = 0; rank < expected.neighbourCount(midiaId); rank++) {
+                assertEquals(expected.neighbour(midiaId, rank), actual.neighbour(midiaId, rank), "midia " + midiaId);
+                assertEquals(expected.score(midiaId, rank), actual.score(midiaId, rank), 1e-6);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.catalog.midiacatalog.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.catalog.midiacatalog.model.Actor;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = "spring.jpa.properties.jakarta.persistence.validation.mode=none")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ActorRepository actorRepository;
+
+    @Autowired
+    private MidiaRepository midiaRepository;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private TransactionTemplate transaction;
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Long midiaId;
+    private Long actorId;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        transaction = new TransactionTemplate(transactionManager);
+        new HibernateMetrics(sessionFactory, "default", Tags.empty()).bindTo(meterRegistry);
+
+        Actor actor = new Actor();
+        actor.setName("Keanu Reeves");
+        actorId = actorRepository.save(actor).getId();
+        midiaId = midiaRepository.save(new Midia("The Matrix", Midiatype.MOVIE, 1999, null, null, null, null,
+            new ArrayList<>(List.of(actor)))).getId();
+
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        midiaRepository.deleteAll();
+        actorRepository.deleteAll();
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void testRepeatedLookupsAreServedFromCache() {
+        assertEquals("Keanu Reeves", actorRepository.findById(actorId).get().getName());
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals("Keanu Reeves", actorRepository.findById(actorId).get().getName());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("actors").getMissCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("actors").getHitCount());
+        assertEquals(1, meterRegistry.get("hibernate.second.level.cache.requests")
+            .tags("region", "actors", "result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testCastCollectionIsCached() {
+        assertEquals(List.of("Keanu Reeves"), castOf(midiaId));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(List.of("Keanu Reeves"), castOf(midiaId));
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("midia-actors").getHitCount());
+    }
+
+    @Test
+    void testCastChangeIsVisibleAfterCommit() {
+        castOf(midiaId);
+
+        transaction.executeWithoutResult(status -> {
+            Actor actor = new Actor();
+            actor.setName("Carrie-Anne Moss");
+            midiaRepository.findById(midiaId).get().getActors().add(actorRepository.save(actor));
+        });
+
+        assertEquals(List.of("Keanu Reeves", "Carrie-Anne Moss"), castOf(midiaId));
+    }
+
+    // Helper methods
+
+    private List<String> castOf(Long id) {
+        return transaction.execute(status ->
+            midiaRepository.findById(id).get().getActors().stream().map(Actor::getName).toList());
+    }
+}
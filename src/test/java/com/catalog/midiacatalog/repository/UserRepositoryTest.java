@@ -0,0 +1,39 @@
+package com.catalog.midiacatalog.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.catalog.midiacatalog.model.User;
+
+@DataJpaTest(properties = "spring.jpa.properties.jakarta.persistence.validation.mode=none")
+public class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User joaquim;
+
+    @BeforeEach
+    void setUp() {
+        joaquim = entityManager.persist(new User(null, "Joaquim", "Joaquim.Silva@Gmail.com", null, true));
+        entityManager.persist(new User(null, "Joana", "joana@gmail.com", null, true));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testEmailLookupIgnoresCase() {
+        assertEquals(joaquim.getId(), userRepository.findByEmailIgnoringCase("joaquim.silva@gmail.com").get().getId());
+        assertEquals(joaquim.getId(), userRepository.findByEmailIgnoringCase("JOAQUIM.SILVA@GMAIL.COM").get().getId());
+        assertEquals("Joaquim.Silva@Gmail.com", userRepository.findByEmailIgnoringCase("joaquim.silva@gmail.com").get().getEmail());
+        assertTrue(userRepository.findByEmailIgnoringCase("joaquim@gmail.com").isEmpty());
+    }
+}
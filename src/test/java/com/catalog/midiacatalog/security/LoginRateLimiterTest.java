@@ -0,0 +1,102 @@
+package com.catalog.midiacatalog.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.catalog.midiacatalog.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class LoginRateLimiterTest {
+
+    private LoginRateLimiter loginRateLimiter = new LoginRateLimiter();
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginRateLimiter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(loginRateLimiter, "addressPerMinute", 6);
+        ReflectionTestUtils.setField(loginRateLimiter, "addressBurst", 4);
+        ReflectionTestUtils.setField(loginRateLimiter, "emailPerMinute", 2);
+        ReflectionTestUtils.setField(loginRateLimiter, "emailBurst", 2);
+        ReflectionTestUtils.setField(loginRateLimiter, "maxKeys", 100);
+        ReflectionTestUtils.setField(loginRateLimiter, "overflowStripes", 8);
+        ReflectionTestUtils.setField(loginRateLimiter, "sweepIntervalMillis", 3_600_000L);
+        ReflectionTestUtils.setField(loginRateLimiter, "nanoClock", (LongSupplier) now::get);
+        loginRateLimiter.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginRateLimiter.stop();
+    }
+
+    @Test
+    void testEmailLimitIgnoresCaseAndAddress() {
+        loginRateLimiter.check("Joaquim@gmail.com", "10.0.0.1");
+        loginRateLimiter.check("joaquim@gmail.com ", "10.0.0.2");
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+            () -> loginRateLimiter.check("JOAQUIM@gmail.com", "10.0.0.3"));
+
+        assertEquals("Too many login attempts, please retry later.", exception.getMessage());
+        assertEquals(30, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("catalog.login.throttled").tag("scope", "email").counter().count());
+        loginRateLimiter.check("joana@gmail.com", "10.0.0.3");
+    }
+
+    @Test
+    void testRefundedAttemptsLeaveEmailBudget() {
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.check("joaquim@gmail.com", "10.0.0." + i);
+            loginRateLimiter.refund(" Joaquim@gmail.com");
+        }
+
+        // Refunds only give back what was taken, so two failures still exhaust the budget.
+        loginRateLimiter.check("joaquim@gmail.com", "10.0.0.4");
+        loginRateLimiter.check("joaquim@gmail.com", "10.0.0.5");
+        loginRateLimiter.refund("joana@gmail.com");
+        assertThrows(TooManyRequestsException.class, () -> loginRateLimiter.check("joaquim@gmail.com", "10.0.0.6"));
+    }
+
+    @Test
+    void testAddressLimitSpansEmails() {
+        for (int i = 0; i < 4; i++)
+            loginRateLimiter.check("user" + i + "@gmail.com", "10.0.0.1");
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+            () -> loginRateLimiter.check("user9@gmail.com", "10.0.0.1"));
+
+        assertEquals(10, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("catalog.login.throttled").tag("scope", "address").counter().count());
+
+        // The rejected attempt was stopped before the email bucket was charged.
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        loginRateLimiter.check("user9@gmail.com", "10.0.0.1");
+        loginRateLimiter.check("user9@gmail.com", "10.0.0.2");
+    }
+
+    @Test
+    void testSweepDropsRefilledKeys() {
+        loginRateLimiter.check("joaquim@gmail.com", "10.0.0.1");
+        assertEquals(1, meterRegistry.get("catalog.login.throttle.keys").tag("scope", "email").gauge().value());
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        loginRateLimiter.sweep();
+
+        assertEquals(0, meterRegistry.get("catalog.login.throttle.keys").tag("scope", "email").gauge().value());
+        assertEquals(0, meterRegistry.get("catalog.login.throttle.keys").tag("scope", "address").gauge().value());
+    }
+}
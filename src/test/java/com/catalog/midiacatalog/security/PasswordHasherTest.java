@@ -0,0 +1,104 @@
+package com.catalog.midiacatalog.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.catalog.midiacatalog.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher = new PasswordHasher();
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.stop();
+    }
+
+    @Test
+    void testHashAndVerify() {
+        start(4, 2, 10);
+
+        String hash = passwordHasher.hash("Senhaforte123@");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(passwordHasher.matches("Senhaforte123@", hash));
+        assertFalse(passwordHasher.matches("Senhaforte123!", hash));
+        assertFalse(passwordHasher.needsRehash(hash));
+        assertEquals(1, meterRegistry.get("catalog.password.hashing").tag("operation", "hash").timer().count());
+        assertEquals(2, meterRegistry.get("catalog.password.hashing").tag("operation", "verify").timer().count());
+        assertEquals(3, meterRegistry.get("catalog.password.hashing.queue.wait").timer().count());
+    }
+
+    @Test
+    void testPlaintextAndOtherCostsNeedRehash() {
+        start(5, 1, 10);
+
+        assertTrue(passwordHasher.matches("Senhaforte123@", "Senhaforte123@"));
+        assertFalse(passwordHasher.matches("Senhaforte123!", "Senhaforte123@"));
+        assertTrue(passwordHasher.needsRehash("Senhaforte123@"));
+        assertTrue(passwordHasher.needsRehash(new BCryptPasswordEncoder(4).encode("x")));
+        assertFalse(passwordHasher.needsRehash(passwordHasher.hash("x")));
+    }
+
+    @Test
+    void testPasswordsPastBcryptLimitArePrehashed() {
+        start(4, 1, 10);
+        String legacy = "Senhaforte123@" + "a".repeat(70);
+
+        String hash = passwordHasher.hash(legacy);
+
+        assertTrue(passwordHasher.matches(legacy, hash));
+        assertFalse(passwordHasher.matches(legacy + "b", hash));
+        assertFalse(passwordHasher.needsRehash(hash));
+    }
+
+    @Test
+    void testFullQueueIsRejected() {
+        start(4, 1, 1);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHasher, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+
+        // One task occupies the only thread and another fills the queue.
+        executor.execute(() -> awaitQuietly(release));
+        executor.execute(() -> awaitQuietly(release));
+
+        ServiceBusyException exception = assertThrows(ServiceBusyException.class, () -> passwordHasher.hash("Senhaforte123@"));
+        assertEquals("Password hashing is busy, please retry shortly.", exception.getMessage());
+        assertEquals(1, meterRegistry.get("catalog.password.hashing.rejected").counter().count());
+        assertEquals(1, meterRegistry.get("catalog.password.hashing.queue.depth").gauge().value());
+
+        release.countDown();
+        while (!executor.getQueue().isEmpty())
+            Thread.yield();
+        assertTrue(passwordHasher.matches("x", passwordHasher.hash("x")));
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void start(int strength, int threads, int queueCapacity) {
+        ReflectionTestUtils.setField(passwordHasher, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(passwordHasher, "strength", strength);
+        ReflectionTestUtils.setField(passwordHasher, "threads", threads);
+        ReflectionTestUtils.setField(passwordHasher, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(passwordHasher, "timeoutMillis", 10_000L);
+        passwordHasher.start();
+    }
+}
@@ -0,0 +1,105 @@
+package com.catalog.midiacatalog.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void testBurstThenSteadyRefill() {
+        RateLimiter limiter = new RateLimiter(60, 3, 100, 4, now::get);
+
+        for (int i = 0; i < 3; i++)
+            assertEquals(0, limiter.tryAcquire("a"));
+        long wait = limiter.tryAcquire("a");
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+
+        // Rejections do not push the next permit further away.
+        assertEquals(wait, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("b"));
+
+        now.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void testIdleKeysAreSwept() {
+        RateLimiter limiter = new RateLimiter(60, 2, 100, 4, now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        limiter.tryAcquire("b");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, limiter.sweepIdle());
+        assertEquals(1, limiter.size());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, limiter.sweepIdle());
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void testKeysBeyondCapacityShareOverflowStripes() {
+        RateLimiter limiter = new RateLimiter(60, 2, 2, 1, now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        // The single stripe stands for two keys, so it has twice the burst and refills twice as fast.
+        for (int i = 0; i < 4; i++)
+            assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limiter.tryAcquire("d"));
+        assertEquals(2, limiter.size());
+
+        limiter.refund("d");
+        assertEquals(0, limiter.tryAcquire("e"));
+    }
+
+    @Test
+    void testRefundNeverBanksPermits() {
+        RateLimiter limiter = new RateLimiter(60, 2, 100, 4, now::get);
+        limiter.refund("a");
+        limiter.tryAcquire("a");
+        limiter.refund("a");
+        limiter.refund("a");
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedBurst() throws Exception {
+        RateLimiter limiter = new RateLimiter(1, 50, 100, 4, now::get);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        for (int i = 0; i < 8; i++)
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < 1000; j++)
+                        if (limiter.tryAcquire("shared") == 0)
+                            granted.incrementAndGet();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(50, granted.get());
+    }
+}
@@ -0,0 +1,84 @@
+package com.catalog.midiacatalog.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class TokenAuthenticationFilterTest {
+
+    @Mock
+    private TokenService tokenService;
+
+    private TokenAuthenticationFilter filter;
+
+    private final AuthenticatedUser authenticated =
+        new AuthenticatedUser(7L, "joaquim@gmail.com", "token-id", Instant.parse("2030-01-01T00:00:00Z"));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        filter = new TokenAuthenticationFilter(tokenService, new ObjectMapper(), List.of("/user/update/**", "/user/logout"));
+    }
+
+    @Test
+    void testValidTokenExposesAuthenticatedUser() throws Exception {
+        when(tokenService.authenticate("good")).thenReturn(authenticated);
+        MockHttpServletRequest request = request("/user/update/7", "Bearer good");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(authenticated, request.getAttribute(TokenAuthenticationFilter.AUTHENTICATED_USER));
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void testInvalidTokenIsRejectedEverywhere() throws Exception {
+        when(tokenService.authenticate("bad")).thenThrow(new InvalidTokenException("Token expired."));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/midia/all", "Bearer bad"), response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertEquals("Bearer", response.getHeader("WWW-Authenticate"));
+        assertTrue(response.getContentAsString().contains("Token expired."));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void testMissingTokenOnlyRejectedOnProtectedPaths() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/user/logout", null), response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getContentAsString().contains("Authentication token must be informed."));
+        assertNull(chain.getRequest());
+
+        chain = new MockFilterChain();
+        filter.doFilter(request("/midia/all", null), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        verifyNoInteractions(tokenService);
+    }
+
+    private MockHttpServletRequest request(String path, String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        if (authorization != null)
+            request.addHeader("Authorization", authorization);
+        return request;
+    }
+}
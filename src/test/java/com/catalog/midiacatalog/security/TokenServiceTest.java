@@ -0,0 +1,143 @@
+package com.catalog.midiacatalog.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.catalog.midiacatalog.exception.ServiceBusyException;
+import com.catalog.midiacatalog.model.User;
+import com.catalog.midiacatalog.security.TokenService.IssuedToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class TokenServiceTest {
+
+    private static final String OLD_KEY = "old:" + secret("old-secret-old-secret-old-secret!");
+    private static final String NEW_KEY = "new:" + secret("new-secret-new-secret-new-secret!");
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+
+    private final User user = new User(7L, "Joaquim", "joaquim@gmail.com", "hash", true);
+
+    @Test
+    void testIssuedTokenAuthenticates() {
+        TokenService tokenService = start(List.of(NEW_KEY), "new", 3);
+
+        IssuedToken issued = tokenService.issue(user);
+        AuthenticatedUser authenticated = tokenService.authenticate(issued.token());
+
+        assertEquals(NOW.plus(Duration.ofHours(1)), issued.expiresAt());
+        assertEquals(7L, authenticated.userId());
+        assertEquals("joaquim@gmail.com", authenticated.email());
+        assertEquals(issued.expiresAt(), authenticated.expiresAt());
+        assertNotEquals(tokenService.issue(user).token(), issued.token());
+    }
+
+    @Test
+    void testTamperedAndMalformedTokensAreRejected() {
+        TokenService tokenService = start(List.of(NEW_KEY), "new", 3);
+        String token = tokenService.issue(user).token();
+        String[] parts = token.split("\\.");
+        String forgedClaims = Base64.getUrlEncoder().withoutPadding().encodeToString(
+            "{\"sub\":\"1\",\"email\":\"admin@gmail.com\",\"jti\":\"x\",\"exp\":4102444800}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("Invalid token signature.", assertThrows(InvalidTokenException.class,
+            () -> tokenService.authenticate(parts[0] + "." + forgedClaims + "." + parts[2])).getMessage());
+        assertEquals("Malformed token.", assertThrows(InvalidTokenException.class,
+            () -> tokenService.authenticate("not-a-token")).getMessage());
+        assertEquals("Malformed token.", assertThrows(InvalidTokenException.class,
+            () -> tokenService.authenticate("%%%." + parts[1] + "." + parts[2])).getMessage());
+        assertEquals("Token must be informed.", assertThrows(InvalidTokenException.class,
+            () -> tokenService.authenticate(" ")).getMessage());
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        TokenService tokenService = start(List.of(NEW_KEY), "new", 3);
+        String token = tokenService.issue(user).token();
+
+        ReflectionTestUtils.setField(tokenService, "clock", Clock.fixed(NOW.plus(Duration.ofHours(1)), ZoneOffset.UTC));
+
+        assertEquals("Token expired.", assertThrows(InvalidTokenException.class,
+            () -> tokenService.authenticate(token)).getMessage());
+    }
+
+    @Test
+    void testRotatedKeyStillVerifiesUntilRemoved() {
+        TokenService before = start(List.of(OLD_KEY), "old", 3);
+        String oldToken = before.issue(user).token();
+
+        TokenService rotated = start(List.of(NEW_KEY, OLD_KEY), "new", 3);
+        assertEquals(7L, rotated.authenticate(oldToken).userId());
+        assertTrue(rotated.issue(user).token().startsWith(
+            Base64.getUrlEncoder().withoutPadding().encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\",\"kid\":\"new\"}".getBytes(StandardCharsets.UTF_8))));
+
+        TokenService retired = start(List.of(NEW_KEY), "new", 3);
+        assertEquals("Unknown signing key.", assertThrows(InvalidTokenException.class,
+            () -> retired.authenticate(oldToken)).getMessage());
+    }
+
+    @Test
+    void testRevokedTokensAreRejectedAndExpiredRevocationsPurged() {
+        TokenService tokenService = start(List.of(NEW_KEY), "new", 2);
+        IssuedToken first = tokenService.issue(user);
+        IssuedToken second = tokenService.issue(user);
+
+        tokenService.revoke(tokenService.authenticate(first.token()));
+        tokenService.revoke(tokenService.authenticate(second.token()));
+
+        assertEquals("Token revoked.", assertThrows(InvalidTokenException.class,
+            () -> tokenService.authenticate(first.token())).getMessage());
+        assertEquals(2, tokenService.revokedCount());
+
+        // Once both revoked tokens have expired, the next revocation makes room by dropping them.
+        ReflectionTestUtils.setField(tokenService, "clock", Clock.fixed(NOW.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+        IssuedToken third = tokenService.issue(user);
+        tokenService.revoke(tokenService.authenticate(third.token()));
+
+        assertEquals(1, tokenService.revokedCount());
+    }
+
+    @Test
+    void testFullRevocationSetRefusesNewEntries() {
+        TokenService tokenService = start(List.of(NEW_KEY), "new", 1);
+        AuthenticatedUser first = tokenService.authenticate(tokenService.issue(user).token());
+        AuthenticatedUser second = tokenService.authenticate(tokenService.issue(user).token());
+
+        tokenService.revoke(first);
+        tokenService.revoke(first);
+        assertThrows(ServiceBusyException.class, () -> tokenService.revoke(second));
+
+        assertEquals(1, tokenService.revokedCount());
+    }
+
+    @Test
+    void testMisconfiguredKeysFailFast() {
+        assertThrows(IllegalStateException.class, () -> start(List.of("no-separator"), "", 3));
+        assertThrows(IllegalStateException.class, () -> start(List.of(NEW_KEY), "missing", 3));
+        assertNotNull(start(List.of(), "", 3).issue(user).token());
+    }
+
+    private TokenService start(List<String> keys, String activeKey, int maxRevoked) {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(tokenService, "signingKeys", keys);
+        ReflectionTestUtils.setField(tokenService, "activeKeyId", activeKey);
+        ReflectionTestUtils.setField(tokenService, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(tokenService, "maxRevoked", maxRevoked);
+        ReflectionTestUtils.setField(tokenService, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+        tokenService.start();
+        return tokenService;
+    }
+
+    private static String secret(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,140 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.catalog.midiacatalog.dto.Midia.MidiaUpdateDTO;
+import com.catalog.midiacatalog.model.Actor;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+import com.catalog.midiacatalog.repository.ActorRepository;
+import com.catalog.midiacatalog.repository.MidiaRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Runs outside a test transaction so cast changes really commit and the after-commit eviction fires.
+@DataJpaTest(properties = "spring.jpa.properties.jakarta.persistence.validation.mode=none")
+@Import({MidiaService.class, ActorMidiasCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ActorMidiasCacheTest {
+
+    private static final String ACTOR_MIDIAS = Actor.class.getName() + ".midias";
+
+    @MockitoBean
+    private CastGraphService castGraphService;
+
+    @MockitoBean
+    private RatingAggregateService ratingAggregateService;
+
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
+    @MockitoBean
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ActorRepository actorRepository;
+
+    @Autowired
+    private MidiaRepository midiaRepository;
+
+    @Autowired
+    private MidiaService midiaService;
+
+    @Autowired
+    private ActorMidiasCache actorMidiasCache;
+
+    private Cache cache;
+    private TransactionTemplate transaction;
+
+    private Long keanuId;
+    private Long carrieId;
+    private Long amyId;
+    private Long matrixId;
+
+    @BeforeEach
+    void setUp() {
+        cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        transaction = new TransactionTemplate(transactionManager);
+
+        Actor keanu = actor("Keanu Reeves");
+        Actor amy = actor("Amy Adams");
+        keanuId = keanu.getId();
+        carrieId = actor("Carrie-Anne Moss").getId();
+        amyId = amy.getId();
+        matrixId = midiaRepository.save(new Midia("The Matrix", Midiatype.MOVIE, 1999, null, null, null, null,
+            new ArrayList<>(List.of(keanu)))).getId();
+        midiaRepository.save(new Midia("Arrival", Midiatype.MOVIE, 2016, null, null, null, null,
+            new ArrayList<>(List.of(amy))));
+
+        cache.evictAllRegions();
+        List.of(keanuId, carrieId, amyId).forEach(this::midiaCountOf);
+    }
+
+    @AfterEach
+    void tearDown() {
+        midiaRepository.deleteAll();
+        actorRepository.deleteAll();
+        cache.evictAllRegions();
+    }
+
+    @Test
+    void testCastChangeEvictsOldAndNewActorsOnReturn() {
+        MidiaUpdateDTO recast = new MidiaUpdateDTO();
+        recast.setActorIds(List.of(carrieId));
+
+        midiaService.update(matrixId, recast);
+
+        assertFalse(cache.containsCollection(ACTOR_MIDIAS, keanuId));
+        assertFalse(cache.containsCollection(ACTOR_MIDIAS, carrieId));
+        assertTrue(cache.containsCollection(ACTOR_MIDIAS, amyId));
+        assertEquals(0, midiaCountOf(keanuId));
+        assertEquals(1, midiaCountOf(carrieId));
+    }
+
+    @Test
+    void testEvictionWaitsForCommit() {
+        transaction.executeWithoutResult(status -> {
+            actorMidiasCache.evictAfterCommit(List.of(keanuId));
+            assertTrue(cache.containsCollection(ACTOR_MIDIAS, keanuId));
+            status.setRollbackOnly();
+        });
+        assertTrue(cache.containsCollection(ACTOR_MIDIAS, keanuId));
+
+        transaction.executeWithoutResult(status -> actorMidiasCache.evictAfterCommit(List.of(keanuId)));
+        assertFalse(cache.containsCollection(ACTOR_MIDIAS, keanuId));
+    }
+
+
+    // Helper methods
+    private Actor actor(String name) {
+        Actor actor = new Actor();
+        actor.setName(name);
+        return actorRepository.save(actor);
+    }
+
+    private int midiaCountOf(Long actorId) {
+        return transaction.execute(status -> actorRepository.findById(actorId).get().getMidias().size());
+    }
+}
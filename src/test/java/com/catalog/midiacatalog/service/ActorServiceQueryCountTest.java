@@ -0,0 +1,171 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.catalog.midiacatalog.dto.Actor.ActorDTO;
+import com.catalog.midiacatalog.dto.Actor.ActorSimpleDTO;
+import com.catalog.midiacatalog.dto.Midia.DetailedMidiaResponseDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaResponseDTO;
+import com.catalog.midiacatalog.model.Actor;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+import com.catalog.midiacatalog.repository.ActorRepository;
+import com.catalog.midiacatalog.repository.MidiaRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Runs without a surrounding transaction, as requests do with open-in-view disabled,
+// so any association a read path forgets to fetch fails with a LazyInitializationException.
+@DataJpaTest(properties = "spring.jpa.properties.jakarta.persistence.validation.mode=none")
+@Import({ActorService.class, MidiaService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ActorServiceQueryCountTest {
+
+    private static final int MIDIA_COUNT = 12;
+
+    @MockitoBean
+    private CastGraphService castGraphService;
+
+    @MockitoBean
+    private ActorMidiasCache actorMidiasCache;
+
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
+    @MockitoBean
+    private RecommendationService recommendationService;
+
+    @MockitoBean
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ActorRepository actorRepository;
+
+    @Autowired
+    private MidiaRepository midiaRepository;
+
+    @Autowired
+    private ActorService actorService;
+
+    @Autowired
+    private MidiaService midiaService;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    private Actor lead;
+    private Actor costar;
+    private List<Midia> midias = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+
+        lead = actorRepository.save(actor("Keanu Reeves"));
+        costar = actorRepository.save(actor("Carrie-Anne Moss"));
+        for (int i = 0; i < MIDIA_COUNT; i++)
+            midias.add(midiaRepository.save(new Midia(String.format("Midia %02d", i), Midiatype.MOVIE, 2000 + i,
+                null, null, null, null, new ArrayList<>(List.of(lead, costar)))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        midiaRepository.deleteAll();
+        actorRepository.deleteAll();
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void testGetActorFetchesMidiasInOneStatement() {
+        resetCounters();
+
+        ActorDTO actor = actorService.getActor(lead.getId());
+
+        assertEquals(MIDIA_COUNT, actor.getMidias().size());
+        assertTrue(actor.getMidias().stream().map(MidiaResponseDTO::getTitle).toList().contains("Midia 00"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetAllActorMidiasStatementCountIndependentOfPageSize() {
+        long smallPage = countStatementsForPage(3);
+        long largePage = countStatementsForPage(MIDIA_COUNT);
+
+        assertEquals(smallPage, largePage);
+        assertTrue(smallPage <= 4, "Expected existence check, page, count and cast fetch only, got " + smallPage);
+    }
+
+    @Test
+    void testGetMidiaReturnsCast() {
+        resetCounters();
+
+        DetailedMidiaResponseDTO midia = midiaService.getMidia(midias.get(0).getId());
+
+        assertEquals(List.of("Keanu Reeves", "Carrie-Anne Moss"),
+            midia.getActors().stream().map(ActorSimpleDTO::getName).collect(Collectors.toList()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testCastChangesWorkOutsideTransaction() {
+        Actor newcomer = actorRepository.save(actor("Laurence Fishburne"));
+        Long midiaId = midias.get(0).getId();
+
+        actorService.addMidia(newcomer.getId(), midiaId);
+        assertEquals(3, midiaService.getMidia(midiaId).getActors().size());
+
+        MidiaDTO removed = actorService.removeMidia(lead.getId(), midiaId);
+
+        assertEquals(List.of("Carrie-Anne Moss", "Laurence Fishburne"),
+            removed.getActors().stream().map(ActorSimpleDTO::getName).collect(Collectors.toList()));
+        assertEquals(2, midiaService.getMidia(midiaId).getActors().size());
+        assertEquals(MIDIA_COUNT - 1, actorService.getActor(lead.getId()).getMidias().size());
+    }
+
+    // Helper methods
+
+    private long countStatementsForPage(int pageSize) {
+        resetCounters();
+
+        Page<MidiaDTO> page = actorService.getAllActorMidias(lead.getId(), PageRequest.of(0, pageSize, Sort.by("title")));
+
+        assertEquals(pageSize, page.getContent().size());
+        page.getContent().forEach(midia -> assertEquals(2, midia.getActors().size()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void resetCounters() {
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    private Actor actor(String name) {
+        Actor actor = new Actor();
+        actor.setName(name);
+        return actor;
+    }
+}
@@ -17,11 +17,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorRegistrationDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorResponseDTO;
+import com.catalog.midiacatalog.dto.Actor.ActorSimpleDTO;
 import com.catalog.midiacatalog.dto.Actor.ActorUpdateDTO;
 import com.catalog.midiacatalog.dto.Midia.MidiaDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaResponseDTO;
 import com.catalog.midiacatalog.exception.DataNotFoundException;
 import com.catalog.midiacatalog.exception.DataValidationException;
 import com.catalog.midiacatalog.model.Actor;
@@ -29,6 +32,8 @@ import com.catalog.midiacatalog.model.Midia;
 import com.catalog.midiacatalog.model.enums.Midiatype;
 import com.catalog.midiacatalog.repository.ActorRepository;
 import com.catalog.midiacatalog.repository.MidiaRepository;
+import com.catalog.midiacatalog.repository.projection.ActorSummary;
+import com.catalog.midiacatalog.repository.projection.MidiaActorSummary;
 
 public class ActorServiceTest {
     @Mock
@@ -37,6 +42,12 @@ public class ActorServiceTest {
     @Mock
     private MidiaRepository midiaRepository;
 
+    @Mock
+    private CastGraphService castGraphService;
+
+    @Mock
+    private ActorMidiasCache actorMidiasCache;
+
     @InjectMocks
     private ActorService actorService;
 
@@ -190,7 +201,8 @@ public class ActorServiceTest {
 
     @Test
     void testGetActorSuccess(){
-        when(actorRepository.findById(actor1.getId())).thenReturn(Optional.of(actor1));
+        actor1.getMidias().add(midia1);
+        when(actorRepository.findWithMidiasById(actor1.getId())).thenReturn(Optional.of(actor1));
 
         ActorDTO found = actorService.getActor(actor1.getId());
 
@@ -198,8 +210,8 @@ public class ActorServiceTest {
         assertEquals(actor1.getId(), found.getId());
         assertEquals(actor1.getName(), found.getName());
         assertEquals(actor1.getBirthDate(), found.getBirthDate());
-        assertEquals(actor1.getMidias(),found.getMidias());
-        verify(actorRepository, times(1)).findById(actor1.getId());
+        assertEquals(List.of(new MidiaResponseDTO(midia1.getId(), midia1.getTitle(), midia1.getType())), found.getMidias());
+        verify(actorRepository, times(1)).findWithMidiasById(actor1.getId());
     }
 
     @Test
@@ -215,7 +227,7 @@ public class ActorServiceTest {
     @Test
     void testGetActorFailActorNotFound(){
         Long actorId = 1L;
-        when(actorRepository.findById(actorId)).thenReturn(Optional.empty());
+        when(actorRepository.findWithMidiasById(actorId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(DataNotFoundException.class,
             () -> {
@@ -223,15 +235,15 @@ public class ActorServiceTest {
             });
 
         assertEquals("Actor not found.", exception.getMessage());
-        verify(actorRepository, times(1)).findById(actorId);
+        verify(actorRepository, times(1)).findWithMidiasById(actorId);
     }
 
     @Test
     void testGetAllActorsSuccess(){
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Actor> actorPage = new PageImpl<>(Arrays.asList(actor1, actor2), pageable, 2);
+        Page<ActorSummary> actorPage = new PageImpl<>(Arrays.asList(toSummary(actor1), toSummary(actor2)), pageable, 2);
         
-        when(actorRepository.findAll(pageable)).thenReturn(actorPage);
+        when(actorRepository.findAllSummaries(pageable)).thenReturn(actorPage);
 
         Page<ActorDTO> found = actorService.getAllActors(pageable);
         
@@ -241,15 +253,15 @@ public class ActorServiceTest {
         assertEquals(actor2.getName(), found.getContent().get(1).getName());
         assertEquals(2, found.getTotalElements());
         assertEquals(1, found.getTotalPages());
-        verify(actorRepository, times(1)).findAll(pageable);
+        verify(actorRepository, times(1)).findAllSummaries(pageable);
     }
 
     @Test
     void testGetAllActorsEmptyList() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Actor> emptyPage = new PageImpl<>(new ArrayList<>(), pageable, 0);
+        Page<ActorSummary> emptyPage = new PageImpl<>(new ArrayList<>(), pageable, 0);
         
-        when(actorRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(actorRepository.findAllSummaries(pageable)).thenReturn(emptyPage);
 
         Exception exception = assertThrows(DataNotFoundException.class,
             () -> {
@@ -257,19 +269,23 @@ public class ActorServiceTest {
             });
 
         assertEquals("No actors found in database.", exception.getMessage());
-        verify(actorRepository, times(1)).findAll(pageable);
+        verify(actorRepository, times(1)).findAllSummaries(pageable);
     }
 
     @Test
     void testAddMidiaSuccess(){
-        when(actorRepository.findById(actor1.getId())).thenReturn(Optional.of(actor1));
-        when(midiaRepository.findById(midia1.getId())).thenReturn(Optional.of(midia1));
+        when(actorRepository.findWithMidiasById(actor1.getId())).thenReturn(Optional.of(actor1));
+        when(midiaRepository.findWithActorsById(midia1.getId())).thenReturn(Optional.of(midia1));
 
         String response = actorService.addMidia(actor1.getId(),midia1.getId());
         
         assertNotNull(response);
         assertEquals(response, "Midia added successfully");
         verify(actorRepository, times(1)).save(actor1);
+        verify(midiaRepository, times(1)).save(midia1);
+        assertTrue(midia1.getActors().contains(actor1));
+        verify(castGraphService).castsChanged(List.of(midia1.getId()));
+        verify(actorMidiasCache).evictAfterCommit(List.of(actor1.getId()));
     }
 
     @Test
@@ -285,7 +301,7 @@ public class ActorServiceTest {
     @Test
     void testAddMidiaFailActorNotFound(){
         Long actorId = 1L;
-        when(actorRepository.findById(actorId)).thenReturn(Optional.empty());
+        when(actorRepository.findWithMidiasById(actorId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(DataNotFoundException.class,
             () -> {
@@ -293,7 +309,7 @@ public class ActorServiceTest {
             });
 
         assertEquals("Actor not found.", exception.getMessage());
-        verify(actorRepository, times(1)).findById(actorId);
+        verify(actorRepository, times(1)).findWithMidiasById(actorId);
     }
 
     @Test
@@ -309,14 +325,14 @@ public class ActorServiceTest {
     @Test
     void testAddMidiaFailMidiaNotFound(){
         Long midiaId = 1L;
-        when(actorRepository.findById(actor1.getId())).thenReturn(Optional.of(actor1));
-        when(midiaRepository.findById(midiaId)).thenReturn(Optional.empty());
+        when(actorRepository.findWithMidiasById(actor1.getId())).thenReturn(Optional.of(actor1));
+        when(midiaRepository.findWithActorsById(midiaId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(DataNotFoundException.class,
             () -> actorService.addMidia(actor1.getId(), midiaId));
 
         assertEquals("Midia not found.", exception.getMessage());
-        verify(midiaRepository, times(1)).findById(midiaId);
+        verify(midiaRepository, times(1)).findWithActorsById(midiaId);
         verify(actorRepository, never()).save(any());
     }
 
@@ -327,20 +343,24 @@ public class ActorServiceTest {
         midiaList.add(midia2);
         
         actor1.setMidias(midiaList);
-        when(actorRepository.findById(actor1.getId())).thenReturn(Optional.of(actor1));
+        midia1.setActors(new ArrayList<>(List.of(actor1, actor2)));
+        when(actorRepository.findWithMidiasById(actor1.getId())).thenReturn(Optional.of(actor1));
+        when(midiaRepository.findWithActorsById(midia1.getId())).thenReturn(Optional.of(midia1));
 
         MidiaDTO removed = actorService.removeMidia(actor1.getId(), midia1.getId());
 
         assertNotNull(removed);
         assertEquals(midia1.getId(), removed.getId());
         assertEquals(midia1.getTitle(), removed.getTitle());
-        assertEquals(midia1.getActors(), removed.getActors());
+        assertEquals(List.of(new ActorSimpleDTO(actor2.getId(), actor2.getName())), removed.getActors());
         assertEquals(midia1.getDirector(), removed.getDirector());
         assertEquals(midia1.getGenre(), removed.getGenre());
         assertEquals(midia1.getPoseterImageUrl(), removed.getPoseterImageUrl());
         assertEquals(midia1.getSynopsis(), removed.getSynopsis());        
         assertEquals(midia1.getType(), removed.getType());        
+        assertEquals(List.of(midia2), actor1.getMidias());
         verify(actorRepository, times(1)).save(actor1);
+        verify(midiaRepository, times(1)).save(midia1);
     }
 
     @Test
@@ -357,7 +377,7 @@ public class ActorServiceTest {
     @Test
     void testRemoveMidiaFailActorNotFound(){
         Long actorId = 1L;
-        when(actorRepository.findById(actorId)).thenReturn(Optional.empty());
+        when(actorRepository.findWithMidiasById(actorId)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(DataNotFoundException.class,
             () -> {
@@ -365,7 +385,7 @@ public class ActorServiceTest {
             });
 
         assertEquals("Actor not found.", exception.getMessage());
-        verify(actorRepository, times(1)).findById(actorId);
+        verify(actorRepository, times(1)).findWithMidiasById(actorId);
         verify(actorRepository, never()).save(any());
     }
 
@@ -383,13 +403,13 @@ public class ActorServiceTest {
     @Test
     void testRemoveMidiaFailMidiaNotFound(){
         Long midiaId = 1L;
-        when(actorRepository.findById(actor1.getId())).thenReturn(Optional.of(actor1));
+        when(actorRepository.findWithMidiasById(actor1.getId())).thenReturn(Optional.of(actor1));
 
         Exception exception = assertThrows(DataNotFoundException.class,
             () -> actorService.removeMidia(actor1.getId(), midiaId));
 
         assertEquals("No midias found for this actor.", exception.getMessage());
-        verify(actorRepository, times(1)).findById(midiaId);
+        verify(actorRepository, times(1)).findWithMidiasById(actor1.getId());
         verify(actorRepository, never()).save(any());
     }
 
@@ -400,8 +420,12 @@ public class ActorServiceTest {
         midiaList.add(midia1);
         midiaList.add(midia2);
         
-        actor1.setMidias(midiaList);
-        when(actorRepository.findById(actor1.getId())).thenReturn(Optional.of(actor1));
+        when(actorRepository.existsById(actor1.getId())).thenReturn(true);
+        when(midiaRepository.findAllByActorId(actor1.getId(), pageable))
+            .thenReturn(new PageImpl<>(midiaList, pageable, midiaList.size()));
+        when(midiaRepository.findActorSummariesByMidiaIdIn(List.of(midia1.getId(), midia2.getId())))
+            .thenReturn(List.of(new MidiaActorSummary(midia1.getId(), actor1.getId(), actor1.getName()),
+                                new MidiaActorSummary(midia2.getId(), actor1.getId(), actor1.getName())));
 
         Page<MidiaDTO> found = actorService.getAllActorMidias(actor1.getId(), pageable);
 
@@ -409,16 +433,18 @@ public class ActorServiceTest {
         assertEquals(2, found.getContent().size());
         assertEquals(midia1.getTitle(), found.getContent().get(0).getTitle());
         assertEquals(midia2.getTitle(), found.getContent().get(1).getTitle());
+        assertEquals(List.of(new ActorSimpleDTO(actor1.getId(), actor1.getName())), found.getContent().get(0).getActors());
         assertEquals(2, found.getTotalElements());
         assertEquals(1, found.getTotalPages());
-        verify(actorRepository, times(1)).findById(actor1.getId());
+        verify(actorRepository, never()).findById(any());
+        verify(midiaRepository, times(1)).findAllByActorId(actor1.getId(), pageable);
     }
 
     @Test
     void testGetAllActorMidiasFailActorNotFound(){
         Pageable pageable = PageRequest.of(0, 10);
         Long actorId = 1L;
-        when(actorRepository.findById(actorId)).thenReturn(Optional.empty());
+        when(actorRepository.existsById(actorId)).thenReturn(false);
 
         Exception exception = assertThrows(DataNotFoundException.class,
             () -> {
@@ -426,7 +452,7 @@ public class ActorServiceTest {
             });
 
         assertEquals("Actor not found.", exception.getMessage());
-        verify(actorRepository, times(1)).findById(actorId);
+        verify(midiaRepository, never()).findAllByActorId(any(), any());
     }
 
     @Test
@@ -443,7 +469,9 @@ public class ActorServiceTest {
     @Test
     void testGetAllActorMidiasFailEmptyList(){
         Pageable pageable = PageRequest.of(0, 10);
-        when(actorRepository.findById(actor1.getId())).thenReturn(Optional.of(actor1));
+        when(actorRepository.existsById(actor1.getId())).thenReturn(true);
+        when(midiaRepository.findAllByActorId(actor1.getId(), pageable))
+            .thenReturn(new PageImpl<>(new ArrayList<>(), pageable, 0));
 
         Exception exception = assertThrows(DataNotFoundException.class,
             () -> {
@@ -531,18 +559,18 @@ public class ActorServiceTest {
         assertEquals(actor1.getName(), response.getName());
 
         // Test get actor
-        when(actorRepository.findById(actor1.getId())).thenReturn(Optional.of(actor1));
+        when(actorRepository.findWithMidiasById(actor1.getId())).thenReturn(Optional.of(actor1));
         ActorDTO found = actorService.getActor(actor1.getId());
         assertEquals(actor1.getName(), found.getName());
 
         // Test get all actors
-        Page<Actor> actorPage = new PageImpl<>(Arrays.asList(actor1, actor2), pageable, 2);
-        when(actorRepository.findAll(pageable)).thenReturn(actorPage);
+        Page<ActorSummary> actorPage = new PageImpl<>(Arrays.asList(toSummary(actor1), toSummary(actor2)), pageable, 2);
+        when(actorRepository.findAllSummaries(pageable)).thenReturn(actorPage);
         Page<ActorDTO> allActors = actorService.getAllActors(pageable);
         assertEquals(2, allActors.getContent().size());
 
         // Test add midia
-        when(midiaRepository.findById(midia1.getId())).thenReturn(Optional.of(midia1));
+        when(midiaRepository.findWithActorsById(midia1.getId())).thenReturn(Optional.of(midia1));
         actor1.setMidias(new ArrayList<>());
         String addResponse = actorService.addMidia(actor1.getId(), midia1.getId());
         assertEquals("Midia added successfully", addResponse);
@@ -556,25 +584,27 @@ public class ActorServiceTest {
     @Test
     void testNotFoundScenarios() {
         Pageable pageable = PageRequest.of(0, 10);
-        when(actorRepository.findById(99L)).thenReturn(Optional.empty());
-        when(midiaRepository.findById(99L)).thenReturn(Optional.empty());
+        when(actorRepository.findWithMidiasById(99L)).thenReturn(Optional.empty());
+        when(midiaRepository.findWithActorsById(99L)).thenReturn(Optional.empty());
 
         // Test actor not found
         assertThrows(DataNotFoundException.class,
             () -> actorService.getActor(99L));
 
         // Test midia not found
-        when(actorRepository.findById(1L)).thenReturn(Optional.of(actor1));
+        when(actorRepository.findWithMidiasById(1L)).thenReturn(Optional.of(actor1));
         assertThrows(DataNotFoundException.class,
             () -> actorService.addMidia(1L, 99L));
 
         // Test empty lists
-        Page<Actor> emptyPage = new PageImpl<>(new ArrayList<>(), pageable, 0);
-        when(actorRepository.findAll(pageable)).thenReturn(emptyPage);
+        Page<ActorSummary> emptyPage = new PageImpl<>(new ArrayList<>(), pageable, 0);
+        when(actorRepository.findAllSummaries(pageable)).thenReturn(emptyPage);
         assertThrows(DataNotFoundException.class,
             () -> actorService.getAllActors(pageable));
 
-        actor1.setMidias(new ArrayList<>());
+        when(actorRepository.existsById(1L)).thenReturn(true);
+        when(midiaRepository.findAllByActorId(1L, pageable))
+            .thenReturn(new PageImpl<>(new ArrayList<>(), pageable, 0));
         assertThrows(DataNotFoundException.class,
             () -> actorService.getAllActorMidias(1L, pageable));
     }
@@ -582,10 +612,10 @@ public class ActorServiceTest {
     @Test
     void testGetAllActorMidiasPagination() {
         Pageable pageable = PageRequest.of(1, 1); // Second page, 1 item per page
-        List<Midia> midiaList = Arrays.asList(midia1, midia2);
         
-        actor1.setMidias(midiaList);
-        when(actorRepository.findById(actor1.getId())).thenReturn(Optional.of(actor1));
+        when(actorRepository.existsById(actor1.getId())).thenReturn(true);
+        when(midiaRepository.findAllByActorId(actor1.getId(), pageable))
+            .thenReturn(new PageImpl<>(Arrays.asList(midia2), pageable, 2));
 
         Page<MidiaDTO> found = actorService.getAllActorMidias(actor1.getId(), pageable);
 
@@ -596,4 +626,77 @@ public class ActorServiceTest {
         assertEquals(2, found.getTotalPages());
         assertEquals(1, found.getNumber());
     }
+
+    @Test
+    void testGetAllActorMidiasSortedByTitle() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("title"));
+
+        when(actorRepository.existsById(actor1.getId())).thenReturn(true);
+        when(midiaRepository.findAllByActorId(actor1.getId(), pageable))
+            .thenReturn(new PageImpl<>(Arrays.asList(midia1, midia2), pageable, 2));
+
+        Page<MidiaDTO> found = actorService.getAllActorMidias(actor1.getId(), pageable);
+
+        assertEquals(2, found.getContent().size());
+        verify(midiaRepository, times(1)).findAllByActorId(actor1.getId(), pageable);
+    }
+
+    @Test
+    void testGetAllActorMidiasFailInvalidSort() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
+
+        Exception exception = assertThrows(DataValidationException.class,
+            () -> actorService.getAllActorMidias(actor1.getId(), pageable));
+
+        assertEquals("Invalid sort property for midias: name", exception.getMessage());
+        verify(midiaRepository, never()).findAllByActorId(any(), any());
+    }
+
+    private ActorSummary toSummary(Actor actor) {
+        return new ActorSummary(actor.getId(), actor.getName(), actor.getBirthDate());
+    }
+
+    @Test
+    void testGetAllActorsAfterFirstSlice() {
+        when(actorRepository.findFirstSummaries(PageRequest.of(0, 2)))
+            .thenReturn(Arrays.asList(toSummary(actor1), toSummary(actor2)));
+
+        CursorPageResponseDTO<ActorDTO> found = actorService.getAllActorsAfter("", 1);
+
+        assertEquals(1, found.getContent().size());
+        assertEquals(actor1.getName(), found.getContent().get(0).getName());
+        assertTrue(found.isHasNext());
+        assertEquals(new KeysetCursor(actor1.getName(), actor1.getId()).encode(), found.getNextCursor());
+        verify(actorRepository, never()).findAllSummaries(any());
+    }
+
+    @Test
+    void testGetAllActorsAfterCursor() {
+        String cursor = new KeysetCursor(actor1.getName(), actor1.getId()).encode();
+        when(actorRepository.findSummariesAfter(actor1.getName(), actor1.getId(), PageRequest.of(0, 11)))
+            .thenReturn(Arrays.asList(toSummary(actor2)));
+
+        CursorPageResponseDTO<ActorDTO> found = actorService.getAllActorsAfter(cursor, 10);
+
+        assertEquals(1, found.getContent().size());
+        assertEquals(actor2.getName(), found.getContent().get(0).getName());
+        assertFalse(found.isHasNext());
+        assertNull(found.getNextCursor());
+    }
+
+    @Test
+    void testGetAllActorsAfterFailValidations() {
+        DataValidationException exception = assertThrows(DataValidationException.class,
+            () -> actorService.getAllActorsAfter("not a cursor", 10));
+        assertEquals("Invalid cursor.", exception.getMessage());
+
+        exception = assertThrows(DataValidationException.class,
+            () -> actorService.getAllActorsAfter("", 0));
+        assertEquals("Page size must be between 1 and 2000.", exception.getMessage());
+
+        when(actorRepository.findFirstSummaries(any())).thenReturn(new ArrayList<>());
+        assertThrows(DataNotFoundException.class,
+            () -> actorService.getAllActorsAfter("", 10));
+    }
+
 }
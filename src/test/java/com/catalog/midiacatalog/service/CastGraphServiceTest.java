@@ -0,0 +1,126 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.catalog.midiacatalog.dto.Actor.ActorPathDTO;
+import com.catalog.midiacatalog.dto.Actor.ActorSimpleDTO;
+import com.catalog.midiacatalog.dto.Actor.CoStarDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaResponseDTO;
+import com.catalog.midiacatalog.exception.DataNotFoundException;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.model.Actor;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+
+@DataJpaTest(properties = "spring.jpa.properties.jakarta.persistence.validation.mode=none")
+@Import(CastGraphService.class)
+public class CastGraphServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CastGraphService castGraphService;
+
+    private Actor keanu;
+    private Actor carrie;
+    private Actor laurence;
+    private Actor amy;
+    private Actor timothee;
+    private Midia matrix;
+    private Midia arrival;
+
+    @BeforeEach
+    void setUp() {
+        keanu = actor("Keanu Reeves");
+        carrie = actor("Carrie-Anne Moss");
+        laurence = actor("Laurence Fishburne");
+        amy = actor("Amy Adams");
+        timothee = actor("Timothee Chalamet");
+
+        matrix = midia("The Matrix", keanu, carrie, laurence);
+        midia("The Matrix Reloaded", keanu, carrie);
+        arrival = midia("Arrival", amy);
+        midia("Dune", timothee);
+        entityManager.flush();
+
+        castGraphService.rebuild();
+    }
+
+    @Test
+    void testCoStarsRankedBySharedMidias() {
+        List<CoStarDTO> coStars = castGraphService.getCoStars(keanu.getId(), 10);
+
+        assertEquals(List.of("Carrie-Anne Moss", "Laurence Fishburne"),
+            coStars.stream().map(CoStarDTO::getName).collect(Collectors.toList()));
+        assertEquals(2, coStars.get(0).getSharedMidias());
+    }
+
+    @Test
+    void testCoStarsErrors() {
+        assertThrows(DataValidationException.class, () -> castGraphService.getCoStars(keanu.getId(), 0));
+
+        DataNotFoundException alone = assertThrows(DataNotFoundException.class,
+            () -> castGraphService.getCoStars(amy.getId(), 10));
+        assertEquals("No co-stars found for this actor.", alone.getMessage());
+
+        DataNotFoundException missing = assertThrows(DataNotFoundException.class,
+            () -> castGraphService.getCoStars(9999L, 10));
+        assertEquals("Actor not found.", missing.getMessage());
+    }
+
+    @Test
+    void testPathAfterCastChangeIsReloaded() {
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+            () -> castGraphService.getPath(laurence.getId(), timothee.getId()));
+        assertEquals("No path found between these actors.", exception.getMessage());
+
+        // Amy joins The Matrix: Laurence -> Matrix -> Amy is one hop; Timothee is still unreachable.
+        matrix.getActors().add(amy);
+        arrival.getActors().add(timothee);
+        entityManager.flush();
+        castGraphService.reloadCasts(Set.of(matrix.getId(), arrival.getId()));
+
+        ActorPathDTO path = castGraphService.getPath(laurence.getId(), timothee.getId());
+
+        assertEquals(2, path.getDegrees());
+        assertEquals(List.of("Laurence Fishburne", "Amy Adams", "Timothee Chalamet"),
+            path.getActors().stream().map(ActorSimpleDTO::getName).collect(Collectors.toList()));
+        assertEquals(List.of("The Matrix", "Arrival"),
+            path.getMidias().stream().map(MidiaResponseDTO::getTitle).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testPathToSelfHasNoDegrees() {
+        ActorPathDTO path = castGraphService.getPath(amy.getId(), amy.getId());
+
+        assertEquals(0, path.getDegrees());
+        assertEquals(1, path.getActors().size());
+        assertTrue(path.getMidias().isEmpty());
+    }
+
+    private Actor actor(String name) {
+        Actor actor = new Actor();
+        actor.setName(name);
+        actor.setBirthDate(LocalDate.of(1970, 1, 1));
+        return entityManager.persist(actor);
+    }
+
+    private Midia midia(String title, Actor... actors) {
+        return entityManager.persist(new Midia(title, Midiatype.MOVIE, 2000, null, null, null, null,
+                                               new ArrayList<>(List.of(actors))));
+    }
+}
@@ -0,0 +1,100 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.catalog.midiacatalog.model.User;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.jakarta.persistence.validation.mode=none",
+    "catalog.email-filter.check-interval-ms=3600000"
+})
+@Import({EmailFilterService.class, SimpleMeterRegistry.class})
+public class EmailFilterServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmailFilterService emailFilterService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 50; i++)
+            entityManager.persist(new User(null, "User " + i, "User" + i + "@Example.com", null, true));
+        entityManager.flush();
+
+        emailFilterService.rebuild();
+    }
+
+    @Test
+    void testRegisteredEmailsPassAndUnknownOnesAreAnsweredLocally() {
+        double negativesBefore = negatives().count();
+        for (int i = 0; i < 50; i++)
+            assertTrue(emailFilterService.mightExist(" user" + i + "@example.com"));
+
+        int negatives = 0;
+        for (int i = 0; i < 1000; i++)
+            if (!emailFilterService.mightExist("bot" + i + "@example.com"))
+                negatives++;
+
+        assertTrue(negatives > 950);
+        assertEquals(negatives, negatives().count() - negativesBefore);
+        assertTrue(meterRegistry.get("catalog.email-filter.memory").gauge().value() > 0);
+        assertTrue(meterRegistry.get("catalog.email-filter.expected-fpp").gauge().value() < 0.01);
+    }
+
+    @Test
+    void testAddedEmailIsVisibleAndWriteRuns() {
+        boolean[] written = {false};
+
+        emailFilterService.add("new.user@example.com", () -> written[0] = true);
+
+        assertTrue(written[0]);
+        assertTrue(emailFilterService.mightExist("new.user@example.com"));
+    }
+
+    @Test
+    void testObservedFalsePositiveRate() {
+        emailFilterService.mightExist("bot@example.com");
+        emailFilterService.falsePositive();
+
+        double falsePositives = meterRegistry.get("catalog.email-filter.lookups").tag("result", "false-positive").counter().count();
+        assertEquals(falsePositives / (falsePositives + negatives().count()),
+            meterRegistry.get("catalog.email-filter.observed-fpp").gauge().value(), 1e-9);
+        assertTrue(falsePositives >= 1);
+    }
+
+    @Test
+    void testStaleEntriesTriggerRebuild() {
+        User removed = entityManager.find(User.class,
+            entityManager.getEntityManager().createQuery("SELECT u.id FROM User u WHERE u.email = 'User0@Example.com'", Long.class)
+                .getSingleResult());
+        entityManager.remove(removed);
+        entityManager.flush();
+        for (int i = 0; i < 6; i++)
+            emailFilterService.removed();
+
+        emailFilterService.rebuildIfDegraded();
+
+        assertTrue(emailFilterService.mightExist("user1@example.com"));
+        assertFalse(emailFilterService.mightExist("user0@example.com"));
+    }
+
+    private Counter negatives() {
+        return meterRegistry.get("catalog.email-filter.lookups").tag("result", "negative").counter();
+    }
+}
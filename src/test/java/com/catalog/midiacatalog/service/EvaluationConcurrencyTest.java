@@ -0,0 +1,142 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationUpdateDTO;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.model.Evaluation;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.MidiaRatingAggregate;
+import com.catalog.midiacatalog.model.User;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+import com.catalog.midiacatalog.repository.EvaluationRepository;
+import com.catalog.midiacatalog.repository.MidiaRatingAggregateRepository;
+import com.catalog.midiacatalog.repository.MidiaRepository;
+import com.catalog.midiacatalog.repository.UserRepository;
+import com.catalog.midiacatalog.security.AuthenticatedUser;
+
+// Commits for real, so each caller runs in its own transaction and the row lock is what serializes them.
+@DataJpaTest(properties = "spring.jpa.properties.jakarta.persistence.validation.mode=none")
+@Import({EvaluationService.class, RatingAggregateService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EvaluationConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @MockitoBean
+    private EvaluationWriteBuffer evaluationWriteBuffer;
+
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
+    @MockitoBean
+    private RecommendationService recommendationService;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EvaluationService evaluationService;
+
+    @Autowired
+    private EvaluationRepository evaluationRepository;
+
+    @Autowired
+    private MidiaRatingAggregateRepository ratingAggregateRepository;
+
+    @Autowired
+    private MidiaRepository midiaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Midia midia;
+    private User user;
+    private Evaluation evaluation;
+    private AuthenticatedUser caller;
+
+    @BeforeEach
+    void setUp() {
+        midia = midiaRepository.save(new Midia("The Matrix", Midiatype.MOVIE, 1999, null, null, null, null, new ArrayList<>()));
+        user = userRepository.save(new User(null, "Joaquim", "joaquim@gmail.com", null, true));
+        evaluation = evaluationRepository.save(new Evaluation(null, midia, user, 4, null, LocalDateTime.now(), true));
+        ratingAggregateRepository.save(new MidiaRatingAggregate(midia.getId(), 1, 4, 0, 0, 0, 1, 0));
+        caller = new AuthenticatedUser(user.getId(), user.getEmail(), "token-id", Instant.now().plusSeconds(3600));
+    }
+
+    @AfterEach
+    void tearDown() {
+        evaluationRepository.deleteAll();
+        ratingAggregateRepository.deleteAll();
+        midiaRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentDisablesRemoveTheRatingOnce() throws Exception {
+        List<String> outcomes = race(() -> evaluationService.disable(evaluation.getId(), caller));
+
+        assertEquals(1, outcomes.stream().filter("done"::equals).count());
+        assertEquals(THREADS - 1, outcomes.stream().filter("Evaluation is already disabled."::equals).count());
+        MidiaRatingAggregate aggregate = ratingAggregateRepository.findById(midia.getId()).get();
+        assertEquals(0, aggregate.getRatingCount());
+        assertEquals(0, aggregate.getRatingSum());
+        assertEquals(0, aggregate.getFourStars());
+    }
+
+    @Test
+    void testConcurrentUpdatesMoveTheRatingOnce() throws Exception {
+        List<String> outcomes = race(() -> evaluationService.update(evaluation.getId(), new EvaluationUpdateDTO(2, null), caller));
+
+        assertEquals(THREADS, outcomes.stream().filter("done"::equals).count());
+        MidiaRatingAggregate aggregate = ratingAggregateRepository.findById(midia.getId()).get();
+        assertEquals(1, aggregate.getRatingCount());
+        assertEquals(2, aggregate.getRatingSum());
+        assertEquals(0, aggregate.getFourStars());
+        assertEquals(1, aggregate.getTwoStars());
+    }
+
+    private List<String> race(Runnable change) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++)
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    change.run();
+                    return "done";
+                } catch (DataValidationException exception) {
+                    return exception.getMessage();
+                }
+            }));
+        start.countDown();
+
+        List<String> outcomes = new ArrayList<>();
+        for (Future<String> future : futures)
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        pool.shutdown();
+        return outcomes;
+    }
+}
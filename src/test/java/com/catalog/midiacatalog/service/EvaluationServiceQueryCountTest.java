@@ -0,0 +1,152 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationDTO;
+import com.catalog.midiacatalog.exception.DataNotFoundException;
+import com.catalog.midiacatalog.model.Evaluation;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.User;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.jakarta.persistence.validation.mode=none"
+})
+@Import(EvaluationService.class)
+public class EvaluationServiceQueryCountTest {
+
+    private static final int EVALUATION_COUNT = 25;
+
+    @MockitoBean
+    private RatingAggregateService ratingAggregateService;
+
+    @MockitoBean
+    private EvaluationWriteBuffer evaluationWriteBuffer;
+
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
+    @MockitoBean
+    private RecommendationService recommendationService;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EvaluationService evaluationService;
+
+    private Statistics statistics;
+
+    private Midia midia;
+    private User user;
+    private List<Long> newestFirst = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+
+        midia = entityManager.persist(new Midia("The Matrix", Midiatype.MOVIE, 1999, null, null, null, null, new ArrayList<>()));
+        Midia other = entityManager.persist(new Midia("Arrival", Midiatype.MOVIE, 2016, null, null, null, null, new ArrayList<>()));
+        user = entityManager.persist(new User(null, "John Doe", "john@example.com", null, true));
+
+        // Pairs of evaluations share a timestamp, so the id tie-breaker is exercised on every page.
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < EVALUATION_COUNT; i++) {
+            User evaluator = entityManager.persist(new User(null, "User " + i, "user" + i + "@example.com", null, true));
+            Evaluation evaluation = entityManager.persist(
+                new Evaluation(null, midia, evaluator, 1 + i % 5, "Comment " + i, start.plusMinutes(i / 2), true));
+            newestFirst.add(0, evaluation.getId());
+            entityManager.persist(new Evaluation(null, other, user, 3, null, start.plusHours(i), true));
+        }
+        entityManager.persist(new Evaluation(null, other, user, 1, "Disabled", start.plusDays(10), false));
+        entityManager.flush();
+    }
+
+    @Test
+    void testMidiaFeedWalksNewestFirstWithOneStatementPerSlice() {
+        List<Long> visited = new ArrayList<>();
+        String cursor = "";
+        boolean hasNext = true;
+
+        while (hasNext) {
+            entityManager.clear();
+            statistics.clear();
+
+            CursorPageResponseDTO<EvaluationDTO> slice = evaluationService.getMidiaEvaluations(midia.getId(), cursor, 4);
+
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount(), "Feed must not load User or Midia entities");
+            slice.getContent().forEach(evaluation -> visited.add(evaluation.getId()));
+            cursor = slice.getNextCursor();
+            hasNext = slice.isHasNext();
+        }
+
+        assertEquals(newestFirst, visited);
+    }
+
+    @Test
+    void testUserFeedCarriesMidiaTitlesAndSkipsDisabled() {
+        CursorPageResponseDTO<EvaluationDTO> firstSlice = evaluationService.getUserEvaluations(user.getId(), null, 10);
+        CursorPageResponseDTO<EvaluationDTO> secondSlice =
+            evaluationService.getUserEvaluations(user.getId(), firstSlice.getNextCursor(), 100);
+
+        assertEquals(10, firstSlice.getContent().size());
+        assertEquals(EVALUATION_COUNT - 10, secondSlice.getContent().size());
+        assertFalse(secondSlice.isHasNext());
+        assertEquals("Arrival", firstSlice.getContent().get(0).getMidiaTitle());
+        assertEquals("John Doe", firstSlice.getContent().get(0).getUserName());
+        assertTrue(firstSlice.getContent().get(0).getEvaluationDate()
+            .isAfter(firstSlice.getContent().get(1).getEvaluationDate()));
+        assertTrue(firstSlice.getContent().stream().noneMatch(evaluation -> "Disabled".equals(evaluation.getComment())));
+    }
+
+    @Test
+    void testFeedsSkipUndatedEvaluations() {
+        Midia dune = entityManager.persist(new Midia("Dune", Midiatype.MOVIE, 2021, null, null, null, null, new ArrayList<>()));
+        User reviewer = entityManager.persist(new User(null, "Jane Doe", "jane@example.com", null, true));
+        entityManager.persist(new Evaluation(null, dune, reviewer, 4, "Dated", LocalDateTime.of(2024, 2, 1, 12, 0), true));
+        entityManager.persist(new Evaluation(null, dune, user, 2, "Undated", null, true));
+        entityManager.flush();
+
+        CursorPageResponseDTO<EvaluationDTO> midiaFeed = evaluationService.getMidiaEvaluations(dune.getId(), null, 10);
+        CursorPageResponseDTO<EvaluationDTO> userFeed = evaluationService.getUserEvaluations(user.getId(), null, 100);
+
+        assertEquals(List.of("Dated"), midiaFeed.getContent().stream().map(EvaluationDTO::getComment).toList());
+        assertEquals(EVALUATION_COUNT, userFeed.getContent().size());
+        assertTrue(userFeed.getContent().stream().noneMatch(evaluation -> "Undated".equals(evaluation.getComment())));
+    }
+
+    @Test
+    void testEmptyFeedDistinguishesMissingMidia() {
+        Midia unrated = entityManager.persist(new Midia("Dune", Midiatype.MOVIE, 2021, null, null, null, null, new ArrayList<>()));
+
+        DataNotFoundException empty = assertThrows(DataNotFoundException.class,
+            () -> evaluationService.getMidiaEvaluations(unrated.getId(), null, 10));
+        DataNotFoundException missing = assertThrows(DataNotFoundException.class,
+            () -> evaluationService.getMidiaEvaluations(-1L, null, 10));
+
+        assertEquals("No evaluations found for this midia.", empty.getMessage());
+        assertEquals("Midia not found.", missing.getMessage());
+    }
+}
@@ -1,5 +1,332 @@
 package com.catalog.midiacatalog.service;
 
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.catalog.midiacatalog.config.CacheConfig;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationRegistrationDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationResponseDTO;
+import com.catalog.midiacatalog.dto.Evaluation.EvaluationUpdateDTO;
+import com.catalog.midiacatalog.exception.DataNotFoundException;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.exception.ForbiddenException;
+import com.catalog.midiacatalog.model.Evaluation;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.User;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+import com.catalog.midiacatalog.repository.EvaluationRepository;
+import com.catalog.midiacatalog.repository.MidiaRepository;
+import com.catalog.midiacatalog.repository.UserRepository;
+import com.catalog.midiacatalog.security.AuthenticatedUser;
+
 public class EvaluationServiceTest {
-//TODO
+
+    @Mock
+    private EvaluationRepository evaluationRepository;
+
+    @Mock
+    private MidiaRepository midiaRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RatingAggregateService ratingAggregateService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache midiaDetailsCache;
+
+    @Mock
+    private EvaluationWriteBuffer evaluationWriteBuffer;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private RecommendationService recommendationService;
+
+    @InjectMocks
+    private EvaluationService evaluationService;
+
+    private Midia midia;
+    private User user;
+    private Evaluation evaluation;
+    private AuthenticatedUser caller;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        midia = new Midia();
+        midia.setId(1L);
+        midia.setTitle("The Matrix");
+        midia.setType(Midiatype.MOVIE);
+
+        user = new User();
+        user.setId(2L);
+        user.setName("John Doe");
+        user.setEmail("john@example.com");
+
+        evaluation = new Evaluation();
+        evaluation.setId(3L);
+        evaluation.setMidia(midia);
+        evaluation.setUser(user);
+        evaluation.setRating(4);
+        evaluation.setComment("Great");
+        evaluation.setEnabled(true);
+
+        caller = new AuthenticatedUser(2L, "john@example.com", "token-id", Instant.now().plusSeconds(3600));
+
+        when(cacheManager.getCache(CacheConfig.MIDIA_DETAILS_CACHE)).thenReturn(midiaDetailsCache);
+        when(evaluationRepository.save(any(Evaluation.class))).thenAnswer(invocation -> {
+            Evaluation saved = invocation.getArgument(0);
+            if (saved.getId() == null)
+                saved.setId(3L);
+            return saved;
+        });
+    }
+
+    @Test
+    void testRegisterEvaluationQueuesWrite() {
+        when(midiaRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(evaluationWriteBuffer.reserve(1L, 2L)).thenReturn(true);
+
+        EvaluationResponseDTO response = evaluationService.register(new EvaluationRegistrationDTO(1L, 5, "Classic"), caller);
+
+        assertNull(response.getId());
+        assertEquals(1L, response.getMidiaId());
+        assertEquals(2L, response.getUserId());
+        assertEquals(5, response.getRating());
+        assertNotNull(response.getEvaluationDate());
+        verify(evaluationWriteBuffer).submit(argThat(pending ->
+            pending.midiaId() == 1L && pending.userId() == 2L && pending.rating() == 5));
+        verify(evaluationRepository, never()).save(any(Evaluation.class));
+        verify(ratingAggregateService, never()).apply(any(), any());
+    }
+
+    @Test
+    void testRegisterEvaluationFailMissingFields() {
+        DataValidationException exception = assertThrows(DataValidationException.class,
+            () -> evaluationService.register(new EvaluationRegistrationDTO(null, 6, null), caller));
+
+        assertTrue(exception.getErrors().contains("Midia ID must be informed."));
+        assertTrue(exception.getErrors().contains("Rating must be between 1 and 5."));
+        verify(evaluationWriteBuffer, never()).submit(any());
+    }
+
+    @Test
+    void testRegisterEvaluationFailMidiaNotFound() {
+        when(midiaRepository.existsById(1L)).thenReturn(false);
+
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+            () -> evaluationService.register(new EvaluationRegistrationDTO(1L, 5, null), caller));
+
+        assertEquals("Midia not found.", exception.getMessage());
+    }
+
+    @Test
+    void testRegisterEvaluationFailAlreadyPending() {
+        when(midiaRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(evaluationWriteBuffer.reserve(1L, 2L)).thenReturn(false);
+
+        DataValidationException exception = assertThrows(DataValidationException.class,
+            () -> evaluationService.register(new EvaluationRegistrationDTO(1L, 5, null), caller));
+
+        assertEquals("User already evaluated this midia.", exception.getMessage());
+        verify(evaluationWriteBuffer, never()).submit(any());
+    }
+
+    @Test
+    void testRegisterEvaluationFailAlreadyEvaluatedReleasesReservation() {
+        when(midiaRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(evaluationWriteBuffer.reserve(1L, 2L)).thenReturn(true);
+        when(evaluationRepository.existsByMidiaIdAndUserIdAndEnabledTrue(1L, 2L)).thenReturn(true);
+
+        DataValidationException exception = assertThrows(DataValidationException.class,
+            () -> evaluationService.register(new EvaluationRegistrationDTO(1L, 5, null), caller));
+
+        assertEquals("User already evaluated this midia.", exception.getMessage());
+        verify(evaluationWriteBuffer).release(1L, 2L);
+        verify(evaluationWriteBuffer, never()).submit(any());
+    }
+
+    @Test
+    void testRegisterEvaluationReleasesReservationWhenLookupFails() {
+        when(midiaRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(evaluationWriteBuffer.reserve(1L, 2L)).thenReturn(true);
+        when(evaluationRepository.existsByMidiaIdAndUserIdAndEnabledTrue(1L, 2L))
+            .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+
+        assertThrows(QueryTimeoutException.class,
+            () -> evaluationService.register(new EvaluationRegistrationDTO(1L, 5, null), caller));
+
+        verify(evaluationWriteBuffer).release(1L, 2L);
+        verify(evaluationWriteBuffer, never()).submit(any());
+    }
+
+    @Test
+    void testRegisterEvaluationKeepsReservationOnceQueued() {
+        when(midiaRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(evaluationWriteBuffer.reserve(1L, 2L)).thenReturn(true);
+
+        evaluationService.register(new EvaluationRegistrationDTO(1L, 5, null), caller);
+
+        verify(evaluationWriteBuffer, never()).release(any(), any());
+    }
+
+    @Test
+    void testRegisterEvaluationFailWithoutToken() {
+        DataValidationException exception = assertThrows(DataValidationException.class,
+            () -> evaluationService.register(new EvaluationRegistrationDTO(1L, 5, null), null));
+
+        assertEquals("Authentication token must be informed.", exception.getMessage());
+        verify(evaluationWriteBuffer, never()).reserve(any(), any());
+    }
+
+    @Test
+    void testUpdateRatingMovesHistogramBucket() {
+        when(evaluationRepository.findLockedById(3L)).thenReturn(Optional.of(evaluation));
+
+        EvaluationResponseDTO response = evaluationService.update(3L, new EvaluationUpdateDTO(2, null), caller);
+
+        assertEquals(2, response.getRating());
+        assertEquals("Great", response.getComment());
+        verify(ratingAggregateService).apply(eq(1L), argThat(delta ->
+            delta.count() == 0 && delta.sum() == -2 && delta.bucket(4) == -1 && delta.bucket(2) == 1));
+        verify(midiaDetailsCache).evict(1L);
+        verify(recommendationService).recordRating(2L, 1L, 4, 2);
+    }
+
+    @Test
+    void testUpdateCommentOnlyLeavesAggregateUntouched() {
+        when(evaluationRepository.findLockedById(3L)).thenReturn(Optional.of(evaluation));
+
+        evaluationService.update(3L, new EvaluationUpdateDTO(null, "Still great"), caller);
+
+        assertEquals("Still great", evaluation.getComment());
+        verify(ratingAggregateService, never()).apply(any(), any());
+        verify(midiaDetailsCache, never()).evict(any());
+    }
+
+    @Test
+    void testUpdateDisabledEvaluationFails() {
+        evaluation.setEnabled(false);
+        when(evaluationRepository.findLockedById(3L)).thenReturn(Optional.of(evaluation));
+
+        DataValidationException exception = assertThrows(DataValidationException.class,
+            () -> evaluationService.update(3L, new EvaluationUpdateDTO(2, null), caller));
+
+        assertEquals("Disabled evaluations cannot be updated.", exception.getMessage());
+    }
+
+    @Test
+    void testDisableRemovesRatingFromAggregate() {
+        evaluation.setEvaluationDate(LocalDateTime.of(2024, 5, 10, 20, 30));
+        when(evaluationRepository.findLockedById(3L)).thenReturn(Optional.of(evaluation));
+
+        EvaluationResponseDTO response = evaluationService.disable(3L, caller);
+
+        assertFalse(response.isEnabled());
+        verify(ratingAggregateService).apply(eq(1L), argThat(delta ->
+            delta.count() == -1 && delta.sum() == -4 && delta.bucket(4) == -1));
+        verify(leaderboardService).record(eq(1L), eq(LocalDate.of(2024, 5, 10)), argThat(delta -> delta.count() == -1));
+        verify(recommendationService).recordRating(2L, 1L, 4, null);
+    }
+
+    @Test
+    void testDisableAlreadyDisabledEvaluationFails() {
+        evaluation.setEnabled(false);
+        when(evaluationRepository.findLockedById(3L)).thenReturn(Optional.of(evaluation));
+
+        DataValidationException exception = assertThrows(DataValidationException.class,
+            () -> evaluationService.disable(3L, caller));
+
+        assertEquals("Evaluation is already disabled.", exception.getMessage());
+        verify(ratingAggregateService, never()).apply(any(), any());
+    }
+
+    @Test
+    void testDisableEvaluationNotFound() {
+        when(evaluationRepository.findLockedById(3L)).thenReturn(Optional.empty());
+
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+            () -> evaluationService.disable(3L, caller));
+
+        assertEquals("Evaluation not found.", exception.getMessage());
+    }
+
+    @Test
+    void testUpdateOtherUsersEvaluationIsForbidden() {
+        when(evaluationRepository.findLockedById(3L)).thenReturn(Optional.of(evaluation));
+        AuthenticatedUser intruder = new AuthenticatedUser(9L, "mallory@example.com", "other-token", caller.expiresAt());
+
+        ForbiddenException exception = assertThrows(ForbiddenException.class,
+            () -> evaluationService.update(3L, new EvaluationUpdateDTO(1, null), intruder));
+
+        assertEquals("Users can only change their own evaluations.", exception.getMessage());
+        assertEquals(4, evaluation.getRating());
+        verify(evaluationRepository, never()).save(any(Evaluation.class));
+    }
+
+    @Test
+    void testDisableOtherUsersEvaluationIsForbidden() {
+        when(evaluationRepository.findLockedById(3L)).thenReturn(Optional.of(evaluation));
+        AuthenticatedUser intruder = new AuthenticatedUser(9L, "mallory@example.com", "other-token", caller.expiresAt());
+
+        assertThrows(ForbiddenException.class, () -> evaluationService.disable(3L, intruder));
+
+        assertTrue(evaluation.isEnabled());
+        verify(ratingAggregateService, never()).apply(any(), any());
+    }
+
+    @Test
+    void testGetUserEvaluationsUnknownUser() {
+        when(evaluationRepository.findFirstSummariesByUser(eq(2L), any())).thenReturn(List.of());
+        when(userRepository.existsById(2L)).thenReturn(false);
+
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+            () -> evaluationService.getUserEvaluations(2L, null, 10));
+
+        assertEquals("User not found.", exception.getMessage());
+    }
+
+    @Test
+    void testGetMidiaEvaluationsRejectsMalformedCursorDate() {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("5:yesterday".getBytes(StandardCharsets.UTF_8));
+
+        DataValidationException exception = assertThrows(DataValidationException.class,
+            () -> evaluationService.getMidiaEvaluations(1L, cursor, 10));
+
+        assertEquals("Invalid cursor.", exception.getMessage());
+        verify(evaluationRepository, never()).findSummariesByMidiaBefore(any(), any(), any(), any());
+    }
 }
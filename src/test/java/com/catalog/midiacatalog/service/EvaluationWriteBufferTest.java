@@ -0,0 +1,300 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.catalog.midiacatalog.config.CacheConfig;
+import com.catalog.midiacatalog.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class EvaluationWriteBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private RatingAggregateService ratingAggregateService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache midiaDetailsCache;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private RecommendationService recommendationService;
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private EvaluationWriteBuffer evaluationWriteBuffer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(evaluationWriteBuffer, "meterRegistry", meterRegistry);
+
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(cacheManager.getCache(CacheConfig.MIDIA_DETAILS_CACHE)).thenReturn(midiaDetailsCache);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        evaluationWriteBuffer.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testShutdownFlushesQueuedEvaluationsInOneBatch() throws InterruptedException {
+        start(100, 10, 60_000);
+
+        submit(1L, 1L, 5);
+        submit(1L, 2L, 3);
+        submit(2L, 1L, 4);
+        evaluationWriteBuffer.stop();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO evaluations"), rows.capture());
+        assertEquals(3, rows.getValue().size());
+        assertEquals(0, evaluationWriteBuffer.depth());
+        assertEquals(3.0, meterRegistry.counter("catalog.evaluations.buffer.flushed").count());
+        assertEquals(1, meterRegistry.timer("catalog.evaluations.buffer.flush").count());
+    }
+
+    @Test
+    void testDeltasAreCoalescedPerMidia() throws InterruptedException {
+        start(100, 10, 60_000);
+
+        submit(1L, 1L, 5);
+        submit(1L, 2L, 3);
+        submit(2L, 1L, 4);
+        evaluationWriteBuffer.stop();
+
+        verify(ratingAggregateService, times(1)).apply(eq(1L), argThat(delta ->
+            delta.count() == 2 && delta.sum() == 8 && delta.bucket(5) == 1 && delta.bucket(3) == 1));
+        verify(ratingAggregateService, times(1)).apply(eq(2L), argThat(delta ->
+            delta.count() == 1 && delta.bucket(4) == 1));
+        verify(midiaDetailsCache).evict(1L);
+        verify(midiaDetailsCache).evict(2L);
+        verify(leaderboardService, times(3)).record(any(), eq(LocalDate.now()), argThat(delta -> delta.count() == 1));
+        verify(recommendationService).recordRating(2L, 1L, null, 3);
+    }
+
+    @Test
+    void testFullBatchFlushesWithoutWaitingForInterval() {
+        start(100, 2, 60_000);
+
+        submit(1L, 1L, 5);
+        submit(1L, 2L, 4);
+
+        verify(jdbcTemplate, timeout(5_000)).batchUpdate(startsWith("INSERT INTO evaluations"), anyList());
+    }
+
+    @Test
+    void testIntervalFlushesPartialBatch() {
+        start(100, 50, 20);
+
+        submit(1L, 1L, 5);
+
+        verify(jdbcTemplate, timeout(5_000)).batchUpdate(startsWith("INSERT INTO evaluations"), anyList());
+    }
+
+    @Test
+    void testFullQueueRejectsSubmissions() throws InterruptedException {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new int[0];
+        });
+        start(1, 10, 10);
+
+        submit(1L, 1L, 5);
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        submit(1L, 2L, 5);
+
+        assertTrue(evaluationWriteBuffer.reserve(1L, 3L));
+        assertThrows(ServiceBusyException.class,
+            () -> evaluationWriteBuffer.submit(pending(1L, 3L, 5)));
+        assertTrue(evaluationWriteBuffer.reserve(1L, 3L), "Rejected submission should release its reservation");
+        assertEquals(1.0, meterRegistry.counter("catalog.evaluations.buffer.rejected").count());
+        assertEquals(1.0, meterRegistry.get("catalog.evaluations.buffer.depth").gauge().value());
+
+        release.countDown();
+    }
+
+    @Test
+    void testReservationIsHeldUntilFlushed() throws InterruptedException {
+        start(100, 10, 60_000);
+
+        submit(1L, 1L, 5);
+        assertFalse(evaluationWriteBuffer.reserve(1L, 1L));
+
+        evaluationWriteBuffer.stop();
+        assertTrue(evaluationWriteBuffer.reserve(1L, 1L));
+    }
+
+    @Test
+    void testFailedBatchIsRetriedRowByRow() throws InterruptedException {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<?> rows = invocation.getArgument(1);
+            if (rows.size() > 1 || ((Object[]) rows.get(0))[0].equals(99L))
+                throw new DataIntegrityViolationException("midia does not exist");
+            return new int[] {1};
+        });
+        start(100, 10, 60_000);
+
+        submit(1L, 1L, 5);
+        submit(99L, 1L, 4);
+        evaluationWriteBuffer.stop();
+
+        verify(ratingAggregateService, times(1)).apply(eq(1L), any());
+        verify(ratingAggregateService, never()).apply(eq(99L), any());
+        assertEquals(1.0, meterRegistry.counter("catalog.evaluations.buffer.flushed").count());
+        assertEquals(1.0, meterRegistry.counter("catalog.evaluations.buffer.failed").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUnreachableDatabaseKeepsBatchAndRetries() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean reservedDuringRetry = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 2)
+                reservedDuringRetry.set(!evaluationWriteBuffer.reserve(1L, 2L));
+            if (attempts.get() <= 2)
+                throw new CannotCreateTransactionException("Could not open JDBC Connection for transaction");
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        start(100, 2, 60_000);
+
+        submit(1L, 1L, 5);
+        submit(1L, 2L, 4);
+
+        verify(jdbcTemplate, timeout(5_000)).batchUpdate(startsWith("INSERT INTO evaluations"),
+            argThat((List<Object[]> rows) -> rows.size() == 2));
+        assertTrue(reservedDuringRetry.get(), "Retried evaluations stay reserved until written");
+
+        submit(2L, 1L, 3);
+        evaluationWriteBuffer.stop();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("INSERT INTO evaluations"), anyList());
+        assertEquals(2.0, meterRegistry.counter("catalog.evaluations.buffer.retried").count());
+        assertEquals(3.0, meterRegistry.counter("catalog.evaluations.buffer.flushed").count());
+        assertEquals(0.0, meterRegistry.counter("catalog.evaluations.buffer.failed").count());
+    }
+
+    @Test
+    void testPublishFailureDoesNotRewriteBatch() throws InterruptedException {
+        doThrow(new IllegalStateException("leaderboard unavailable"))
+            .when(leaderboardService).record(any(), any(), any());
+        start(100, 10, 60_000);
+
+        submit(1L, 1L, 5);
+        evaluationWriteBuffer.stop();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO evaluations"), anyList());
+        assertEquals(0.0, meterRegistry.counter("catalog.evaluations.buffer.retried").count());
+        assertTrue(evaluationWriteBuffer.reserve(1L, 1L));
+    }
+
+    @Test
+    void testEverySubmissionAcceptedBeforeStopIsWritten() throws Exception {
+        start(10_000, 50, 5);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch submitting = new CountDownLatch(4);
+        List<Thread> submitters = new ArrayList<>();
+
+        for (long thread = 0; thread < 4; thread++) {
+            long userId = thread;
+            submitters.add(new Thread(() -> {
+                submitting.countDown();
+                for (long midiaId = 0; ; midiaId++) {
+                    if (!evaluationWriteBuffer.reserve(midiaId, userId))
+                        continue;
+                    try {
+                        evaluationWriteBuffer.submit(pending(midiaId, userId, 5));
+                        accepted.incrementAndGet();
+                    } catch (ServiceBusyException exception) {
+                        return;
+                    }
+                }
+            }));
+        }
+        submitters.forEach(Thread::start);
+        assertTrue(submitting.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        evaluationWriteBuffer.stop();
+        for (Thread submitter : submitters)
+            submitter.join(5_000);
+
+        assertTrue(accepted.get() > 0);
+        assertEquals(accepted.get(), meterRegistry.counter("catalog.evaluations.buffer.flushed").count());
+        assertEquals(0, evaluationWriteBuffer.depth());
+    }
+
+    private void start(int capacity, int batchSize, long flushIntervalMillis) {
+        ReflectionTestUtils.setField(evaluationWriteBuffer, "capacity", capacity);
+        ReflectionTestUtils.setField(evaluationWriteBuffer, "batchSize", batchSize);
+        ReflectionTestUtils.setField(evaluationWriteBuffer, "flushIntervalMillis", flushIntervalMillis);
+        ReflectionTestUtils.setField(evaluationWriteBuffer, "offerTimeoutMillis", 10L);
+        ReflectionTestUtils.setField(evaluationWriteBuffer, "retryBackoffMillis", 5L);
+        ReflectionTestUtils.setField(evaluationWriteBuffer, "maxRetryBackoffMillis", 20L);
+        evaluationWriteBuffer.start();
+    }
+
+    private void submit(Long midiaId, Long userId, int rating) {
+        assertTrue(evaluationWriteBuffer.reserve(midiaId, userId));
+        evaluationWriteBuffer.submit(pending(midiaId, userId, rating));
+    }
+
+    private PendingEvaluation pending(Long midiaId, Long userId, int rating) {
+        return new PendingEvaluation(midiaId, userId, rating, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,135 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.catalog.midiacatalog.export.ExportFormat;
+import com.catalog.midiacatalog.model.Actor;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.User;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DataJpaTest(properties = "spring.jpa.properties.jakarta.persistence.validation.mode=none")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(ExportService.class)
+public class ExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Actor keanu;
+    private Actor carrie;
+    private Midia matrix;
+    private Midia arrival;
+
+    @BeforeEach
+    void setUp() {
+        keanu = entityManager.persist(new Actor(null, "Keanu Reeves", LocalDate.of(1964, 9, 2), new ArrayList<>(), true));
+        carrie = entityManager.persist(new Actor(null, "Carrie-Anne Moss", null, new ArrayList<>(), true));
+
+        matrix = entityManager.persist(new Midia("The Matrix", Midiatype.MOVIE, 1999, "Wachowski Brothers",
+                                                 "A hacker learns the truth, \"reality\" included.", "Sci-Fi",
+                                                 "matrix.jpg", new ArrayList<>(Arrays.asList(keanu, carrie))));
+        arrival = entityManager.persist(new Midia("Arrival", Midiatype.MOVIE, 2016, "Denis Villeneuve",
+                                                  "Linguist, meet aliens", "Sci-Fi", null, new ArrayList<>()));
+
+        entityManager.persist(new User(null, "John Doe", "john@example.com", "secret", true));
+        entityManager.flush();
+    }
+
+    @Test
+    void testExportMidiasAsNdjsonFoldsActorsIntoOneLinePerMidia() throws Exception {
+        List<JsonNode> lines = readNdjson(export(out -> exportService.exportMidias(ExportFormat.NDJSON, out)));
+
+        assertEquals(2, lines.size());
+        JsonNode first = lines.get(0);
+        assertEquals(matrix.getId().longValue(), first.get("id").asLong());
+        assertEquals("The Matrix", first.get("title").asText());
+        assertEquals("MOVIE", first.get("type").asText());
+        assertEquals(1999, first.get("releaseYear").asInt());
+        assertEquals(2, first.get("actorIds").size());
+        assertEquals(keanu.getId().longValue(), first.get("actorIds").get(0).asLong());
+        assertEquals(carrie.getId().longValue(), first.get("actorIds").get(1).asLong());
+
+        JsonNode second = lines.get(1);
+        assertEquals(arrival.getId().longValue(), second.get("id").asLong());
+        assertTrue(second.get("poseterImageUrl").isNull());
+        assertEquals(0, second.get("actorIds").size());
+    }
+
+    @Test
+    void testExportMidiasAsCsvEscapesValues() throws Exception {
+        String[] lines = export(out -> exportService.exportMidias(ExportFormat.CSV, out)).split("\r\n");
+
+        assertEquals(3, lines.length);
+        assertEquals("id,title,type,releaseYear,director,synopsis,genre,poseterImageUrl,actorIds", lines[0]);
+        assertEquals(matrix.getId() + ",The Matrix,MOVIE,1999,Wachowski Brothers,"
+            + "\"A hacker learns the truth, \"\"reality\"\" included.\",Sci-Fi,matrix.jpg,"
+            + keanu.getId() + ";" + carrie.getId(), lines[1]);
+        assertEquals(arrival.getId() + ",Arrival,MOVIE,2016,Denis Villeneuve,\"Linguist, meet aliens\",Sci-Fi,,", lines[2]);
+    }
+
+    @Test
+    void testExportActors() throws Exception {
+        List<JsonNode> lines = readNdjson(export(out -> exportService.exportActors(ExportFormat.NDJSON, out)));
+
+        assertEquals(2, lines.size());
+        assertEquals("Keanu Reeves", lines.get(0).get("name").asText());
+        assertEquals("1964-09-02", lines.get(0).get("birthDate").asText());
+        assertTrue(lines.get(1).get("birthDate").isNull());
+    }
+
+    @Test
+    void testExportUsersNeverIncludesPassword() throws Exception {
+        String csv = export(out -> exportService.exportUsers(ExportFormat.CSV, out));
+
+        assertEquals("id,name,email\r\n" + lines(csv)[1] + "\r\n", csv);
+        assertTrue(lines(csv)[1].endsWith(",John Doe,john@example.com"));
+        assertFalse(csv.contains("secret"));
+    }
+
+    private String[] lines(String text) {
+        return text.split("\r\n");
+    }
+
+    private List<JsonNode> readNdjson(String body) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n"))
+            lines.add(objectMapper.readTree(line));
+        return lines;
+    }
+
+    private String export(ExportCall call) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        call.run(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface ExportCall {
+        void run(ByteArrayOutputStream out) throws Exception;
+    }
+}
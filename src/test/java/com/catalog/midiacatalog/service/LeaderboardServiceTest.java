@@ -0,0 +1,194 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.catalog.midiacatalog.dto.Leaderboard.LeaderboardDTO;
+import com.catalog.midiacatalog.dto.Leaderboard.LeaderboardEntryDTO;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.model.Evaluation;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.MidiaRatingAggregate;
+import com.catalog.midiacatalog.model.User;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.jakarta.persistence.validation.mode=none",
+    "catalog.leaderboard.size=2",
+    "catalog.leaderboard.min-evaluations=2",
+    "catalog.leaderboard.refresh-interval-ms=3600000"
+})
+@Import(LeaderboardService.class)
+public class LeaderboardServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Midia matrix;
+    private Midia arrival;
+    private Midia dune;
+    private Midia dark;
+    private List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 4; i++)
+            users.add(entityManager.persist(new User(null, "User " + i, "user" + i + "@example.com", null, true)));
+
+        matrix = midia("The Matrix", Midiatype.MOVIE);
+        arrival = midia("Arrival", Midiatype.MOVIE);
+        dune = midia("Dune", Midiatype.MOVIE);
+        dark = midia("Dark", Midiatype.SERIES);
+
+        LocalDateTime recent = LocalDateTime.now().minusDays(1);
+        LocalDateTime old = LocalDateTime.now().minusDays(20);
+
+        // Matrix: 4 evaluations averaging 4.0, all old. Arrival: 2 recent fives. Dune: a single recent five.
+        evaluate(matrix, old, 5, 4, 4, 3);
+        evaluate(arrival, recent, 5, 5);
+        evaluate(dune, recent, 5);
+        evaluate(dark, recent, 4, 2);
+        entityManager.flush();
+
+        leaderboardService.rebuild();
+    }
+
+    @Test
+    void testAllTimeRankingsPerType() {
+        LeaderboardDTO movies = leaderboardService.getLeaderboard(Midiatype.MOVIE, "all");
+
+        assertEquals(List.of("Arrival", "The Matrix"), titles(movies.getTopRated()));
+        assertEquals(5.0, movies.getTopRated().get(0).getAverage());
+        assertEquals(List.of("The Matrix", "Arrival"), titles(movies.getMostEvaluated()));
+        assertEquals(4, movies.getMostEvaluated().get(0).getEvaluations());
+
+        LeaderboardDTO series = leaderboardService.getLeaderboard(Midiatype.SERIES, null);
+        assertEquals(List.of("Dark"), titles(series.getMostEvaluated()));
+    }
+
+    @Test
+    void testWindowExcludesOlderEvaluations() {
+        LeaderboardDTO lastWeek = leaderboardService.getLeaderboard(Midiatype.MOVIE, "7d");
+        LeaderboardDTO lastMonth = leaderboardService.getLeaderboard(Midiatype.MOVIE, "30d");
+
+        assertEquals(List.of("Arrival"), titles(lastWeek.getTopRated()));
+        assertEquals(List.of("Arrival", "Dune"), titles(lastWeek.getMostEvaluated()));
+        assertEquals(List.of("The Matrix", "Arrival"), titles(lastMonth.getMostEvaluated()));
+    }
+
+    @Test
+    void testRecordedEvaluationsShowUpAfterRefresh() {
+        leaderboardService.record(dune.getId(), LocalDate.now(), RatingDelta.added(5));
+        leaderboardService.record(dune.getId(), LocalDate.now(), RatingDelta.added(5));
+        leaderboardService.record(dune.getId(), LocalDate.now(), RatingDelta.added(4));
+
+        assertEquals(List.of("The Matrix", "Arrival"),
+            titles(leaderboardService.getLeaderboard(Midiatype.MOVIE, "all").getMostEvaluated()));
+
+        leaderboardService.refresh();
+
+        LeaderboardDTO movies = leaderboardService.getLeaderboard(Midiatype.MOVIE, "all");
+        assertEquals(List.of("Dune", "The Matrix"), titles(movies.getMostEvaluated()));
+        assertEquals(List.of("Arrival", "Dune"), titles(movies.getTopRated()));
+    }
+
+    @Test
+    void testDisabledEvaluationLeavesWindow() {
+        leaderboardService.record(arrival.getId(), LocalDate.now().minusDays(1), RatingDelta.removed(5));
+        leaderboardService.record(arrival.getId(), LocalDate.now().minusDays(1), RatingDelta.removed(5));
+        leaderboardService.refresh();
+
+        assertEquals(List.of("Dune"),
+            titles(leaderboardService.getLeaderboard(Midiatype.MOVIE, "7d").getMostEvaluated()));
+    }
+
+    @Test
+    void testTypeChangeMovesMidiaOnlyAfterCommit() {
+        TransactionTemplate update = new TransactionTemplate(transactionManager);
+        update.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        update.executeWithoutResult(status -> {
+            leaderboardService.typeChanged(dark.getId(), Midiatype.MOVIE);
+            status.setRollbackOnly();
+        });
+        leaderboardService.refresh();
+        assertEquals(List.of("Dark"),
+            titles(leaderboardService.getLeaderboard(Midiatype.SERIES, "all").getMostEvaluated()));
+
+        update.executeWithoutResult(status -> leaderboardService.typeChanged(dark.getId(), Midiatype.MOVIE));
+        leaderboardService.refresh();
+        assertEquals(List.of(),
+            titles(leaderboardService.getLeaderboard(Midiatype.SERIES, "all").getMostEvaluated()));
+        assertEquals(List.of("Arrival", "Dark"),
+            titles(leaderboardService.getLeaderboard(Midiatype.MOVIE, "7d").getMostEvaluated()));
+    }
+
+    @Test
+    void testRemovedMidiaLeavesBoardsOnlyAfterCommit() {
+        TransactionTemplate remove = new TransactionTemplate(transactionManager);
+        remove.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        remove.executeWithoutResult(status -> {
+            leaderboardService.midiaRemoved(matrix.getId());
+            status.setRollbackOnly();
+        });
+        leaderboardService.refresh();
+        assertEquals(List.of("The Matrix", "Arrival"),
+            titles(leaderboardService.getLeaderboard(Midiatype.MOVIE, "all").getMostEvaluated()));
+
+        remove.executeWithoutResult(status -> leaderboardService.midiaRemoved(matrix.getId()));
+        leaderboardService.refresh();
+        LeaderboardDTO movies = leaderboardService.getLeaderboard(Midiatype.MOVIE, "all");
+        assertEquals(List.of("Arrival", "Dune"), titles(movies.getMostEvaluated()));
+        assertEquals(List.of("Arrival"), titles(movies.getTopRated()));
+        assertEquals(List.of("Arrival", "Dune"),
+            titles(leaderboardService.getLeaderboard(Midiatype.MOVIE, "7d").getMostEvaluated()));
+    }
+
+    @Test
+    void testUnknownWindowIsRejected() {
+        DataValidationException exception = assertThrows(DataValidationException.class,
+            () -> leaderboardService.getLeaderboard(Midiatype.MOVIE, "365d"));
+
+        assertEquals("Leaderboard window must be one of: all, 7d, 30d.", exception.getMessage());
+    }
+
+    private Midia midia(String title, Midiatype type) {
+        return entityManager.persist(new Midia(title, type, 2000, null, null, null, null, new ArrayList<>()));
+    }
+
+    private void evaluate(Midia midia, LocalDateTime date, int... ratings) {
+        MidiaRatingAggregate aggregate = new MidiaRatingAggregate(midia.getId());
+        for (int i = 0; i < ratings.length; i++) {
+            entityManager.persist(new Evaluation(null, midia, users.get(i), ratings[i], null, date, true));
+            aggregate.setRatingCount(aggregate.getRatingCount() + 1);
+            aggregate.setRatingSum(aggregate.getRatingSum() + ratings[i]);
+        }
+        entityManager.persist(aggregate);
+    }
+
+    private List<String> titles(List<LeaderboardEntryDTO> entries) {
+        return entries.stream().map(LeaderboardEntryDTO::getTitle).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,149 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.catalog.midiacatalog.dto.Midia.MidiaImportResultDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaRegistrationDTO;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+import com.catalog.midiacatalog.repository.ActorRepository;
+
+public class MidiaImportServiceTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ActorRepository actorRepository;
+
+    @Mock
+    private CastGraphService castGraphService;
+
+    @Mock
+    private ActorMidiasCache actorMidiasCache;
+
+    @InjectMocks
+    private MidiaImportService midiaImportService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenAnswer(invocation -> {
+            int count = invocation.getArgument(2);
+            return LongStream.rangeClosed(1, count).boxed().collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    void testImportReportsErrorsPerRow() {
+        when(actorRepository.findExistingIds(Arrays.asList(1L, 2L, 99L))).thenReturn(Arrays.asList(1L, 2L));
+
+        List<MidiaRegistrationDTO> midias = Arrays.asList(
+            midia("The Matrix", Midiatype.MOVIE, 1L, 2L),
+            midia(null, Midiatype.MOVIE),
+            midia("Breaking Bad", Midiatype.SERIES, 2L, 99L),
+            midia("Dark", Midiatype.SERIES));
+
+        MidiaImportResultDTO result = midiaImportService.importMidias(midias.iterator());
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals("Midia title must be informed.", result.getErrors().get(0).getErrors().get(0));
+        assertEquals(3, result.getErrors().get(1).getRow());
+        assertTrue(result.getErrors().get(1).getErrors().get(0).contains("99"));
+        verify(actorRepository, times(1)).findExistingIds(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportWritesJdbcBatches() {
+        when(actorRepository.findExistingIds(any())).thenReturn(Arrays.asList(1L, 2L));
+
+        List<MidiaRegistrationDTO> midias = Arrays.asList(
+            midia("The Matrix", Midiatype.MOVIE, 1L, 2L, 1L),
+            midia("Dark", Midiatype.SERIES, 2L));
+
+        midiaImportService.importMidias(midias.iterator());
+
+        ArgumentCaptor<List<Object[]>> midiaRows = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Object[]>> actorRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO midias"), midiaRows.capture());
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO midia_actors"), actorRows.capture());
+        assertEquals(2, midiaRows.getValue().size());
+        assertEquals("MOVIE", midiaRows.getValue().get(0)[2]);
+        assertEquals(3, actorRows.getValue().size());
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO midia_rating_aggregates"), anyList());
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), any(Object[].class));
+        verify(castGraphService).castsChanged(List.of(1L, 2L));
+        verify(actorMidiasCache).evictAfterCommit(Set.of(1L, 2L));
+    }
+
+    @Test
+    void testImportSplitsIntoBatches() {
+        List<MidiaRegistrationDTO> midias = new ArrayList<>();
+        for (int i = 0; i < MidiaImportService.BATCH_SIZE * 2 + 1; i++)
+            midias.add(midia("Midia " + i, Midiatype.MOVIE));
+
+        MidiaImportResultDTO result = midiaImportService.importMidias(midias.iterator());
+
+        assertEquals(midias.size(), result.getImported());
+        verify(transactionTemplate, times(3)).executeWithoutResult(any());
+        verify(jdbcTemplate, times(3)).batchUpdate(startsWith("INSERT INTO midias"), anyList());
+        verify(actorRepository, never()).findExistingIds(any());
+    }
+
+    @Test
+    void testImportReportsFailedBatch() {
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO midias"), anyList()))
+            .thenThrow(new DataIntegrityViolationException("boom"));
+
+        MidiaImportResultDTO result = midiaImportService.importMidias(
+            Arrays.asList(midia("The Matrix", Midiatype.MOVIE)).iterator());
+
+        assertEquals(0, result.getImported());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).getErrors().get(0).startsWith("Batch insert failed:"));
+    }
+
+    private MidiaRegistrationDTO midia(String title, Midiatype type, Long... actorIds) {
+        MidiaRegistrationDTO midia = new MidiaRegistrationDTO();
+        midia.setTitle(title);
+        midia.setType(type);
+        midia.setActorIds(new ArrayList<>(Arrays.asList(actorIds)));
+        return midia;
+    }
+}
@@ -0,0 +1,140 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.catalog.midiacatalog.config.CacheConfig;
+import com.catalog.midiacatalog.dto.Midia.MidiaUpdateDTO;
+import com.catalog.midiacatalog.model.Actor;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+import com.catalog.midiacatalog.repository.ActorRepository;
+import com.catalog.midiacatalog.repository.MidiaRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+@SpringBootTest(classes = {MidiaService.class, ActorService.class, CacheConfig.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+public class MidiaServiceCacheTest {
+
+    @MockitoBean
+    private MidiaRepository midiaRepository;
+
+    @MockitoBean
+    private ActorRepository actorRepository;
+
+    @MockitoBean
+    private RatingAggregateService ratingAggregateService;
+
+    @MockitoBean
+    private CastGraphService castGraphService;
+
+    @MockitoBean
+    private ActorMidiasCache actorMidiasCache;
+
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
+    @MockitoBean
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private MidiaService midiaService;
+
+    @Autowired
+    private ActorService actorService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Midia midia;
+    private Actor actor;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.MIDIA_DETAILS_CACHE).clear();
+
+        actor = new Actor();
+        actor.setId(1L);
+        actor.setName("John Doe");
+
+        midia = new Midia();
+        midia.setId(1L);
+        midia.setTitle("The Matrix");
+        midia.setType(Midiatype.MOVIE);
+        midia.setActors(new ArrayList<>());
+
+        when(midiaRepository.findById(1L)).thenReturn(Optional.of(midia));
+        when(midiaRepository.findWithActorsById(1L)).thenReturn(Optional.of(midia));
+        when(actorRepository.findWithMidiasById(1L)).thenReturn(Optional.of(actor));
+        when(midiaRepository.save(any(Midia.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void testGetMidiaServedFromCache() {
+        midiaService.getMidia(1L);
+        midiaService.getMidia(1L);
+        midiaService.getMidia(1L);
+
+        verify(midiaRepository, times(1)).findWithActorsById(1L);
+        CacheStats stats = stats();
+        assertTrue(stats.hitCount() >= 2);
+        assertTrue(stats.missCount() >= 1);
+    }
+
+    @Test
+    void testUpdateEvictsCachedMidia() {
+        midiaService.getMidia(1L);
+
+        MidiaUpdateDTO midiaInfo = new MidiaUpdateDTO();
+        midiaInfo.setTitle("The Matrix Reloaded");
+        midiaInfo.setActorIds(null);
+        midiaService.update(1L, midiaInfo);
+
+        assertEquals("The Matrix Reloaded", midiaService.getMidia(1L).getTitle());
+    }
+
+    @Test
+    void testRemoveEvictsCachedMidia() {
+        midiaService.getMidia(1L);
+        midiaService.remove(1L);
+
+        assertNull(cacheManager.getCache(CacheConfig.MIDIA_DETAILS_CACHE).get(1L));
+    }
+
+    @Test
+    void testActorMembershipChangesEvictCachedMidia() {
+        actor.setMidias(new ArrayList<>());
+        when(midiaRepository.findWithActorsById(2L)).thenReturn(Optional.of(midia));
+        midiaService.getMidia(1L);
+        midiaService.getMidia(2L);
+
+        actorService.addMidia(1L, 1L);
+
+        assertNull(cacheManager.getCache(CacheConfig.MIDIA_DETAILS_CACHE).get(1L));
+        assertNotNull(cacheManager.getCache(CacheConfig.MIDIA_DETAILS_CACHE).get(2L));
+
+        midiaService.getMidia(1L);
+        actorService.removeMidia(1L, 1L);
+
+        assertNull(cacheManager.getCache(CacheConfig.MIDIA_DETAILS_CACHE).get(1L));
+    }
+
+    private CacheStats stats() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.MIDIA_DETAILS_CACHE);
+        return cache.getNativeCache().stats();
+    }
+}
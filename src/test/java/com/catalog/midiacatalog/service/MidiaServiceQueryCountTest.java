@@ -0,0 +1,142 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
+import com.catalog.midiacatalog.dto.Midia.DetailedMidiaResponseDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaFilterDTO;
+import com.catalog.midiacatalog.model.Actor;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.jakarta.persistence.validation.mode=none"
+})
+@Import({MidiaService.class, RatingAggregateService.class})
+public class MidiaServiceQueryCountTest {
+
+    private static final int MIDIA_COUNT = 60;
+    private static final int ACTORS_PER_MIDIA = 3;
+
+    @MockitoBean
+    private CastGraphService castGraphService;
+
+    @MockitoBean
+    private ActorMidiasCache actorMidiasCache;
+
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
+    @MockitoBean
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MidiaService midiaService;
+
+    private Statistics statistics;
+
+    private Long firstActorId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < MIDIA_COUNT; i++) {
+            List<Actor> actors = new ArrayList<>();
+            for (int j = 0; j < ACTORS_PER_MIDIA; j++) {
+                Actor actor = new Actor();
+                actor.setName("Actor " + i + "-" + j);
+                actors.add(entityManager.persist(actor));
+            }
+            if (firstActorId == null)
+                firstActorId = actors.get(0).getId();
+            entityManager.persist(new Midia("Midia " + i, Midiatype.MOVIE, 2000 + i, "Director",
+                                            "Synopsis", "Drama", "poster.jpg", actors));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void testGetAllMidiasStatementCountIndependentOfPageSize() {
+        long smallPage = countStatementsForPage(5);
+        long mediumPage = countStatementsForPage(20);
+        long largePage = countStatementsForPage(50);
+
+        assertEquals(smallPage, mediumPage);
+        assertEquals(smallPage, largePage);
+        assertTrue(smallPage <= 3, "Expected id page, count and actor fetch only, got " + smallPage);
+    }
+
+    private long countStatementsForPage(int pageSize) {
+        entityManager.clear();
+        statistics.clear();
+
+        Page<DetailedMidiaResponseDTO> page = midiaService.getAllMidias(PageRequest.of(0, pageSize, Sort.by("title")));
+
+        assertEquals(pageSize, page.getContent().size());
+        assertEquals(MIDIA_COUNT, page.getTotalElements());
+        page.getContent().forEach(midia -> assertEquals(ACTORS_PER_MIDIA, midia.getActors().size()));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void testGetAllMidiasAfterVisitsEveryRowWithoutCountQuery() {
+        Set<Long> visited = new HashSet<>();
+        String cursor = "";
+        boolean hasNext = true;
+
+        while (hasNext) {
+            entityManager.clear();
+            statistics.clear();
+
+            CursorPageResponseDTO<DetailedMidiaResponseDTO> slice = midiaService.getAllMidiasAfter(cursor, 7);
+
+            assertEquals(2, statistics.getPrepareStatementCount());
+            slice.getContent().forEach(midia -> assertTrue(visited.add(midia.getId())));
+            cursor = slice.getNextCursor();
+            hasNext = slice.isHasNext();
+        }
+
+        assertEquals(MIDIA_COUNT, visited.size());
+    }
+
+    @Test
+    void testFilterCombinesCriteriaInOneQuery() {
+        Actor actor = entityManager.find(Actor.class, firstActorId);
+        MidiaFilterDTO filter = new MidiaFilterDTO(Midiatype.MOVIE, 2000, 2010, "Drama", "Director", actor.getId());
+
+        entityManager.clear();
+        statistics.clear();
+        Page<DetailedMidiaResponseDTO> page = midiaService.filter(filter, PageRequest.of(0, 10, Sort.by("title")));
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Midia 0", page.getContent().get(0).getTitle());
+        assertEquals(ACTORS_PER_MIDIA, page.getContent().get(0).getActors().size());
+        assertTrue(statistics.getPrepareStatementCount() <= 3);
+    }
+
+}
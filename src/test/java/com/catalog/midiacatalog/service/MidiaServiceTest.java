@@ -8,6 +8,7 @@ import static org.mockito.Mockito.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -19,11 +20,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
 import com.catalog.midiacatalog.dto.Midia.DetailedMidiaResponseDTO;
+import com.catalog.midiacatalog.dto.Midia.MidiaFilterDTO;
 import com.catalog.midiacatalog.dto.Midia.MidiaRegistrationDTO;
 import com.catalog.midiacatalog.dto.Midia.MidiaResponseDTO;
 import com.catalog.midiacatalog.dto.Midia.MidiaUpdateDTO;
+import com.catalog.midiacatalog.dto.Midia.RatingSummaryDTO;
 import com.catalog.midiacatalog.exception.DataNotFoundException;
 import com.catalog.midiacatalog.exception.DataValidationException;
 import com.catalog.midiacatalog.model.Actor;
@@ -31,6 +36,8 @@ import com.catalog.midiacatalog.model.Midia;
 import com.catalog.midiacatalog.model.enums.Midiatype;
 import com.catalog.midiacatalog.repository.ActorRepository;
 import com.catalog.midiacatalog.repository.MidiaRepository;
+import com.catalog.midiacatalog.repository.projection.MidiaActorSummary;
+import com.catalog.midiacatalog.repository.projection.MidiaSummary;
 
 public class MidiaServiceTest {
     @Mock
@@ -39,6 +46,21 @@ public class MidiaServiceTest {
     @Mock
     private ActorRepository actorRepository;
 
+    @Mock
+    private RatingAggregateService ratingAggregateService;
+
+    @Mock
+    private CastGraphService castGraphService;
+
+    @Mock
+    private ActorMidiasCache actorMidiasCache;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private RecommendationService recommendationService;
+
     @InjectMocks
     private MidiaService midiaService;
 
@@ -99,8 +121,7 @@ public class MidiaServiceTest {
         midiaDTO.setPoseterImageUrl(midia1.getPoseterImageUrl());
         midiaDTO.setActorIds(Arrays.asList(1L, 2L));
 
-        when(actorRepository.findById(1L)).thenReturn(Optional.of(actor1));
-        when(actorRepository.findById(2L)).thenReturn(Optional.of(actor2));
+        when(actorRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(actor1, actor2));
         when(midiaRepository.save(any(Midia.class))).thenReturn(midia1);
 
         MidiaResponseDTO response = midiaService.register(midiaDTO);
@@ -110,6 +131,9 @@ public class MidiaServiceTest {
         assertEquals(midia1.getTitle(), response.getTitle());
         assertEquals(midia1.getType(), response.getType());
         verify(midiaRepository, times(1)).save(any(Midia.class));
+        verify(actorRepository, times(1)).findAllById(Arrays.asList(1L, 2L));
+        verify(actorRepository, never()).findById(any());
+        verify(ratingAggregateService, times(1)).initialize(midia1.getId());
     }
 
     @Test
@@ -140,8 +164,7 @@ public class MidiaServiceTest {
         midiaDTO.setType(midia1.getType());
         midiaDTO.setActorIds(Arrays.asList(1L, 99L));
 
-        when(actorRepository.findById(1L)).thenReturn(Optional.of(actor1));
-        when(actorRepository.findById(99L)).thenReturn(Optional.empty());
+        when(actorRepository.findAllById(Arrays.asList(1L, 99L))).thenReturn(Arrays.asList(actor1));
 
         DataNotFoundException exception = assertThrows(DataNotFoundException.class,
             () -> midiaService.register(midiaDTO));
@@ -154,6 +177,8 @@ public class MidiaServiceTest {
     @Test
     void testRemoveMidiaSuccess() {
         when(midiaRepository.findById(midia1.getId())).thenReturn(Optional.of(midia1));
+        when(midiaRepository.findActorSummariesByMidiaIdIn(List.of(midia1.getId())))
+            .thenReturn(List.of(new MidiaActorSummary(midia1.getId(), 1L, "John Doe"), new MidiaActorSummary(midia1.getId(), 2L, "Jane Smith")));
         
         MidiaResponseDTO response = midiaService.remove(midia1.getId());
         
@@ -162,6 +187,9 @@ public class MidiaServiceTest {
         assertEquals(midia1.getTitle(), response.getTitle());
         assertEquals(midia1.getType(), response.getType());
         verify(midiaRepository, times(1)).deleteById(midia1.getId());
+        verify(actorMidiasCache, times(1)).evictAfterCommit(List.of(1L, 2L));
+        verify(leaderboardService, times(1)).midiaRemoved(midia1.getId());
+        verify(recommendationService, times(1)).midiaRemoved(midia1.getId());
     }
 
     @Test
@@ -195,7 +223,9 @@ public class MidiaServiceTest {
         midiaDTO.setActorIds(Arrays.asList(1L));
 
         when(midiaRepository.findById(midia1.getId())).thenReturn(Optional.of(midia1));
-        when(actorRepository.findById(1L)).thenReturn(Optional.of(actor1));
+        when(midiaRepository.findActorSummariesByMidiaIdIn(List.of(midia1.getId())))
+            .thenReturn(List.of(new MidiaActorSummary(midia1.getId(), 2L, "Jane Smith")));
+        when(actorRepository.findAllById(Arrays.asList(1L))).thenReturn(Arrays.asList(actor1));
         when(midiaRepository.save(any(Midia.class))).thenReturn(midia1);
 
         MidiaResponseDTO response = midiaService.update(midia1.getId(), midiaDTO);
@@ -213,6 +243,8 @@ public class MidiaServiceTest {
         assertEquals("updated.jpg", midia1.getPoseterImageUrl());
         assertEquals(1, midia1.getActors().size());
         assertEquals(actor1.getId(), midia1.getActors().get(0).getId());
+        verify(leaderboardService, times(1)).typeChanged(midia1.getId(), Midiatype.SERIES);
+        verify(actorMidiasCache, times(1)).evictAfterCommit(List.of(2L, 1L));
     }
 
     @Test
@@ -253,7 +285,7 @@ public class MidiaServiceTest {
         midiaDTO.setActorIds(Arrays.asList(99L));
         
         when(midiaRepository.findById(midia1.getId())).thenReturn(Optional.of(midia1));
-        when(actorRepository.findById(99L)).thenReturn(Optional.empty());
+        when(actorRepository.findAllById(Arrays.asList(99L))).thenReturn(new ArrayList<>());
         
         DataNotFoundException exception = assertThrows(DataNotFoundException.class,
             () -> midiaService.update(midia1.getId(), midiaDTO));
@@ -265,7 +297,9 @@ public class MidiaServiceTest {
 
     @Test
     void testGetMidiaSuccess() {
-        when(midiaRepository.findById(midia1.getId())).thenReturn(Optional.of(midia1));
+        RatingSummaryDTO rating = new RatingSummaryDTO(2, 4.5, Map.of(1, 0L, 2, 0L, 3, 0L, 4, 1L, 5, 1L));
+        when(midiaRepository.findWithActorsById(midia1.getId())).thenReturn(Optional.of(midia1));
+        when(ratingAggregateService.getSummary(midia1.getId())).thenReturn(rating);
         
         DetailedMidiaResponseDTO response = midiaService.getMidia(midia1.getId());
         
@@ -279,6 +313,7 @@ public class MidiaServiceTest {
         assertEquals(midia1.getGenre(), response.getGenre());
         assertEquals(midia1.getPoseterImageUrl(), response.getPoseterImageUrl());
         assertEquals(2, response.getActors().size());
+        assertEquals(rating, response.getRating());
     }
 
     @Test
@@ -290,7 +325,7 @@ public class MidiaServiceTest {
 
     @Test
     void testGetMidiaFailNotFound() {
-        when(midiaRepository.findById(99L)).thenReturn(Optional.empty());
+        when(midiaRepository.findWithActorsById(99L)).thenReturn(Optional.empty());
         
         Exception exception = assertThrows(DataNotFoundException.class,
             () -> midiaService.getMidia(99L));
@@ -300,10 +335,13 @@ public class MidiaServiceTest {
     @Test
     void testGetAllMidiasSuccess() {
         Pageable pageable = PageRequest.of(0, 10);
-        List<Midia> midias = Arrays.asList(midia1, midia2);
-        Page<Midia> midiaPage = new PageImpl<>(midias, pageable, midias.size());
+        Page<MidiaSummary> midiaPage = new PageImpl<>(Arrays.asList(toSummary(midia1), toSummary(midia2)), pageable, 2);
         
-        when(midiaRepository.findAll(pageable)).thenReturn(midiaPage);
+        when(midiaRepository.findAllSummaries(pageable)).thenReturn(midiaPage);
+        when(midiaRepository.findActorSummariesByMidiaIdIn(Arrays.asList(midia1.getId(), midia2.getId())))
+            .thenReturn(Arrays.asList(
+                new MidiaActorSummary(midia1.getId(), actor1.getId(), actor1.getName()),
+                new MidiaActorSummary(midia1.getId(), actor2.getId(), actor2.getName())));
         
         Page<DetailedMidiaResponseDTO> response = midiaService.getAllMidias(pageable);
         
@@ -313,18 +351,24 @@ public class MidiaServiceTest {
         assertEquals(midia1.getTitle(), response.getContent().get(0).getTitle());
         assertEquals(midia2.getId(), response.getContent().get(1).getId());
         assertEquals(midia2.getTitle(), response.getContent().get(1).getTitle());
+        assertEquals(2, response.getContent().get(0).getActors().size());
+        assertEquals(actor1.getName(), response.getContent().get(0).getActors().get(0).getName());
+        assertEquals(0, response.getContent().get(1).getActors().size());
+        assertNull(response.getContent().get(0).getSynopsis());
+        verify(midiaRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
     void testGetAllMidiasFailEmptyList() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Midia> emptyPage = new PageImpl<>(new ArrayList<>(), pageable, 0);
+        Page<MidiaSummary> emptyPage = new PageImpl<>(new ArrayList<>(), pageable, 0);
         
-        when(midiaRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(midiaRepository.findAllSummaries(pageable)).thenReturn(emptyPage);
         
         Exception exception = assertThrows(DataNotFoundException.class,
             () -> midiaService.getAllMidias(pageable));
         assertEquals("No users found in database.", exception.getMessage());
+        verify(midiaRepository, never()).findActorSummariesByMidiaIdIn(any());
     }
 
     @Test
@@ -334,8 +378,7 @@ public class MidiaServiceTest {
         midiaDTO.setType(midia1.getType());
         midiaDTO.setActorIds(Arrays.asList(1L, 2L));
 
-        when(actorRepository.findById(1L)).thenReturn(Optional.of(actor1));
-        when(actorRepository.findById(2L)).thenReturn(Optional.of(actor2));
+        when(actorRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(actor1, actor2));
         when(midiaRepository.save(any(Midia.class))).thenAnswer(invocation -> {
             Midia savedMidia = invocation.getArgument(0);
             savedMidia.setId(1L);
@@ -378,15 +421,16 @@ public class MidiaServiceTest {
         assertEquals("Sci-Fi", midia1.getGenre());
         assertEquals("matrix.jpg", midia1.getPoseterImageUrl());
         assertEquals(2, midia1.getActors().size());
+        verify(leaderboardService, never()).typeChanged(any(), any());
+        verify(actorMidiasCache, never()).evictAfterCommit(any());
     }
 
     @Test
     void testGetAllMidiasPagination() {
         Pageable pageable = PageRequest.of(0, 1); // First page, 1 item per page
-        List<Midia> midias = Arrays.asList(midia1);
-        Page<Midia> midiaPage = new PageImpl<>(midias, pageable, 2); // Total 2 items
+        Page<MidiaSummary> midiaPage = new PageImpl<>(Arrays.asList(toSummary(midia1)), pageable, 2); // Total 2 items
         
-        when(midiaRepository.findAll(pageable)).thenReturn(midiaPage);
+        when(midiaRepository.findAllSummaries(pageable)).thenReturn(midiaPage);
         
         Page<DetailedMidiaResponseDTO> response = midiaService.getAllMidias(pageable);
         
@@ -413,5 +457,113 @@ public class MidiaServiceTest {
         assertEquals(midia1.getId(), response.getId());
         assertEquals("Updated Title", midia1.getTitle());
         assertEquals(0, midia1.getActors().size());
+        verify(castGraphService).castsChanged(List.of(midia1.getId()));
+    }
+
+    @Test
+    void testRegisterMidiaDuplicateActorIdsResolvedOnce() {
+        MidiaRegistrationDTO midiaDTO = new MidiaRegistrationDTO();
+        midiaDTO.setTitle(midia1.getTitle());
+        midiaDTO.setType(midia1.getType());
+        midiaDTO.setActorIds(Arrays.asList(2L, 1L, 2L));
+
+        when(actorRepository.findAllById(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(actor1, actor2));
+        when(midiaRepository.save(any(Midia.class))).thenAnswer(invocation -> {
+            Midia saved = invocation.getArgument(0);
+            saved.setId(10L);
+            return saved;
+        });
+
+        midiaService.register(midiaDTO);
+
+        verify(actorRepository, times(1)).findAllById(Arrays.asList(2L, 1L));
+        verify(midiaRepository, times(1)).save(argThat(midia -> 
+            midia.getActors().size() == 2 &&
+            midia.getActors().get(0).getId().equals(2L) &&
+            midia.getActors().get(1).getId().equals(1L)
+        ));
+        verify(castGraphService).castsChanged(List.of(10L));
+    }
+
+    private MidiaSummary toSummary(Midia midia) {
+        return new MidiaSummary(midia.getId(), midia.getTitle(), midia.getType(), midia.getReleaseYear(),
+                                midia.getDirector(), midia.getGenre(), midia.getPoseterImageUrl());
+    }
+
+    @Test
+    void testGetAllMidiasAfterCursor() {
+        String cursor = new KeysetCursor(midia1.getTitle(), midia1.getId()).encode();
+        when(midiaRepository.findSummariesAfter(midia1.getTitle(), midia1.getId(), PageRequest.of(0, 11)))
+            .thenReturn(Arrays.asList(toSummary(midia2)));
+        when(midiaRepository.findActorSummariesByMidiaIdIn(Arrays.asList(midia2.getId())))
+            .thenReturn(new ArrayList<>());
+
+        CursorPageResponseDTO<DetailedMidiaResponseDTO> response = midiaService.getAllMidiasAfter(cursor, 10);
+
+        assertEquals(1, response.getContent().size());
+        assertEquals(midia2.getTitle(), response.getContent().get(0).getTitle());
+        assertFalse(response.isHasNext());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void testSearchKeepsRankOrder() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("title"));
+        Pageable rankedPage = PageRequest.of(0, 10);
+        when(midiaRepository.searchIds("chemistry teacher", rankedPage))
+            .thenReturn(new PageImpl<>(Arrays.asList(midia2.getId(), midia1.getId()), rankedPage, 2));
+        when(midiaRepository.findSummariesByIdIn(Arrays.asList(midia2.getId(), midia1.getId())))
+            .thenReturn(Arrays.asList(toSummary(midia1), toSummary(midia2)));
+
+        Page<DetailedMidiaResponseDTO> response = midiaService.search("  chemistry teacher ", pageable);
+
+        assertEquals(2, response.getTotalElements());
+        assertEquals(midia2.getId(), response.getContent().get(0).getId());
+        assertEquals(midia1.getId(), response.getContent().get(1).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchSkipsMidiasDeletedMeanwhile() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(midiaRepository.searchIds("matrix", pageable))
+            .thenReturn(new PageImpl<>(Arrays.asList(midia2.getId(), midia1.getId()), pageable, 2));
+        when(midiaRepository.findSummariesByIdIn(Arrays.asList(midia2.getId(), midia1.getId())))
+            .thenReturn(Arrays.asList(toSummary(midia1)));
+
+        Page<DetailedMidiaResponseDTO> response = midiaService.search("matrix", pageable);
+
+        assertEquals(1, response.getContent().size());
+        assertEquals(midia1.getId(), response.getContent().get(0).getId());
+    }
+
+    @Test
+    void testSearchFailValidations() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        Exception exception = assertThrows(DataValidationException.class,
+            () -> midiaService.search(" ", pageable));
+        assertEquals("Search query must be informed.", exception.getMessage());
+
+        when(midiaRepository.searchIds("nothing", pageable)).thenReturn(new PageImpl<>(new ArrayList<>(), pageable, 0));
+        exception = assertThrows(DataNotFoundException.class,
+            () -> midiaService.search("nothing", pageable));
+        assertEquals("No midias found for this search.", exception.getMessage());
+    }
+
+    @Test
+    void testFilterFailValidations() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        Exception exception = assertThrows(DataValidationException.class,
+            () -> midiaService.filter(null, pageable));
+        assertEquals("Midia filter must be informed.", exception.getMessage());
+
+        MidiaFilterDTO filter = new MidiaFilterDTO();
+        filter.setReleaseYearFrom(2010);
+        filter.setReleaseYearTo(2000);
+        exception = assertThrows(DataValidationException.class,
+            () -> midiaService.filter(filter, pageable));
+        assertEquals("Release year range start cannot be after its end.", exception.getMessage());
+    }
+
+}
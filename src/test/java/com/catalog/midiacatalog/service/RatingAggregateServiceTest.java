@@ -0,0 +1,80 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.catalog.midiacatalog.dto.Midia.RatingSummaryDTO;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+
+@DataJpaTest(properties = "spring.jpa.properties.jakarta.persistence.validation.mode=none")
+@Import(RatingAggregateService.class)
+public class RatingAggregateServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    private Long midiaId;
+
+    @BeforeEach
+    void setUp() {
+        midiaId = entityManager.persist(new Midia("The Matrix", Midiatype.MOVIE, 1999, "Wachowski Brothers",
+                                                  null, "Sci-Fi", null, new ArrayList<>())).getId();
+    }
+
+    @Test
+    void testEmptySummaryHasNoAverage() {
+        ratingAggregateService.initialize(midiaId);
+
+        RatingSummaryDTO summary = ratingAggregateService.getSummary(midiaId);
+
+        assertEquals(0, summary.getCount());
+        assertNull(summary.getAverage());
+        assertEquals(5, summary.getHistogram().size());
+    }
+
+    @Test
+    void testDeltasAccumulateIncrementally() {
+        ratingAggregateService.initialize(midiaId);
+        entityManager.flush();
+
+        ratingAggregateService.apply(midiaId, RatingDelta.added(5));
+        ratingAggregateService.apply(midiaId, RatingDelta.added(4));
+        ratingAggregateService.apply(midiaId, RatingDelta.added(3));
+        ratingAggregateService.apply(midiaId, RatingDelta.changed(3, 5));
+        ratingAggregateService.apply(midiaId, RatingDelta.removed(4));
+        entityManager.clear();
+
+        RatingSummaryDTO summary = ratingAggregateService.getSummary(midiaId);
+
+        assertEquals(2, summary.getCount());
+        assertEquals(5.0, summary.getAverage());
+        assertEquals(0L, summary.getHistogram().get(3));
+        assertEquals(0L, summary.getHistogram().get(4));
+        assertEquals(2L, summary.getHistogram().get(5));
+    }
+
+    @Test
+    void testMissingAggregateIsCreatedOnFirstDelta() {
+        ratingAggregateService.apply(midiaId, RatingDelta.added(2));
+        entityManager.flush();
+        entityManager.clear();
+
+        RatingSummaryDTO summary = ratingAggregateService.getSummary(midiaId);
+
+        assertEquals(1, summary.getCount());
+        assertEquals(2.0, summary.getAverage());
+        assertEquals(1L, summary.getHistogram().get(2));
+    }
+}
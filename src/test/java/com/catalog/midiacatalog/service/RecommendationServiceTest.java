@@ -0,0 +1,142 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.catalog.midiacatalog.dto.Midia.SimilarMidiaDTO;
+import com.catalog.midiacatalog.exception.DataNotFoundException;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.model.Evaluation;
+import com.catalog.midiacatalog.model.Midia;
+import com.catalog.midiacatalog.model.User;
+import com.catalog.midiacatalog.model.enums.Midiatype;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.jakarta.persistence.validation.mode=none",
+    "catalog.recommendations.neighbours=5",
+    "catalog.recommendations.min-co-likes=1",
+    "catalog.recommendations.refresh-interval-ms=3600000"
+})
+@Import({RecommendationService.class, SimpleMeterRegistry.class})
+public class RecommendationServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Midia matrix;
+    private Midia reloaded;
+    private Midia arrival;
+    private Midia dune;
+    private List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++)
+            users.add(entityManager.persist(new User(null, "User " + i, "user" + i + "@example.com", null, true)));
+
+        matrix = midia("The Matrix");
+        reloaded = midia("The Matrix Reloaded");
+        arrival = midia("Arrival");
+        dune = midia("Dune");
+
+        // Users 0 and 1 loved both Matrix films, user 2 liked The Matrix and Arrival but not Dune.
+        evaluate(users.get(0), matrix, 5);
+        evaluate(users.get(0), reloaded, 4);
+        evaluate(users.get(1), matrix, 4);
+        evaluate(users.get(1), reloaded, 5);
+        evaluate(users.get(2), matrix, 5);
+        evaluate(users.get(2), arrival, 4);
+        evaluate(users.get(2), dune, 2);
+        entityManager.flush();
+
+        recommendationService.rebuild();
+    }
+
+    @Test
+    void testSimilarRankedByCoLikes() {
+        List<SimilarMidiaDTO> similar = recommendationService.getSimilar(matrix.getId(), 5);
+
+        assertEquals(List.of("The Matrix Reloaded", "Arrival"), titles(similar));
+        assertTrue(similar.get(0).getScore() > similar.get(1).getScore());
+    }
+
+    @Test
+    void testRecordedRatingsApplyOnRefresh() {
+        recommendationService.recordRating(users.get(2).getId(), dune.getId(), 2, 5);
+        recommendationService.recordRating(users.get(2).getId(), arrival.getId(), 4, null);
+        recommendationService.refresh();
+
+        assertEquals(List.of("The Matrix Reloaded", "Dune"), titles(recommendationService.getSimilar(matrix.getId(), 5)));
+        assertEquals(List.of(), recommendationService.getSimilar(arrival.getId(), 5));
+    }
+
+    @Test
+    void testRatingsBelowLikeThresholdAreIgnored() {
+        recommendationService.recordRating(users.get(0).getId(), dune.getId(), null, 3);
+        recommendationService.refresh();
+
+        assertEquals(List.of(), recommendationService.getSimilar(dune.getId(), 5));
+    }
+
+    @Test
+    void testRemovedMidiaLeavesNeighboursAfterCommit() {
+        recommendationService.recordRating(users.get(2).getId(), reloaded.getId(), null, 5);
+        TransactionTemplate remove = new TransactionTemplate(transactionManager);
+        remove.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        remove.executeWithoutResult(status -> {
+            recommendationService.midiaRemoved(reloaded.getId());
+            status.setRollbackOnly();
+        });
+        recommendationService.refresh();
+        assertEquals(List.of("The Matrix Reloaded", "Arrival"), titles(recommendationService.getSimilar(matrix.getId(), 5)));
+
+        remove.executeWithoutResult(status -> recommendationService.midiaRemoved(reloaded.getId()));
+        recommendationService.refresh();
+
+        assertEquals(List.of("Arrival"), titles(recommendationService.getSimilar(matrix.getId(), 5)));
+    }
+
+    @Test
+    void testGetSimilarValidation() {
+        DataValidationException exception = assertThrows(DataValidationException.class,
+            () -> recommendationService.getSimilar(matrix.getId(), 6));
+        assertEquals("Size must be between 1 and 5.", exception.getMessage());
+
+        assertThrows(DataNotFoundException.class, () -> recommendationService.getSimilar(999L, 5));
+    }
+
+    private Midia midia(String title) {
+        return entityManager.persist(new Midia(title, Midiatype.MOVIE, 2000, null, null, null, null, new ArrayList<>()));
+    }
+
+    private void evaluate(User user, Midia midia, int rating) {
+        entityManager.persist(new Evaluation(null, midia, user, rating, null, LocalDateTime.now(), true));
+    }
+
+    private List<String> titles(List<SimilarMidiaDTO> similar) {
+        return similar.stream().map(SimilarMidiaDTO::getTitle).collect(Collectors.toList());
+    }
+}
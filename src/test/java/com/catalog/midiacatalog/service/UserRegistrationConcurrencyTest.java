@@ -0,0 +1,117 @@
+package com.catalog.midiacatalog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.catalog.midiacatalog.dto.User.UserRegistrationDTO;
+import com.catalog.midiacatalog.dto.User.UserUpdateDTO;
+import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.repository.UserRepository;
+import com.catalog.midiacatalog.security.AuthenticatedUser;
+import com.catalog.midiacatalog.security.LoginRateLimiter;
+import com.catalog.midiacatalog.security.PasswordHasher;
+import com.catalog.midiacatalog.security.TokenService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.jakarta.persistence.validation.mode=none",
+    "catalog.email-filter.check-interval-ms=3600000"
+})
+@Import({UserService.class, EmailFilterService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserRegistrationConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @MockitoBean
+    private PasswordHasher passwordHasher;
+
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(passwordHasher.hash(anyString())).thenReturn("hash");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentSignUpsWithSameEmailCreateOneAccount() throws Exception {
+        List<String> outcomes = race(() ->
+            userService.register(new UserRegistrationDTO("Joaquim", "joaquim@gmail.com", "Senhaforte123@")));
+
+        assertEquals(1, outcomes.stream().filter("created"::equals).count());
+        assertEquals(THREADS - 1, outcomes.stream().filter("Email already registered."::equals).count());
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void testEmailChangeToTakenAddressIsRejected() {
+        userService.register(new UserRegistrationDTO("Joaquim", "joaquim@gmail.com", "Senhaforte123@"));
+        Long joanaId = userService.register(new UserRegistrationDTO("Joana", "joana@gmail.com", "Senhaforte123@")).getId();
+
+        DataValidationException exception = assertThrows(DataValidationException.class,
+            () -> userService.update(joanaId, new UserUpdateDTO(null, "joaquim@gmail.com", null),
+                new AuthenticatedUser(joanaId, "joana@gmail.com", "token-id", Instant.now().plusSeconds(3600))));
+
+        assertEquals("Email already registered.", exception.getMessage());
+        assertEquals("joana@gmail.com", userRepository.findById(joanaId).get().getEmail());
+    }
+
+    private List<String> race(Runnable signUp) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++)
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    signUp.run();
+                    return "created";
+                } catch (DataValidationException exception) {
+                    return exception.getMessage();
+                }
+            }));
+        start.countDown();
+
+        List<String> outcomes = new ArrayList<>();
+        for (Future<String> future : futures)
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        pool.shutdown();
+        return outcomes;
+    }
+}
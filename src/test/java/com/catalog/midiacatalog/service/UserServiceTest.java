@@ -1,29 +1,45 @@
 package com.catalog.midiacatalog.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.catalog.midiacatalog.dto.CursorPageResponseDTO;
+import com.catalog.midiacatalog.dto.User.LoginResponseDTO;
 import com.catalog.midiacatalog.dto.User.UserLoginDTO;
 import com.catalog.midiacatalog.dto.User.UserPwSetDTO;
 import com.catalog.midiacatalog.dto.User.UserRegistrationDTO;
@@ -31,17 +47,41 @@ import com.catalog.midiacatalog.dto.User.UserResponseDTO;
 import com.catalog.midiacatalog.dto.User.UserUpdateDTO;
 import com.catalog.midiacatalog.exception.DataNotFoundException;
 import com.catalog.midiacatalog.exception.DataValidationException;
+import com.catalog.midiacatalog.exception.ForbiddenException;
+import com.catalog.midiacatalog.exception.TooManyRequestsException;
 import com.catalog.midiacatalog.model.User;
 import com.catalog.midiacatalog.repository.UserRepository;
+import com.catalog.midiacatalog.repository.projection.UserSummary;
+import com.catalog.midiacatalog.security.AuthenticatedUser;
+import com.catalog.midiacatalog.security.LoginRateLimiter;
+import com.catalog.midiacatalog.security.PasswordHasher;
+import com.catalog.midiacatalog.security.TokenService;
+import com.catalog.midiacatalog.security.TokenService.IssuedToken;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 public class UserServiceTest {
 
+    private static final String CLIENT_ADDRESS = "203.0.113.7";
+    private static final Instant EXPIRES_AT = Instant.parse("2030-01-01T00:00:00Z");
+
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
+    @Mock
+    private EmailFilterService emailFilterService;
+
     @InjectMocks
     private UserService userService;
 
+    private PasswordHasher passwordHasher;
+
     private User user1;
     private User user2;
     private User user3;
@@ -50,6 +90,20 @@ public class UserServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
+        passwordHasher = new PasswordHasher();
+        ReflectionTestUtils.setField(passwordHasher, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(passwordHasher, "strength", 4);
+        ReflectionTestUtils.setField(passwordHasher, "queueCapacity", 10);
+        ReflectionTestUtils.setField(passwordHasher, "timeoutMillis", 10_000L);
+        ReflectionTestUtils.invokeMethod(passwordHasher, "start");
+        ReflectionTestUtils.setField(userService, "passwordHasher", passwordHasher);
+        when(tokenService.issue(any(User.class))).thenReturn(new IssuedToken("signed.token.value", EXPIRES_AT));
+        when(emailFilterService.mightExist(any(String.class))).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(emailFilterService).add(any(String.class), any(Runnable.class));
+
         user1 = new User();
         user1.setId(1L);
         user1.setEmail("joaquim@gmail.com");
@@ -69,6 +123,11 @@ public class UserServiceTest {
         user3.setPassword("Senhaforte123@");
     }
 
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(passwordHasher, "stop");
+    }
+
     @Test
     void testRegisterUserSuccess() {
         UserRegistrationDTO validUser = new UserRegistrationDTO(user1.getName(), user1.getEmail(), user1.getPassword());
@@ -80,7 +139,21 @@ public class UserServiceTest {
         assertEquals(user1.getName(), response.getName());
         assertEquals(user1.getEmail(), response.getEmail());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(emailFilterService, times(1)).add(eq(user1.getEmail()), any(Runnable.class));
+
+    }
 
+    @Test
+    void testEmailsAreStoredLowercase() {
+        UserResponseDTO registered = userService.register(new UserRegistrationDTO("Joana", "Joana.Silva@Gmail.com", "Senhaforte123@"));
+        assertEquals("joana.silva@gmail.com", registered.getEmail());
+        verify(userRepository, times(1)).save(argThat(user -> user.getEmail().equals("joana.silva@gmail.com")));
+
+        when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
+        UserResponseDTO updated = userService.update(user1.getId(),
+            new UserUpdateDTO(null, "Joaquim.Silva@Gmail.com", null), callerFor(user1.getId()));
+        assertEquals("joaquim.silva@gmail.com", updated.getEmail());
+        verify(emailFilterService, times(1)).add(eq("joaquim.silva@gmail.com"), any(Runnable.class));
     }
 
     @Test
@@ -114,48 +187,86 @@ public class UserServiceTest {
         assertTrue(exception.getErrors().contains("Invalid email format."));
         assertTrue(exception.getErrors().contains("Password must contain at least 8 characters, one uppercase letter, one number and one special character."));
 
+        // Test password longer than bcrypt hashes
+        exception = assertThrows(DataValidationException.class,
+            () -> userService.register(new UserRegistrationDTO(
+                "Test",
+                "test@gmail.com",
+                "Senha@123" + "a".repeat(64)
+            )));
+        assertEquals(List.of("Password cannot be longer than 72 bytes."), exception.getErrors());
+
         verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
     void testRegisterDuplicateEmail() {
         UserRegistrationDTO newUser = new UserRegistrationDTO(user1.getName(), user1.getEmail(), user1.getPassword());
-        when(userRepository.findByEmail(user1.getEmail())).thenReturn(Optional.of(user1));
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("could not execute statement",
+                new SQLException("duplicate key value violates unique constraint", "23505"), "users_email_key")));
         
         DataValidationException exception = assertThrows(DataValidationException.class,
             () -> userService.register(newUser));
         assertEquals("Email already registered.", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).findByEmailIgnoringCase(any(String.class));
+        verify(userRepository, times(1)).save(any(User.class));
+    }
+
+    @Test
+    void testRegisterOtherIntegrityViolationsPropagate() {
+        UserRegistrationDTO newUser = new UserRegistrationDTO(user1.getName(), user1.getEmail(), user1.getPassword());
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("could not execute statement",
+                new SQLException("null value in column \"email\" violates not-null constraint", "23502"), null));
+        when(userRepository.save(any(User.class))).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> userService.register(newUser)));
     }
 
     @Test
     void testSetPasswordSuccess(){ 
         UserPwSetDTO dto = new UserPwSetDTO(user1.getEmail(), "NovaSenah123@");
-        when(userRepository.findByEmail(user1.getEmail())).thenReturn(Optional.of(user1));
+        when(userRepository.findByEmailIgnoringCase(user1.getEmail())).thenReturn(Optional.of(user1));
 
-        String response = userService.setPassword(dto);
+        String response = userService.setPassword(dto, callerFor(user1.getId()));
 
-        assertEquals(user1.getPassword(), dto.getPassword());
+        assertNotEquals(dto.getPassword(), user1.getPassword());
+        assertTrue(passwordHasher.matches(dto.getPassword(), user1.getPassword()));
         assertEquals(response, "Password reseted successfuly");
         verify(userRepository, times(1)).save(any(User.class));
     }
 
+    @Test
+    void testSetPasswordOnlyForOwnAccount(){
+        UserPwSetDTO dto = new UserPwSetDTO(user1.getEmail(), "NovaSenah123@");
+        when(userRepository.findByEmailIgnoringCase(user1.getEmail())).thenReturn(Optional.of(user1));
+
+        ForbiddenException exception = assertThrows(ForbiddenException.class,
+            () -> userService.setPassword(dto, callerFor(user2.getId())));
+        assertEquals("Users can only change their own account.", exception.getMessage());
+
+        assertEquals("Authentication token must be informed.", assertThrows(DataValidationException.class,
+            () -> userService.setPassword(dto, null)).getMessage());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void testSetPasswordValidations(){
         // Null credentials
         DataValidationException exception = assertThrows(DataValidationException.class, 
-            () -> userService.setPassword(null));
+            () -> userService.setPassword(null, callerFor(user1.getId())));
         assertEquals("User credentials must be informed.", exception.getMessage());
 
          // Test empty fields
         exception = assertThrows(DataValidationException.class,
-            () -> userService.setPassword(new UserPwSetDTO("", "")));
+            () -> userService.setPassword(new UserPwSetDTO("", ""), callerFor(user1.getId())));
         assertTrue(exception.getErrors().contains("User email must be informed."));
         assertTrue(exception.getErrors().contains("User password must be informed."));
 
         // Test null fields
         exception = assertThrows(DataValidationException.class,
-            () -> userService.setPassword(new UserPwSetDTO(null, null)));
+            () -> userService.setPassword(new UserPwSetDTO(null, null), callerFor(user1.getId())));
         assertTrue(exception.getErrors().contains("User email must be informed."));
         assertTrue(exception.getErrors().contains("User password must be informed."));
 
@@ -164,7 +275,7 @@ public class UserServiceTest {
             () -> userService.setPassword(new UserPwSetDTO(
                 "invalid-email",  // Invalid email
                 "weak" // Weak password
-            )));
+            ), callerFor(user1.getId())));
         assertTrue(exception.getErrors().contains("Invalid email format."));
         assertTrue(exception.getErrors().contains("Password must contain at least 8 characters, one uppercase letter, one number and one special character."));
 
@@ -173,7 +284,7 @@ public class UserServiceTest {
              () -> userService.setPassword(new UserPwSetDTO(
                 "email@email.com",  // non registred email
                 "SenhaForte123@" 
-            )));
+            ), callerFor(user1.getId())));
         assertEquals(notFound.getMessage(),"No user found for this email.");
         
         verify(userRepository, never()).save(any(User.class));
@@ -183,29 +294,43 @@ public class UserServiceTest {
     void testRemoveUserSuccess(){ 
         when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
 
-        UserResponseDTO removed = userService.remove(user1.getId());
+        UserResponseDTO removed = userService.remove(user1.getId(), callerFor(user1.getId()));
 
         assertEquals(user1.getId(), removed.getId());
         assertEquals(user1.getName(), removed.getName());
         assertEquals(user1.getEmail(), removed.getEmail());
         verify(userRepository, times(1)).deleteById(user1.getId());
+        verify(emailFilterService, times(1)).removed();
     }
 
     @Test
     void testRemoveUserValidation(){
 
         DataValidationException nullId = assertThrows(DataValidationException.class, 
-            () -> userService.remove(null));
+            () -> userService.remove(null, null));
         assertEquals("User ID must be informed.", nullId.getMessage());
 
         DataNotFoundException notFoundId = assertThrows(DataNotFoundException.class, 
-            () -> userService.remove(66L));
+            () -> userService.remove(66L, callerFor(66L)));
         assertEquals("No user found for this ID.", notFoundId.getMessage());
         verify(userRepository, never()).deleteById(any(Long.class));
 
     }
 
 
+    @Test
+    void testRemoveOtherAccountIsForbidden() {
+        ForbiddenException exception = assertThrows(ForbiddenException.class,
+            () -> userService.remove(user1.getId(), callerFor(user2.getId())));
+
+        assertEquals("Users can only change their own account.", exception.getMessage());
+        verify(userRepository, never()).deleteById(any(Long.class));
+
+        DataValidationException missingToken = assertThrows(DataValidationException.class,
+            () -> userService.remove(user1.getId(), null));
+        assertEquals("Authentication token must be informed.", missingToken.getMessage());
+    }
+
     @Test
     void testLoginSuccess(){
         UserLoginDTO userTry = new UserLoginDTO(
@@ -213,13 +338,67 @@ public class UserServiceTest {
                 user1.getPassword()
         );
 
-        when(userRepository.findByEmail(userTry.getEmail())).thenReturn(Optional.of(user1));
+        when(userRepository.findByEmailIgnoringCase(userTry.getEmail())).thenReturn(Optional.of(user1));
+
+        LoginResponseDTO response = userService.login(userTry, CLIENT_ADDRESS);
+
+        assertTrue(response.isLogged());
+        assertEquals("signed.token.value", response.getToken());
+        assertEquals("Bearer", response.getTokenType());
+        assertEquals(EXPIRES_AT, response.getExpiresAt());
+        verify(loginRateLimiter, times(1)).check(user1.getEmail(), CLIENT_ADDRESS);
+        verify(loginRateLimiter, times(1)).refund(user1.getEmail());
+        verify(userRepository, times(1)).findByEmailIgnoringCase(user1.getEmail());
+        verify(tokenService, times(1)).issue(user1);
+    }
+
+    @Test
+    void testLoginRehashesPlaintextAndOldCostPasswords() {
+        String rawPassword = user1.getPassword();
+        when(userRepository.findByEmailIgnoringCase(user1.getEmail())).thenReturn(Optional.of(user1));
+
+        assertTrue(userService.login(new UserLoginDTO(user1.getEmail(), rawPassword), CLIENT_ADDRESS).isLogged());
+        String upgraded = user1.getPassword();
+        assertTrue(upgraded.startsWith("$2a$04$"));
+        verify(userRepository, times(1)).save(user1);
+
+        assertTrue(userService.login(new UserLoginDTO(user1.getEmail(), rawPassword), CLIENT_ADDRESS).isLogged());
+        assertEquals(upgraded, user1.getPassword());
+        verify(userRepository, times(1)).save(user1);
+
+        ReflectionTestUtils.invokeMethod(passwordHasher, "stop");
+        ReflectionTestUtils.setField(passwordHasher, "strength", 5);
+        ReflectionTestUtils.invokeMethod(passwordHasher, "start");
+        assertTrue(userService.login(new UserLoginDTO(user1.getEmail(), rawPassword), CLIENT_ADDRESS).isLogged());
+        assertTrue(user1.getPassword().startsWith("$2a$05$"));
+        verify(userRepository, times(2)).save(user1);
+    }
+
+    @Test
+    void testLoginAcceptsAndRehashesLegacyPasswordsPastBcryptLimit() {
+        String rawPassword = "Senhaforte123@" + "a".repeat(70);
+        user1.setPassword(rawPassword);
+        when(userRepository.findByEmailIgnoringCase(user1.getEmail())).thenReturn(Optional.of(user1));
+
+        assertTrue(userService.login(new UserLoginDTO(user1.getEmail(), rawPassword), CLIENT_ADDRESS).isLogged());
+        assertTrue(user1.getPassword().startsWith("$2a$04$"));
+        verify(userRepository, times(1)).save(user1);
+
+        assertTrue(userService.login(new UserLoginDTO(user1.getEmail(), rawPassword), CLIENT_ADDRESS).isLogged());
+        assertThrows(DataValidationException.class,
+            () -> userService.login(new UserLoginDTO(user1.getEmail(), rawPassword + "b"), CLIENT_ADDRESS));
+        verify(userRepository, times(1)).save(user1);
+    }
+
+    @Test
+    void testLogoutRevokesToken() {
+        AuthenticatedUser authenticated = new AuthenticatedUser(1L, user1.getEmail(), "token-id", EXPIRES_AT);
 
-        boolean logged = userService.login(userTry); // implement jwt
+        assertEquals("Logged out successfully.", userService.logout(authenticated));
+        verify(tokenService, times(1)).revoke(authenticated);
 
-        assertTrue(logged);
-        // add JWT vlidation
-        verify(userRepository, times(1)).findByEmail(user1.getEmail());
+        DataValidationException exception = assertThrows(DataValidationException.class, () -> userService.logout(null));
+        assertEquals("Authentication token must be informed.", exception.getMessage());
     }
 
     @Test
@@ -231,13 +410,13 @@ public class UserServiceTest {
 
         // Test all empty fields
         exception = assertThrows(DataValidationException.class,
-            () -> userService.login(new UserLoginDTO("", "")));
+            () -> userService.login(new UserLoginDTO("", ""), CLIENT_ADDRESS));
         assertTrue(exception.getErrors().contains("User email must be informed."));
         assertTrue(exception.getErrors().contains("User password must be informed."));
 
         // Test all null fields
         exception = assertThrows(DataValidationException.class,
-            () -> userService.login(new UserLoginDTO(null, null)));
+            () -> userService.login(new UserLoginDTO(null, null), CLIENT_ADDRESS));
         assertTrue(exception.getErrors().contains("User email must be informed."));
         assertTrue(exception.getErrors().contains("User password must be informed."));
         
@@ -246,13 +425,53 @@ public class UserServiceTest {
             () -> userService.login(new UserLoginDTO(
                 "invalid-email",  // Invalid email
                 "weak" // Weak password
-            )));
+            ), CLIENT_ADDRESS));
         assertTrue(exception.getErrors().contains("Invalid email format."));
         assertTrue(exception.getErrors().contains("Password must contain at least 8 characters, one uppercase letter, one number and one special character."));
-        verify(userRepository, never()).findByEmail(any(String.class));      
+        verify(userRepository, never()).findByEmailIgnoringCase(any(String.class));      
 
     }
 
+    @Test
+    void testThrottledLoginSkipsValidationAndLookup() {
+        doThrow(new TooManyRequestsException("Too many login attempts, please retry later.", 12))
+            .when(loginRateLimiter).check("invalid-email", CLIENT_ADDRESS);
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+            () -> userService.login(new UserLoginDTO("invalid-email", "weak"), CLIENT_ADDRESS));
+
+        assertEquals(12, exception.getRetryAfterSeconds());
+        verify(userRepository, never()).findByEmailIgnoringCase(any(String.class));
+        verify(tokenService, never()).issue(any());
+    }
+
+    @Test
+    void testUnknownEmailIsAnsweredByFilter() {
+        when(emailFilterService.mightExist("bot@gmail.com")).thenReturn(false);
+
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+            () -> userService.login(new UserLoginDTO("bot@gmail.com", "Senhaforte123@"), CLIENT_ADDRESS));
+        assertEquals("No user found for this email.", exception.getMessage());
+
+        exception = assertThrows(DataNotFoundException.class,
+            () -> userService.setPassword(new UserPwSetDTO("bot@gmail.com", "Senhaforte123@"), callerFor(user1.getId())));
+        assertEquals("No user found for this email.", exception.getMessage());
+
+        verify(userRepository, never()).findByEmailIgnoringCase(any(String.class));
+        verify(emailFilterService, never()).falsePositive();
+    }
+
+    @Test
+    void testFilterFalsePositiveIsRecorded() {
+        when(userRepository.findByEmailIgnoringCase("typo@gmail.com")).thenReturn(Optional.empty());
+
+        assertThrows(DataNotFoundException.class,
+            () -> userService.login(new UserLoginDTO("typo@gmail.com", "Senhaforte123@"), CLIENT_ADDRESS));
+
+        verify(emailFilterService, times(1)).falsePositive();
+        verify(loginRateLimiter, times(1)).refund("typo@gmail.com");
+    }
+
     @Test
     void testLoginWrongPassword(){
         UserLoginDTO userTry = new UserLoginDTO(
@@ -260,13 +479,14 @@ public class UserServiceTest {
                 "passworD123@"
         );
 
-        when(userRepository.findByEmail(userTry.getEmail())).thenReturn(Optional.of(user1));
+        when(userRepository.findByEmailIgnoringCase(userTry.getEmail())).thenReturn(Optional.of(user1));
 
         DataValidationException exception = assertThrows(DataValidationException.class,
-            () -> userService.login(userTry));
+            () -> userService.login(userTry, CLIENT_ADDRESS));
         
         assertEquals("Wrong password or email address. Please try again.", exception.getMessage());
-        verify(userRepository, times(1)).findByEmail(any(String.class));
+        verify(userRepository, times(1)).findByEmailIgnoringCase(any(String.class));
+        verify(loginRateLimiter, never()).refund(any(String.class));
     }
 
     @Test
@@ -275,7 +495,7 @@ public class UserServiceTest {
 
         UserUpdateDTO userInfo = new UserUpdateDTO("Joaquim Silva", null, "Newpassword123@");
 
-        UserResponseDTO updated = userService.update(user1.getId(), userInfo);
+        UserResponseDTO updated = userService.update(user1.getId(), userInfo, callerFor(user1.getId()));
 
         assertNotNull(updated);
         assertEquals(user1.getId(), updated.getId());
@@ -288,7 +508,7 @@ public class UserServiceTest {
     void testUpdateValidations(){
         // Test null id and informations
         DataValidationException exception = assertThrows(DataValidationException.class,
-            () -> userService.update(null, null));
+            () -> userService.update(null, null, null));
         assertTrue(exception.getErrors().contains("User Id must be informed."));
         assertTrue(exception.getErrors().contains("User Informations can't be null."));
 
@@ -298,7 +518,7 @@ public class UserServiceTest {
                 null, // not update name
                 "invalid-email",  // Invalid email
                 "weak" // Weak password
-            )));
+            ), callerFor(1L)));
         assertTrue(exception.getErrors().contains("Invalid email format."));
         assertTrue(exception.getErrors().contains("Password must contain at least 8 characters, one uppercase letter, one number and one special character."));
 
@@ -309,34 +529,46 @@ public class UserServiceTest {
                 "Test",
                 "test@email.com"
                 ,"TestPass123@"
-                )));
+                ), callerFor(99L)));
         assertEquals("User not found.", notFound.getMessage());
         
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void testUpdateOtherAccountIsForbidden() {
+        UserUpdateDTO userInfo = new UserUpdateDTO("Hijacked", "mallory@example.com", "Newpassword123@");
+
+        ForbiddenException exception = assertThrows(ForbiddenException.class,
+            () -> userService.update(user1.getId(), userInfo, callerFor(user2.getId())));
+
+        assertEquals("Users can only change their own account.", exception.getMessage());
+        verify(userRepository, never()).findById(any(Long.class));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void testUpdateDuplicateEmail() {
         UserUpdateDTO userInfo = new UserUpdateDTO(user1.getName(), user2.getEmail(), user1.getPassword());
         
-        // Mock: user2 email
-        when(userRepository.findByEmail(user2.getEmail())).thenReturn(Optional.of(user2));
         when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+            new ConstraintViolationException("could not execute statement",
+                new SQLException("Unique index or primary key violation", "23505"), null)));
 
         DataValidationException exception = assertThrows(DataValidationException.class,
-            () -> userService.update(user1.getId(), userInfo));
-        assertTrue(exception.getErrors().contains("Email already registered by another user."));
-        verify(userRepository, never()).save(any(User.class));
+            () -> userService.update(user1.getId(), userInfo, callerFor(user1.getId())));
+        assertEquals("Email already registered.", exception.getMessage());
+        verify(userRepository, never()).findByEmailIgnoringCase(any(String.class));
     }
 
     @Test
     void testUpdateSameUserEmail() {
         UserUpdateDTO userInfo = new UserUpdateDTO("New name", user1.getEmail(), "Newpassword123@");
         
-        when(userRepository.findByEmail(user1.getEmail())).thenReturn(Optional.of(user1));
         when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
 
-        UserResponseDTO updated = userService.update(user1.getId(), userInfo);
+        UserResponseDTO updated = userService.update(user1.getId(), userInfo, callerFor(user1.getId()));
 
         assertNotNull(updated);
         assertEquals(user1.getId(), updated.getId());
@@ -350,16 +582,16 @@ public class UserServiceTest {
         when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
 
         UserUpdateDTO userInfo1 = new UserUpdateDTO("New name", null, null);
-        UserResponseDTO updated1 = userService.update(user1.getId(), userInfo1);
+        UserResponseDTO updated1 = userService.update(user1.getId(), userInfo1, callerFor(user1.getId()));
         assertEquals("New name", updated1.getName());
 
         UserUpdateDTO userInfo2 = new UserUpdateDTO(null, "newemail@test.com", null);
-        when(userRepository.findByEmail("newemail@test.com")).thenReturn(Optional.empty());
-        UserResponseDTO updated2 = userService.update(user1.getId(), userInfo2);
+        when(userRepository.findByEmailIgnoringCase("newemail@test.com")).thenReturn(Optional.empty());
+        UserResponseDTO updated2 = userService.update(user1.getId(), userInfo2, callerFor(user1.getId()));
         assertEquals("newemail@test.com", updated2.getEmail());
 
         UserUpdateDTO userInfo3 = new UserUpdateDTO(null, null, "Newpassword123@");
-        UserResponseDTO updated3 = userService.update(user1.getId(), userInfo3);
+        UserResponseDTO updated3 = userService.update(user1.getId(), userInfo3, callerFor(user1.getId()));
         assertNotNull(updated3);
 
         verify(userRepository, times(3)).save(any(User.class));
@@ -393,9 +625,11 @@ public class UserServiceTest {
     @Test
     void testGetAllUsersSuccess(){
         Pageable pageable = PageRequest.of(0, 10);
-        Page<User> actorPage = new PageImpl<>(Arrays.asList(user1, user2), pageable, 2);
+        Page<UserSummary> userPage = new PageImpl<>(Arrays.asList(
+            new UserSummary(user1.getId(), user1.getName(), user1.getEmail()),
+            new UserSummary(user2.getId(), user2.getName(), user2.getEmail())), pageable, 2);
         
-        when(userRepository.findAll(pageable)).thenReturn(actorPage);
+        when(userRepository.findAllSummaries(pageable)).thenReturn(userPage);
 
         Page<UserResponseDTO> found = userService.getAllUsers(pageable);
         
@@ -405,15 +639,15 @@ public class UserServiceTest {
         assertEquals(user2.getId(), found.getContent().get(1).getId());
         assertEquals(2, found.getTotalElements());
         assertEquals(1, found.getTotalPages());
-        verify(userRepository, times(1)).findAll(pageable);
+        verify(userRepository, times(1)).findAllSummaries(pageable);
     }
 
     @Test
     void testGetAllUsersEmptyList() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<User> emptyPage = new PageImpl<>(new ArrayList<>(), pageable, 0);
+        Page<UserSummary> emptyPage = new PageImpl<>(new ArrayList<>(), pageable, 0);
         
-        when(userRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(userRepository.findAllSummaries(pageable)).thenReturn(emptyPage);
 
         Exception exception = assertThrows(DataNotFoundException.class,
             () -> {
@@ -421,6 +655,28 @@ public class UserServiceTest {
             });
 
         assertEquals("No users found in database.", exception.getMessage());
-        verify(userRepository, times(1)).findAll(pageable);
+        verify(userRepository, times(1)).findAllSummaries(pageable);
+    }
+
+    @Test
+    void testGetAllUsersAfterWalksSlices() {
+        UserSummary first = new UserSummary(user1.getId(), user1.getName(), user1.getEmail());
+        UserSummary second = new UserSummary(user2.getId(), user2.getName(), user2.getEmail());
+        when(userRepository.findFirstSummaries(PageRequest.of(0, 2))).thenReturn(Arrays.asList(first, second));
+        when(userRepository.findSummariesAfter(user1.getName(), user1.getId(), PageRequest.of(0, 2)))
+            .thenReturn(Arrays.asList(second));
+
+        CursorPageResponseDTO<UserResponseDTO> firstSlice = userService.getAllUsersAfter(null, 1);
+        CursorPageResponseDTO<UserResponseDTO> secondSlice = userService.getAllUsersAfter(firstSlice.getNextCursor(), 1);
+
+        assertEquals(user1.getId(), firstSlice.getContent().get(0).getId());
+        assertTrue(firstSlice.isHasNext());
+        assertEquals(user2.getId(), secondSlice.getContent().get(0).getId());
+        assertFalse(secondSlice.isHasNext());
+        verify(userRepository, never()).findAllSummaries(any());
+    }
+
+    private AuthenticatedUser callerFor(Long userId) {
+        return new AuthenticatedUser(userId, "caller@example.com", "token-id", EXPIRES_AT);
     }
 }
@@ -0,0 +1,83 @@
+package com.catalog.midiacatalog.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+public class CredentialValidatorTest {
+
+    private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+    private static final Pattern PASSWORD = Pattern.compile("^(?=.*[A-Z])(?=.*[0-9])(?=.*[@#$%^&+=!])(?=\\S+$).{8,}$");
+
+    @Test
+    void testEmails() {
+        assertTrue(CredentialValidator.isValidEmail("john.doe+news@example.com"));
+        assertTrue(CredentialValidator.isValidEmail("a@b"));
+        assertTrue(CredentialValidator.isValidEmail("a@b@c"));
+        assertFalse(CredentialValidator.isValidEmail("@example.com"));
+        assertFalse(CredentialValidator.isValidEmail("john@"));
+        assertFalse(CredentialValidator.isValidEmail("john doe@example.com"));
+        assertFalse(CredentialValidator.isValidEmail("john@example.com\n"));
+        assertFalse(CredentialValidator.isValidEmail(null));
+    }
+
+    @Test
+    void testPasswords() {
+        assertTrue(CredentialValidator.isValidPassword("Passw0rd!"));
+        assertTrue(CredentialValidator.isValidPassword("ABCDEFG1#"));
+        assertFalse(CredentialValidator.isValidPassword("Pa0rd!"));
+        assertFalse(CredentialValidator.isValidPassword("password1!"));
+        assertFalse(CredentialValidator.isValidPassword("Password!!"));
+        assertFalse(CredentialValidator.isValidPassword("Password12"));
+        assertFalse(CredentialValidator.isValidPassword("Pass word1!"));
+        assertFalse(CredentialValidator.isValidPassword("Password1! "));
+        assertFalse(CredentialValidator.isValidPassword(null));
+    }
+
+    @Test
+    void testHashLimitCountsUtf8Bytes() {
+        Random random = new Random(7);
+        String alphabet = "aZ9!é€😀";
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder input = new StringBuilder();
+            int codePoints = random.nextInt(40);
+            for (int j = 0; j < codePoints; j++)
+                input.appendCodePoint(alphabet.codePointAt(alphabet.offsetByCodePoints(0, random.nextInt(7))));
+            String password = input.toString();
+            assertEquals(password.getBytes(StandardCharsets.UTF_8).length <= CredentialValidator.MAX_PASSWORD_BYTES,
+                CredentialValidator.fitsHashLimit(password), password);
+        }
+
+        assertTrue(CredentialValidator.fitsHashLimit("A1!" + "a".repeat(69)));
+        assertFalse(CredentialValidator.fitsHashLimit("A1!" + "a".repeat(70)));
+        assertFalse(CredentialValidator.fitsHashLimit("A1!" + "é".repeat(35)));
+    }
+
+    @Test
+    void testAgreesWithFormerRegexes() {
+        List<String> edgeCases = List.of("", "@", "a@", "@a", "a@\r", "a@\u0085b", "Ab1!😀😀😀",
+            "Ab1!😀😀😀😀", "Abcdef1!\u000B", "Abcdef1! ", "Abcdefg1 !");
+        for (String input : edgeCases)
+            assertAgrees(input);
+
+        String alphabet = "aZ09+_.-@ #$%^&=!\t\n\r\u0085 é";
+        Random random = new Random(3);
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder input = new StringBuilder();
+            int length = random.nextInt(14);
+            for (int j = 0; j < length; j++)
+                input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            assertAgrees(input.toString());
+        }
+    }
+
+    private void assertAgrees(String input) {
+        assertEquals(EMAIL.matcher(input).matches(), CredentialValidator.isValidEmail(input), "email: " + input);
+        assertEquals(PASSWORD.matcher(input).matches(), CredentialValidator.isValidPassword(input), "password: " + input);
+    }
+}